@@ -2,6 +2,7 @@ package com.lld.Parking.controller;
 
 import com.lld.Parking.dto.EntryRequest;
 import com.lld.Parking.dto.ExitRequest;
+import com.lld.Parking.dto.SpotAvailability;
 import com.lld.Parking.entity.ParkingTicket;
 import com.lld.Parking.entity.Vehicle;
 import com.lld.Parking.service.ParkingService;
@@ -9,6 +10,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/parking")
 @RequiredArgsConstructor
@@ -19,11 +22,17 @@ public class ParkingController {
   @PostMapping("/entry")
   public ResponseEntity<ParkingTicket> entry(@RequestBody EntryRequest request) {
     Vehicle vehicle = new Vehicle(request.getLicensePlate(), request.getType());
-    return ResponseEntity.ok(service.entry(vehicle));
+    return ResponseEntity.ok(service.entry(vehicle, request.getGateId()));
   }
 
   @PostMapping("/exit")
   public ResponseEntity<ParkingTicket> exit(@RequestBody ExitRequest request) {
     return ResponseEntity.ok(service.exit(request.getTicketId()));
   }
+
+  // Free spots per type; served from counters, so polling it from gate displays is cheap
+  @GetMapping("/availability")
+  public ResponseEntity<List<SpotAvailability>> availability() {
+    return ResponseEntity.ok(service.availability());
+  }
 }
\ No newline at end of file
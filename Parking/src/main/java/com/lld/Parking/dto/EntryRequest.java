@@ -8,4 +8,5 @@ import lombok.Data;
 public class EntryRequest {
   private String licensePlate;
   private VehicleType type;
+  private String gateId; // Optional: the garage's first gate if absent
 }
@@ -0,0 +1,13 @@
+package com.lld.Parking.dto;
+
+import com.lld.Parking.entity.SpotType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class SpotAvailability {
+  private SpotType type;
+  private int total;
+  private int free;
+}
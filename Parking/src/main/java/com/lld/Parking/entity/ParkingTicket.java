@@ -11,6 +11,7 @@ public class ParkingTicket {
   private String spotId;
   private String licensePlate;
   private LocalDateTime entryTime;
+  private LocalDateTime exitTime; // Null while the vehicle is parked
   private double fee; // Null initially
   private boolean isPaid;
 }
@@ -0,0 +1,89 @@
+package com.lld.Parking.repo;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+// Concurrent bitmap of free slots: bit i set means slot i is free. A summary level keeps one
+// bit per 64-slot word ("this word may have a free slot"), so finding the lowest free slot
+// reads one summary word per 4096 slots plus one data word, instead of walking every spot.
+// set/clear are single atomic OR/AND instructions; summary bits are hints that set() raises
+// and first() drops lazily when it finds an empty word.
+class FreeSpotBitmap {
+
+  private static final VarHandle LONGS = MethodHandles.arrayElementVarHandle(long[].class);
+
+  private final int size;
+  private final long[] words;
+  private final long[] summary;
+
+  FreeSpotBitmap(int size) {
+    this.size = size;
+    this.words = new long[(size + 63) >>> 6];
+    this.summary = new long[(words.length + 63) >>> 6];
+  }
+
+  int size() {
+    return size;
+  }
+
+  // Marks slot i free. The word bit goes first, so whoever sees the summary bit sees the slot.
+  void set(int i) {
+    int w = i >>> 6;
+    LONGS.getAndBitwiseOr(words, w, 1L << i);
+    LONGS.getAndBitwiseOr(summary, w >>> 6, 1L << w);
+  }
+
+  // Marks slot i taken; true if it was free (so exactly one of several racing callers wins)
+  boolean clear(int i) {
+    long bit = 1L << i;
+    return ((long) LONGS.getAndBitwiseAnd(words, i >>> 6, ~bit) & bit) != 0;
+  }
+
+  boolean get(int i) {
+    return ((long) LONGS.getVolatile(words, i >>> 6) & (1L << i)) != 0;
+  }
+
+  // Lowest free slot, or -1 if none
+  int first() {
+    return scan(false);
+  }
+
+  // Atomically takes the lowest free slot and returns it, or -1 if none is free. Callers
+  // racing for the same word each get a different slot: a loser moves straight on to the
+  // next free bit that its failed attempt observed.
+  int claimFirst() {
+    return scan(true);
+  }
+
+  private int scan(boolean claim) {
+    for (int s = 0; s < summary.length; s++) {
+      long hints = (long) LONGS.getVolatile(summary, s);
+      while (hints != 0) {
+        int w = (s << 6) + Long.numberOfTrailingZeros(hints);
+        long word = (long) LONGS.getVolatile(words, w);
+        if (word == 0) {
+          // Drop the stale hint, then look again: a set() that raced us has either landed
+          // in the word by now or will raise the hint again after we clear it
+          LONGS.getAndBitwiseAnd(summary, s, ~(1L << w));
+          word = (long) LONGS.getVolatile(words, w);
+          if (word != 0) {
+            LONGS.getAndBitwiseOr(summary, s, 1L << w);
+          }
+        }
+        while (word != 0) {
+          long bit = Long.lowestOneBit(word);
+          if (!claim) {
+            return (w << 6) + Long.numberOfTrailingZeros(bit);
+          }
+          long previous = (long) LONGS.getAndBitwiseAnd(words, w, ~bit);
+          if ((previous & bit) != 0) {
+            return (w << 6) + Long.numberOfTrailingZeros(bit);
+          }
+          word = previous & ~bit; // Someone else took it; try what else was free
+        }
+        hints &= hints - 1;
+      }
+    }
+    return -1;
+  }
+}
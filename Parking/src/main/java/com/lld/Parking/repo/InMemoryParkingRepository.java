@@ -3,54 +3,189 @@ package com.lld.Parking.repo;
 import com.lld.Parking.entity.ParkingSpot;
 import com.lld.Parking.entity.ParkingTicket;
 import com.lld.Parking.entity.SpotType;
+import com.lld.Parking.entity.Vehicle;
 import com.lld.Parking.entity.VehicleType;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import org.springframework.stereotype.Repository;
+import java.util.concurrent.atomic.LongAdder;
 
-
-@Repository
+// Spots come from a ParkingTopology; claims at a gate get the free spot nearest that gate.
+// Built by ParkingRepositoryConfig from the parking.topology.* properties.
 public class InMemoryParkingRepository implements ParkingRepository {
 
-  // Concurrent Maps for Thread Safety
+  private static final SpotType[] SPOT_TYPES = SpotType.values();
+
+  // Concurrent Maps for Thread Safety. Tickets are dropped once paid, so the map only grows
+  // with the cars currently parked.
   private final Map<String, ParkingSpot> spots = new ConcurrentHashMap<>();
   private final Map<String, ParkingTicket> tickets = new ConcurrentHashMap<>();
 
+  // Free-spot index: each type's spots get dense slot numbers, and a bitmap per type marks
+  // the free ones, so finding a spot is a bitmap lookup instead of a scan over every spot.
+  // The bitmap is also the occupancy lock: clearing a spot's bit is the atomic claim.
+  private final ParkingSpot[][] slots = new ParkingSpot[SPOT_TYPES.length][];
+  private final FreeSpotBitmap[] free = new FreeSpotBitmap[SPOT_TYPES.length];
+  private final Map<String, Integer> slotById = new ConcurrentHashMap<>();
+
+  // Nearest-spot index, per type and gate: the type's slots sorted by distance from the gate
+  // (byDistance[t][g][rank] = slot, rankOf[t][g][slot] = rank) and a bitmap over ranks, so
+  // the lowest set rank is the nearest free spot. These bitmaps are hints; the claim itself
+  // still goes through 'free'. A release sets the spot's hint at every gate, a claim clears it
+  // at every gate, and a hint left stale by a race is dropped by the next claim that finds it.
+  private final Map<String, Integer> gateIndex = new HashMap<>();
+  private final int[][][] byDistance = new int[SPOT_TYPES.length][][];
+  private final int[][][] rankOf = new int[SPOT_TYPES.length][][];
+  private final FreeSpotBitmap[][] nearest = new FreeSpotBitmap[SPOT_TYPES.length][];
+
+  // Free spots per type, adjusted on every claim/release. Striped adders, so gates parking
+  // the same type don't all contend on one counter; reads sum the stripes.
+  private final LongAdder[] freeCounts = new LongAdder[SPOT_TYPES.length];
+
   public InMemoryParkingRepository() {
     // Initialize Dummy Data: 10 Spots
     // 5 Bike spots, 5 Car spots
-    for (int i = 1; i <= 5; i++) {
-      spots.put("S-B-" + i, new ParkingSpot("S-B-" + i, SpotType.BIKE_SPOT));
-      spots.put("S-C-" + i, new ParkingSpot("S-C-" + i, SpotType.CAR_SPOT));
+    this(Map.of(SpotType.BIKE_SPOT, 5, SpotType.CAR_SPOT, 5));
+  }
+
+  // A single row with one gate at its start
+  public InMemoryParkingRepository(Map<SpotType, Integer> spotsPerType) {
+    this(ParkingTopology.singleRow(spotsPerType));
+  }
+
+  public InMemoryParkingRepository(ParkingTopology topology) {
+    List<ParkingTopology.Gate> gates = topology.gates();
+    for (int g = 0; g < gates.size(); g++) {
+      gateIndex.put(gates.get(g).id(), g);
+    }
+    for (SpotType type : SPOT_TYPES) {
+      int t = type.ordinal();
+      int count = topology.spots(type);
+      slots[t] = new ParkingSpot[count];
+      free[t] = new FreeSpotBitmap(count);
+      freeCounts[t] = new LongAdder();
+      freeCounts[t].add(count);
+      for (int i = 0; i < count; i++) {
+        ParkingSpot spot = new ParkingSpot(topology.spotId(type, i), type);
+        spots.put(spot.getId(), spot);
+        slots[t][i] = spot;
+        slotById.put(spot.getId(), i);
+        free[t].set(i);
+      }
+
+      byDistance[t] = new int[gates.size()][];
+      rankOf[t] = new int[gates.size()][];
+      nearest[t] = new FreeSpotBitmap[gates.size()];
+      long[] keys = new long[count];
+      for (int g = 0; g < gates.size(); g++) {
+        // Sort (distance, slot) pairs packed into longs: no boxing, ties go to the lower slot
+        for (int i = 0; i < count; i++) {
+          keys[i] = (long) topology.distance(gates.get(g), type, i) << 32 | i;
+        }
+        Arrays.sort(keys);
+        byDistance[t][g] = new int[count];
+        rankOf[t][g] = new int[count];
+        nearest[t][g] = new FreeSpotBitmap(count);
+        for (int rank = 0; rank < count; rank++) {
+          int slot = (int) keys[rank];
+          byDistance[t][g][rank] = slot;
+          rankOf[t][g][slot] = rank;
+          nearest[t][g].set(rank);
+        }
+      }
     }
   }
 
   @Override
-  public ParkingSpot findAvailableSpot(VehicleType vehicleType) {
-    SpotType requiredSpotType = mapVehicleToSpot(vehicleType);
+  public ParkingSpot claimSpot(Vehicle vehicle, String gateId) {
+    SpotType requiredSpotType = mapVehicleToSpot(vehicle.getType());
+    int t = requiredSpotType.ordinal();
+    int g = gate(gateId);
 
-    // Simple linear search (In DB this would be a SELECT query)
-    return spots.values().stream()
-        .filter(s -> !s.isOccupied() && s.getType() == requiredSpotType)
-        .findFirst()
-        .orElse(null);
+    // Nearest hinted spot first. Taking the hint and then the spot's bit in 'free' is the
+    // claim (In DB this would be an UPDATE ... WHERE occupied = false, checking the row
+    // count); if another gate got the spot first, its hint here was stale, so try the next.
+    int rank;
+    while ((rank = nearest[t][g].claimFirst()) >= 0) {
+      int slot = byDistance[t][g][rank];
+      if (free[t].clear(slot)) {
+        return occupy(t, slot, vehicle.getLicensePlate());
+      }
+    }
+    return null;
+  }
+
+  // Takes one particular spot, for putting parked vehicles back after a restart; false if the
+  // spot is unknown or already taken
+  public boolean occupySpot(String spotId, String licensePlate) {
+    ParkingSpot spot = spots.get(spotId);
+    if (spot == null) {
+      return false;
+    }
+    int t = spot.getType().ordinal();
+    int slot = slotById.get(spotId);
+    if (!free[t].clear(slot)) {
+      return false;
+    }
+    occupy(t, slot, licensePlate);
+    return true;
   }
 
   @Override
-  public void saveTicket(ParkingTicket ticket) {
+  public void releaseSpot(ParkingSpot spot) {
+    int t = spot.getType().ordinal();
+    int slot = slotById.get(spot.getId());
+    spot.setOccupied(false);
+    spot.setVehicleLicensePlate(null);
+    // Published by the bit: the next claimer sees the spot cleared. The spot is free before
+    // any gate hints at it, so a claimer that drops a hint and then fails the claim knows
+    // the spot was taken, and its holder will hint at it again on release.
+    free[t].set(slot);
+    for (int g = 0; g < nearest[t].length; g++) {
+      nearest[t][g].set(rankOf[t][g][slot]);
+    }
+    freeCounts[t].increment();
+  }
+
+  @Override
+  public ParkingSpot findSpotById(String spotId) {
+    return spots.get(spotId);
+  }
+
+  @Override
+  public int availableSpots(SpotType type) {
+    return (int) freeCounts[type.ordinal()].sum();
+  }
+
+  @Override
+  public int totalSpots(SpotType type) {
+    return slots[type.ordinal()].length;
+  }
+
+  @Override
+  public void recordEntry(ParkingTicket ticket) {
     tickets.put(ticket.getTicketId(), ticket);
   }
 
   @Override
-  public ParkingTicket findTicketById(String ticketId) {
-    return tickets.get(ticketId);
+  public void recordExit(ParkingTicket ticket, LocalDateTime exitTime, double fee) {
+    ticket.setExitTime(exitTime);
+    ticket.setFee(fee);
   }
 
   @Override
-  public void updateSpot(ParkingSpot spot) {
-    spots.put(spot.getId(), spot);
+  public void recordPayment(ParkingTicket ticket) {
+    ticket.setPaid(true);
+    tickets.remove(ticket.getTicketId());
+  }
+
+  @Override
+  public ParkingTicket findTicketById(String ticketId) {
+    return tickets.get(ticketId);
   }
 
   @Override
@@ -58,6 +193,29 @@ public class InMemoryParkingRepository implements ParkingRepository {
     return new ArrayList<>(spots.values());
   }
 
+  // The spot's bit in 'free' is already cleared by the caller: drop its hint at every gate
+  private ParkingSpot occupy(int t, int slot, String licensePlate) {
+    for (int g = 0; g < nearest[t].length; g++) {
+      nearest[t][g].clear(rankOf[t][g][slot]);
+    }
+    freeCounts[t].decrement();
+    ParkingSpot spot = slots[t][slot];
+    spot.setOccupied(true);
+    spot.setVehicleLicensePlate(licensePlate);
+    return spot;
+  }
+
+  private int gate(String gateId) {
+    if (gateId == null) {
+      return 0; // First configured gate
+    }
+    Integer g = gateIndex.get(gateId);
+    if (g == null) {
+      throw new IllegalArgumentException("Unknown gate: " + gateId);
+    }
+    return g;
+  }
+
   private SpotType mapVehicleToSpot(VehicleType vt) {
     if (vt == VehicleType.BIKE) {
       return SpotType.BIKE_SPOT;
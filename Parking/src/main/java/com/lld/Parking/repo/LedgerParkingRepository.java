@@ -0,0 +1,85 @@
+package com.lld.Parking.repo;
+
+import com.lld.Parking.entity.ParkingSpot;
+import com.lld.Parking.entity.ParkingTicket;
+import com.lld.Parking.entity.SpotType;
+import com.lld.Parking.entity.Vehicle;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Durable tickets: spots live in the in-memory index, tickets in a TicketLedger. Spot occupancy
+// isn't logged separately, it follows from the tickets: on startup every recovered ticket
+// whose vehicle hasn't exited takes its spot back.
+public class LedgerParkingRepository implements ParkingRepository {
+
+  private final InMemoryParkingRepository spots;
+  private final TicketLedger ledger;
+
+  public LedgerParkingRepository(InMemoryParkingRepository spots, TicketLedger ledger) {
+    this.spots = spots;
+    this.ledger = ledger;
+    for (ParkingTicket ticket : ledger.activeTickets()) {
+      if (ticket.getExitTime() == null
+          && !spots.occupySpot(ticket.getSpotId(), ticket.getLicensePlate())) {
+        throw new IllegalStateException("Ticket " + ticket.getTicketId() + " holds spot "
+            + ticket.getSpotId() + ", which the configured garage doesn't have free");
+      }
+    }
+  }
+
+  @Override
+  public ParkingSpot claimSpot(Vehicle vehicle, String gateId) {
+    return spots.claimSpot(vehicle, gateId);
+  }
+
+  @Override
+  public void releaseSpot(ParkingSpot spot) {
+    spots.releaseSpot(spot);
+  }
+
+  @Override
+  public ParkingSpot findSpotById(String spotId) {
+    return spots.findSpotById(spotId);
+  }
+
+  @Override
+  public int availableSpots(SpotType type) {
+    return spots.availableSpots(type);
+  }
+
+  @Override
+  public int totalSpots(SpotType type) {
+    return spots.totalSpots(type);
+  }
+
+  @Override
+  public void recordEntry(ParkingTicket ticket) {
+    ledger.recordEntry(ticket);
+  }
+
+  @Override
+  public void recordExit(ParkingTicket ticket, LocalDateTime exitTime, double fee) {
+    ledger.recordExit(ticket, exitTime, fee);
+  }
+
+  @Override
+  public void recordPayment(ParkingTicket ticket) {
+    ledger.recordPayment(ticket);
+  }
+
+  @Override
+  public ParkingTicket findTicketById(String ticketId) {
+    return ledger.find(ticketId);
+  }
+
+  @Override
+  public List<ParkingSpot> getAllSpots() {
+    return spots.getAllSpots();
+  }
+
+  // Snapshots the ledger, so the next start has nothing to replay
+  @Override
+  public void close() {
+    ledger.close();
+  }
+}
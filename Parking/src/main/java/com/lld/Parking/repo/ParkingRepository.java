@@ -2,22 +2,50 @@ package com.lld.Parking.repo;
 
 import com.lld.Parking.entity.ParkingSpot;
 import com.lld.Parking.entity.ParkingTicket;
-import com.lld.Parking.entity.VehicleType;
-import org.springframework.stereotype.Repository;
+import com.lld.Parking.entity.SpotType;
+import com.lld.Parking.entity.Vehicle;
 
+import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
-public interface ParkingRepository {
+public interface ParkingRepository extends AutoCloseable {
 
-  ParkingSpot findAvailableSpot(VehicleType vehicleType);
+  // Atomically takes the free spot of the vehicle's type nearest the gate and marks it
+  // occupied by the vehicle; null when the type is full. Concurrent callers never get the
+  // same spot. A null gate means the garage's first gate.
+  ParkingSpot claimSpot(Vehicle vehicle, String gateId);
 
-  void saveTicket(ParkingTicket ticket);
+  default ParkingSpot claimSpot(Vehicle vehicle) {
+    return claimSpot(vehicle, null);
+  }
 
-  ParkingTicket findTicketById(String ticketId);
+  // Frees a spot taken by claimSpot so it can be claimed again
+  void releaseSpot(ParkingSpot spot);
+
+  // Direct lookup by id (the handle a ticket keeps for its spot); null if unknown
+  ParkingSpot findSpotById(String spotId);
+
+  // Occupancy per type, read from counters kept up to date by claim/release (no scan)
+  int availableSpots(SpotType type);
+
+  int totalSpots(SpotType type);
+
+  // Tickets are kept as events: entry, exit, payment. Only active tickets (not yet paid) are
+  // looked up, so findTicketById returns null once a ticket is paid.
+  void recordEntry(ParkingTicket ticket);
 
-  void updateSpot(ParkingSpot spot);
+  // The vehicle left at exitTime owing fee; sets both on the ticket
+  void recordExit(ParkingTicket ticket, LocalDateTime exitTime, double fee);
+
+  // The ticket's fee was paid; marks it paid and closes it
+  void recordPayment(ParkingTicket ticket);
+
+  ParkingTicket findTicketById(String ticketId);
 
   List<ParkingSpot> getAllSpots();
-}
\ No newline at end of file
+
+  // Releases files/threads held by durable stores; Spring calls it on shutdown
+  @Override
+  default void close() {
+  }
+}
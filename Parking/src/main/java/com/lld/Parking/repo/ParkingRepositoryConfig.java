@@ -0,0 +1,79 @@
+package com.lld.Parking.repo;
+
+import com.lld.Parking.entity.SpotType;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.util.unit.DataSize;
+
+// Builds the garage from the parking.topology.* properties and picks where tickets are kept
+@Configuration
+public class ParkingRepositoryConfig {
+
+  @Bean
+  public ParkingTopology parkingTopology(
+      @Value("${parking.topology.levels:1}") int levels,
+      @Value("${parking.topology.rows-per-level:1}") int rowsPerLevel,
+      @Value("${parking.topology.row-layout:BIKE_SPOT:5,CAR_SPOT:5}") String rowLayout,
+      @Value("${parking.topology.gates:MAIN:0:0:0}") String gates,
+      @Value("${parking.topology.level-distance:100}") int levelDistance,
+      @Value("${parking.topology.row-distance:10}") int rowDistance,
+      @Value("${parking.topology.spot-distance:1}") int spotDistance) {
+    return new ParkingTopology(levels, rowsPerLevel, parseLayout(rowLayout), parseGates(gates),
+        levelDistance, rowDistance, spotDistance);
+  }
+
+  // memory: tickets live and die with the process | ledger: durable event-sourced tickets
+  @Bean
+  public ParkingRepository parkingRepository(ParkingTopology topology,
+      @Value("${parking.repository.type:memory}") String type,
+      Environment env) throws IOException {
+    InMemoryParkingRepository spots = new InMemoryParkingRepository(topology);
+    return switch (type) {
+      case "memory" -> spots;
+      case "ledger" -> new LedgerParkingRepository(spots, new TicketLedger(
+          Path.of(env.getProperty("parking.ledger.dir", "data/parking")),
+          (int) env.getProperty("parking.ledger.segment-size", DataSize.class,
+              DataSize.ofMegabytes(64)).toBytes(),
+          env.getProperty("parking.ledger.sync-interval", Duration.class, Duration.ofMillis(100)),
+          env.getProperty("parking.ledger.snapshot-interval", Duration.class,
+              Duration.ofMinutes(1))));
+      default -> throw new IllegalArgumentException("Unknown parking.repository.type: " + type);
+    };
+  }
+
+  // TYPE:count,TYPE:count,...
+  private static Map<SpotType, Integer> parseLayout(String layout) {
+    Map<SpotType, Integer> spotsPerRow = new EnumMap<>(SpotType.class);
+    for (String entry : layout.split(",")) {
+      String[] parts = entry.trim().split(":");
+      if (parts.length != 2) {
+        throw new IllegalArgumentException("Bad parking.topology.row-layout entry: " + entry);
+      }
+      spotsPerRow.put(SpotType.valueOf(parts[0]), Integer.parseInt(parts[1]));
+    }
+    return spotsPerRow;
+  }
+
+  // id:level:row:position,...
+  private static List<ParkingTopology.Gate> parseGates(String gates) {
+    List<ParkingTopology.Gate> result = new ArrayList<>();
+    for (String entry : gates.split(",")) {
+      String[] parts = entry.trim().split(":");
+      if (parts.length != 4) {
+        throw new IllegalArgumentException("Bad parking.topology.gates entry: " + entry);
+      }
+      result.add(new ParkingTopology.Gate(parts[0], Integer.parseInt(parts[1]),
+          Integer.parseInt(parts[2]), Integer.parseInt(parts[3])));
+    }
+    return result;
+  }
+}
@@ -0,0 +1,100 @@
+package com.lld.Parking.repo;
+
+import com.lld.Parking.entity.SpotType;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Garage layout: 'levels' levels of 'rowsPerLevel' rows each, every row holding the same
+// spots laid out along it in SpotType order (e.g. 10 bike, then 40 car, then 5 large).
+// Gates sit at a (level, row, position) and a spot's distance from a gate is the weighted
+// Manhattan distance: levelDistance per level apart + rowDistance per row + spotDistance per
+// position along the row.
+//
+// Each type's spots are numbered densely (level-major, then row, then along the row); that
+// slot number is what the repository indexes by.
+public class ParkingTopology {
+
+  private static final SpotType[] SPOT_TYPES = SpotType.values();
+
+  public record Gate(String id, int level, int row, int position) {
+  }
+
+  private final int levels;
+  private final int rowsPerLevel;
+  private final int[] perRow = new int[SPOT_TYPES.length];   // Spots of each type in a row
+  private final int[] rowOffset = new int[SPOT_TYPES.length]; // Position of a type's first spot
+  private final List<Gate> gates;
+  private final int levelDistance;
+  private final int rowDistance;
+  private final int spotDistance;
+
+  public ParkingTopology(int levels, int rowsPerLevel, Map<SpotType, Integer> spotsPerRow,
+      List<Gate> gates, int levelDistance, int rowDistance, int spotDistance) {
+    if (levels < 1 || rowsPerLevel < 1) {
+      throw new IllegalArgumentException("A garage needs at least one level and one row");
+    }
+    if (gates.isEmpty()) {
+      throw new IllegalArgumentException("A garage needs at least one gate");
+    }
+    Map<SpotType, Integer> layout = new EnumMap<>(SpotType.class);
+    layout.putAll(spotsPerRow);
+    int position = 0;
+    for (SpotType type : SPOT_TYPES) {
+      perRow[type.ordinal()] = layout.getOrDefault(type, 0);
+      rowOffset[type.ordinal()] = position;
+      position += perRow[type.ordinal()];
+    }
+    if ((long) levels * rowsPerLevel * position > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Too many spots: " + (long) levels * rowsPerLevel * position);
+    }
+    Set<String> ids = new HashSet<>();
+    for (Gate gate : gates) {
+      if (!ids.add(gate.id())) {
+        throw new IllegalArgumentException("Duplicate gate: " + gate.id());
+      }
+      if (gate.level() < 0 || gate.level() >= levels || gate.row() < 0
+          || gate.row() >= rowsPerLevel || gate.position() < 0) {
+        throw new IllegalArgumentException("Gate " + gate.id() + " is outside the garage");
+      }
+    }
+    this.levels = levels;
+    this.rowsPerLevel = rowsPerLevel;
+    this.gates = List.copyOf(gates);
+    this.levelDistance = levelDistance;
+    this.rowDistance = rowDistance;
+    this.spotDistance = spotDistance;
+  }
+
+  // One level, one row, one gate at its start: nearest-first is lowest-slot-first
+  public static ParkingTopology singleRow(Map<SpotType, Integer> spotsPerType) {
+    return new ParkingTopology(1, 1, spotsPerType, List.of(new Gate("MAIN", 0, 0, 0)), 0, 0, 1);
+  }
+
+  public List<Gate> gates() {
+    return gates;
+  }
+
+  public int spots(SpotType type) {
+    return levels * rowsPerLevel * perRow[type.ordinal()];
+  }
+
+  // L<level>-R<row>-<type letter>-<n>, all 1-based, n counting that type's spots in the row
+  public String spotId(SpotType type, int slot) {
+    int n = perRow[type.ordinal()];
+    return "L" + (slot / (n * rowsPerLevel) + 1) + "-R" + (slot / n % rowsPerLevel + 1)
+        + "-" + type.name().charAt(0) + "-" + (slot % n + 1);
+  }
+
+  public int distance(Gate gate, SpotType type, int slot) {
+    int n = perRow[type.ordinal()];
+    int level = slot / (n * rowsPerLevel);
+    int row = slot / n % rowsPerLevel;
+    int position = rowOffset[type.ordinal()] + slot % n;
+    return levelDistance * Math.abs(level - gate.level())
+        + rowDistance * Math.abs(row - gate.row())
+        + spotDistance * Math.abs(position - gate.position());
+  }
+}
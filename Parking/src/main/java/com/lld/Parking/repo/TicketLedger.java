@@ -0,0 +1,657 @@
+package com.lld.Parking.repo;
+
+import com.lld.Parking.entity.ParkingTicket;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Event-sourced ticket store: every entry, exit and payment is appended to a log, and the
+// active tickets are what replaying that log yields. Only active (unpaid) tickets are kept in
+// memory; a paid ticket leaves memory and is written once to the archive, append-only segment
+// files holding one compact record per finished stay.
+//
+// Log record: [length:4][crc32c:4][type:1][ticketId][time:8] and then, per type, ENTRY:
+// [spotId][plate], EXIT: [fee:8], PAYMENT: [amount:8]. Strings are [length:2][UTF-8]. The CRC
+// covers everything after it, so a torn tail is detected on replay and cut off. Log and archive
+// segments roll at segmentBytes.
+//
+// Snapshots: every snapshotInterval the active tickets are written to snapshot.bin (temp file
+// and atomic move) with the log position they reflect. Tickets paid since the previous
+// snapshot are archived just before it, and the snapshot records where the archive ends, so a
+// crash in between is undone by cutting the archive back and replaying those payments. Log
+// segments wholly before the snapshot are deleted. Startup loads the snapshot and replays only
+// the log after it, so restart time and log size depend on the snapshot interval, not on how
+// much history there is. Memory holds the active tickets plus those paid since the last
+// snapshot.
+//
+// Durability: appends reach the page cache immediately and survive a process crash. The log is
+// forced to disk every syncInterval, one fsync for every event in that batch, so that window is
+// what an OS crash or power loss can lose.
+public class TicketLedger implements AutoCloseable {
+
+  // Not Lombok's "log": that name is the log file's channel here
+  private static final Logger LOGGER = LoggerFactory.getLogger(TicketLedger.class);
+
+  private static final byte ENTRY = 1;
+  private static final byte EXIT = 2;
+  private static final byte PAYMENT = 3;
+
+  private static final int RECORD_HEADER = 8; // [length][crc]
+  private static final long NO_TIME = Long.MIN_VALUE;
+  private static final int NULL_STRING = 0xFFFF;
+  private static final long SNAPSHOT_MAGIC = 0x504B4C4447523031L; // "PKLDGR01"
+  private static final int SNAPSHOT_HEADER = 16; // [magic:8][crc32c:4][bodyLength:4]
+  private static final String SNAPSHOT_FILE = "snapshot.bin";
+
+  private final Path directory;
+  private final int segmentBytes;
+  private final ScheduledExecutorService maintenance;
+
+  // Lock-free reads; changed only under appendLock, together with the log
+  private final Map<String, ParkingTicket> active = new ConcurrentHashMap<>();
+
+  // Appends are serialized, so the log order is the order events were applied in memory: what
+  // a snapshot captures under this lock is exactly the log up to the position it records
+  private final Object appendLock = new Object();
+  private FileChannel log;          // guarded by appendLock
+  private int logSegment;           // guarded by appendLock
+  private long logOffset;           // guarded by appendLock
+  private List<ParkingTicket> paidSinceSnapshot = new ArrayList<>(); // guarded by appendLock
+
+  private FileChannel archive;      // guarded by this (snapshot)
+  private int archiveSegment;       // guarded by this
+  private long archiveOffset;       // guarded by this
+  private int snapshotSegment;      // guarded by this
+  private long snapshotOffset;      // guarded by this
+
+  private final long recoveredEvents;
+  private final long recoveryMillis;
+
+  public TicketLedger(Path directory, int segmentBytes, Duration syncInterval,
+      Duration snapshotInterval) throws IOException {
+    if (segmentBytes < (1 << 20)) {
+      throw new IllegalArgumentException("segmentBytes must be at least 1 MiB");
+    }
+    this.directory = directory;
+    this.segmentBytes = segmentBytes;
+    Files.createDirectories(directory);
+
+    long started = System.nanoTime();
+    loadSnapshot();
+    openArchive();
+    this.recoveredEvents = replay();
+    this.recoveryMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+    this.maintenance = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread t = new Thread(r, "ticket-ledger-maintenance");
+      t.setDaemon(true);
+      return t;
+    });
+    long syncMillis = syncInterval.toMillis();
+    long snapshotMillis = snapshotInterval.toMillis();
+    maintenance.scheduleWithFixedDelay(() -> runLogged("Ticket ledger sync", this::sync),
+        syncMillis, syncMillis, TimeUnit.MILLISECONDS);
+    maintenance.scheduleWithFixedDelay(() -> runLogged("Ticket ledger snapshot", this::snapshot),
+        snapshotMillis, snapshotMillis, TimeUnit.MILLISECONDS);
+  }
+
+  public void recordEntry(ParkingTicket ticket) {
+    byte[] id = utf8(ticket.getTicketId());
+    byte[] spot = utf8(ticket.getSpotId());
+    byte[] plate = utf8(ticket.getLicensePlate());
+    ByteBuffer record = record(ENTRY, id, millis(ticket.getEntryTime()),
+        stringSize(spot) + stringSize(plate));
+    putString(record, spot);
+    putString(record, plate);
+    seal(record);
+    synchronized (appendLock) {
+      append(record);
+      active.put(ticket.getTicketId(), ticket);
+    }
+  }
+
+  public void recordExit(ParkingTicket ticket, LocalDateTime exitTime, double fee) {
+    ByteBuffer record = record(EXIT, utf8(ticket.getTicketId()), millis(exitTime), 8);
+    record.putDouble(fee);
+    seal(record);
+    synchronized (appendLock) {
+      append(record);
+      ticket.setExitTime(exitTime);
+      ticket.setFee(fee);
+    }
+  }
+
+  public void recordPayment(ParkingTicket ticket) {
+    ByteBuffer record = record(PAYMENT, utf8(ticket.getTicketId()),
+        millis(LocalDateTime.now()), 8);
+    record.putDouble(ticket.getFee());
+    seal(record);
+    synchronized (appendLock) {
+      append(record);
+      ticket.setPaid(true);
+      active.remove(ticket.getTicketId());
+      paidSinceSnapshot.add(ticket);
+    }
+  }
+
+  // Active tickets only; null once a ticket is paid
+  public ParkingTicket find(String ticketId) {
+    return active.get(ticketId);
+  }
+
+  // Unpaid tickets, weakly consistent under concurrent writes
+  public Collection<ParkingTicket> activeTickets() {
+    return active.values();
+  }
+
+  // Visits every archived (paid) ticket in payment order, up to the last snapshot
+  public synchronized void forEachArchived(Consumer<ParkingTicket> action) throws IOException {
+    for (int s = firstSegment("archive-"); s >= 0 && s <= archiveSegment; s++) {
+      Path path = archivePath(s);
+      if (!Files.exists(path)) {
+        continue;
+      }
+      try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+        long end = s == archiveSegment ? archiveOffset : channel.size();
+        ByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, end);
+        while (segment.hasRemaining()) {
+          segment.position(segment.position() + RECORD_HEADER); // Checked when it was written
+          action.accept(readTicket(segment, true));
+        }
+      }
+    }
+  }
+
+  long recoveredEvents() {
+    return recoveredEvents;
+  }
+
+  long recoveryMillis() {
+    return recoveryMillis;
+  }
+
+  // Stops the maintenance thread and snapshots, so a clean shutdown restarts with no replay.
+  // The files are closed even if that snapshot fails; the next start replays the log instead.
+  @Override
+  public void close() {
+    maintenance.shutdown();
+    try {
+      maintenance.awaitTermination(1, TimeUnit.MINUTES);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    RuntimeException failure = null;
+    try {
+      snapshot();
+    } catch (RuntimeException e) {
+      failure = e;
+    }
+    synchronized (appendLock) {
+      failure = close(log, failure);
+    }
+    synchronized (this) {
+      failure = close(archive, failure);
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  // Forces the log written since the last sync to disk, one fsync for the whole batch
+  void sync() {
+    FileChannel channel;
+    synchronized (appendLock) {
+      channel = log;
+    }
+    try {
+      channel.force(false);
+    } catch (ClosedChannelException e) {
+      // Rolled over (or closed) meanwhile; the roll forced it
+    } catch (IOException e) {
+      throw new UncheckedIOException("Ticket ledger sync failed", e);
+    }
+  }
+
+  // Archives tickets paid since the last snapshot, writes the active tickets with the log
+  // position they reflect, then drops log segments the snapshot now covers. Entries keep
+  // appending while the image is written; they are only held up while it is captured.
+  synchronized void snapshot() {
+    int segment;
+    long offset;
+    List<ParkingTicket> paid;
+    ByteBuffer image;
+    synchronized (appendLock) {
+      if (logSegment == snapshotSegment && logOffset == snapshotOffset) {
+        return;
+      }
+      segment = logSegment;
+      offset = logOffset;
+      paid = paidSinceSnapshot;
+      paidSinceSnapshot = new ArrayList<>();
+      image = encodeSnapshot(segment, offset);
+    }
+
+    sync(); // The log before the snapshot point must not be shorter on disk than it says
+    int archivedSegment = archiveSegment;
+    long archivedOffset = archiveOffset;
+    try {
+      for (ParkingTicket ticket : paid) {
+        appendArchive(ticket);
+      }
+      archive.force(false); // The snapshot may only point past archive records on disk
+      image.putInt(SNAPSHOT_HEADER + 12, archiveSegment)
+          .putLong(SNAPSHOT_HEADER + 16, archiveOffset);
+      writeSnapshot(image);
+    } catch (IOException e) {
+      // Nothing was committed: cut the archive back and keep the tickets for the next attempt
+      try {
+        rewindArchive(archivedSegment, archivedOffset);
+      } catch (IOException suppressed) {
+        e.addSuppressed(suppressed);
+      }
+      synchronized (appendLock) {
+        paid.addAll(paidSinceSnapshot);
+        paidSinceSnapshot = paid;
+      }
+      throw new UncheckedIOException("Ticket ledger snapshot failed", e);
+    }
+    snapshotSegment = segment;
+    snapshotOffset = offset;
+    deleteLogBefore(segment);
+  }
+
+  // A periodic task that throws is never run again, so a failed sync or snapshot is logged and
+  // simply retried at the next interval
+  private static void runLogged(String task, Runnable action) {
+    try {
+      action.run();
+    } catch (RuntimeException e) {
+      LOGGER.error("{} failed, retrying at the next interval", task, e);
+    }
+  }
+
+  // Closes channel; a failure to close is added to an earlier failure or becomes the first one
+  private static RuntimeException close(FileChannel channel, RuntimeException failure) {
+    try {
+      channel.close();
+    } catch (IOException e) {
+      if (failure == null) {
+        return new UncheckedIOException(e);
+      }
+      failure.addSuppressed(e);
+    }
+    return failure;
+  }
+
+  // Caller holds appendLock
+  private void append(ByteBuffer record) {
+    try {
+      if (logOffset > 0 && logOffset + record.remaining() > segmentBytes) {
+        log.force(false); // A closed segment is never synced again
+        log.close();
+        logSegment++;
+        log = openLog(logSegment);
+        logOffset = 0;
+      }
+      long position = logOffset;
+      while (record.hasRemaining()) {
+        position += log.write(record, position);
+      }
+      logOffset = position;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Ticket ledger append failed", e);
+    }
+  }
+
+  // Body: [logSegment:4][logOffset:8][archiveSegment:4][archiveOffset:8][count:4] then per
+  // ticket [ticketId][spotId][plate][entry:8][exit:8][fee:8]. The archive position is filled
+  // in once the archive is written. Caller holds appendLock.
+  private ByteBuffer encodeSnapshot(int segment, long offset) {
+    List<byte[][]> strings = new ArrayList<>(active.size());
+    int size = SNAPSHOT_HEADER + 28;
+    for (ParkingTicket ticket : active.values()) {
+      byte[][] s = ticketStrings(ticket);
+      strings.add(s);
+      size += ticketSize(s);
+    }
+    ByteBuffer image = ByteBuffer.allocate(size);
+    image.position(SNAPSHOT_HEADER);
+    image.putInt(segment).putLong(offset).putInt(0).putLong(0).putInt(strings.size());
+    int i = 0;
+    for (ParkingTicket ticket : active.values()) { // Unchanged since sizing: appendLock is held
+      putTicket(image, ticket, strings.get(i++));
+    }
+    return image;
+  }
+
+  private void writeSnapshot(ByteBuffer image) throws IOException {
+    int bodyLength = image.position() - SNAPSHOT_HEADER;
+    CRC32C crc = new CRC32C();
+    crc.update(image.slice(SNAPSHOT_HEADER, bodyLength));
+    image.putLong(0, SNAPSHOT_MAGIC).putInt(8, (int) crc.getValue()).putInt(12, bodyLength);
+    image.flip();
+    Path tmp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+    try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      while (image.hasRemaining()) {
+        channel.write(image);
+      }
+      channel.force(true);
+    }
+    Files.move(tmp, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.ATOMIC_MOVE,
+        StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  // Restores the active tickets and log/archive positions of the last snapshot, if any
+  private void loadSnapshot() throws IOException {
+    Path file = directory.resolve(SNAPSHOT_FILE);
+    if (!Files.exists(file)) {
+      // Without a snapshot nothing was ever archived or dropped: replay the whole log
+      snapshotSegment = Math.max(firstSegment("ledger-"), 0);
+      return;
+    }
+    ByteBuffer image = ByteBuffer.wrap(Files.readAllBytes(file));
+    if (image.remaining() < SNAPSHOT_HEADER || image.getLong(0) != SNAPSHOT_MAGIC
+        || image.getInt(12) != image.remaining() - SNAPSHOT_HEADER) {
+      throw new IOException("Corrupt ticket ledger snapshot: " + file);
+    }
+    CRC32C crc = new CRC32C();
+    crc.update(image.slice(SNAPSHOT_HEADER, image.getInt(12)));
+    if ((int) crc.getValue() != image.getInt(8)) {
+      throw new IOException("Corrupt ticket ledger snapshot: " + file);
+    }
+    image.position(SNAPSHOT_HEADER);
+    snapshotSegment = image.getInt();
+    snapshotOffset = image.getLong();
+    archiveSegment = image.getInt();
+    archiveOffset = image.getLong();
+    int count = image.getInt();
+    for (int i = 0; i < count; i++) {
+      ParkingTicket ticket = readTicket(image, false);
+      active.put(ticket.getTicketId(), ticket);
+    }
+  }
+
+  // Cuts off archive records written after the snapshot (their payments are replayed from the
+  // log and archived again) and opens the archive for appending
+  private void openArchive() throws IOException {
+    rewindArchive(archiveSegment, archiveOffset);
+  }
+
+  private void rewindArchive(int segment, long offset) throws IOException {
+    if (archive != null) {
+      archive.close();
+    }
+    for (int s = segment + 1; Files.deleteIfExists(archivePath(s)); s++) {
+      // Remove every later segment
+    }
+    archive = FileChannel.open(archivePath(segment), StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE);
+    if (archive.size() > offset) {
+      archive.truncate(offset);
+    }
+    archiveSegment = segment;
+    archiveOffset = offset;
+  }
+
+  // Caller holds this
+  private void appendArchive(ParkingTicket ticket) throws IOException {
+    byte[][] strings = ticketStrings(ticket);
+    int length = RECORD_HEADER + ticketSize(strings);
+    if (archiveOffset > 0 && archiveOffset + length > segmentBytes) {
+      archive.force(false);
+      archive.close();
+      archiveSegment++;
+      archiveOffset = 0;
+      archive = FileChannel.open(archivePath(archiveSegment), StandardOpenOption.CREATE,
+          StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+    ByteBuffer record = ByteBuffer.allocate(length);
+    record.position(RECORD_HEADER);
+    putTicket(record, ticket, strings);
+    seal(record);
+    long position = archiveOffset;
+    while (record.hasRemaining()) {
+      position += archive.write(record, position);
+    }
+    archiveOffset = position;
+  }
+
+  // Applies every intact event after the snapshot, cuts off a torn tail and positions the
+  // writer after the last event
+  private long replay() throws IOException {
+    for (int s = firstSegment("ledger-"); s >= 0 && s < snapshotSegment; s++) {
+      Files.deleteIfExists(logPath(s)); // Left over from a snapshot interrupted mid-cleanup
+    }
+    long events = 0;
+    int segment = snapshotSegment;
+    long position = snapshotOffset;
+    while (true) {
+      Path path = logPath(segment);
+      long end = Files.exists(path) ? Files.size(path) : 0;
+      boolean torn = false;
+      if (position < end) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+          ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, end);
+          while (position < end) {
+            int pos = (int) position;
+            int length = pos + RECORD_HEADER <= end ? data.getInt(pos) : 0;
+            if (length <= RECORD_HEADER || pos + length > end
+                || data.getInt(pos + 4) != crc(data, pos, length)) {
+              torn = true;
+              break;
+            }
+            apply(data.slice(pos + RECORD_HEADER, length - RECORD_HEADER));
+            position += length;
+            events++;
+          }
+        }
+      }
+      if (torn) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+          channel.truncate(position);
+          channel.force(true);
+        }
+        for (int next = segment + 1; Files.deleteIfExists(logPath(next)); next++) {
+          // Remove every following segment
+        }
+        break;
+      }
+      if (!Files.exists(logPath(segment + 1))) {
+        break;
+      }
+      segment++;
+      position = 0;
+    }
+    synchronized (appendLock) {
+      logSegment = segment;
+      logOffset = position;
+      log = openLog(segment);
+    }
+    return events;
+  }
+
+  private void apply(ByteBuffer event) {
+    byte type = event.get();
+    String ticketId = getString(event);
+    LocalDateTime time = dateTime(event.getLong());
+    switch (type) {
+      case ENTRY -> {
+        String spotId = getString(event);
+        String plate = getString(event);
+        active.put(ticketId, new ParkingTicket(ticketId, spotId, plate, time, null, 0.0, false));
+      }
+      case EXIT -> {
+        ParkingTicket ticket = active.get(ticketId);
+        if (ticket != null) {
+          ticket.setExitTime(time);
+          ticket.setFee(event.getDouble());
+        }
+      }
+      case PAYMENT -> {
+        ParkingTicket ticket = active.remove(ticketId);
+        if (ticket != null) {
+          ticket.setPaid(true);
+          paidSinceSnapshot.add(ticket);
+        }
+      }
+      default -> throw new IllegalStateException("Unknown ticket event type " + type);
+    }
+  }
+
+  private void deleteLogBefore(int segment) {
+    for (int s = segment - 1; s >= 0; s--) {
+      try {
+        if (!Files.deleteIfExists(logPath(s))) {
+          break; // Earlier ones went with an earlier snapshot
+        }
+      } catch (IOException e) {
+        break; // Retried by the next snapshot or on startup
+      }
+    }
+  }
+
+  private FileChannel openLog(int segment) throws IOException {
+    return FileChannel.open(logPath(segment), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+  }
+
+  private Path logPath(int segment) {
+    return directory.resolve(String.format("ledger-%05d.log", segment));
+  }
+
+  private Path archivePath(int segment) {
+    return directory.resolve(String.format("archive-%05d.seg", segment));
+  }
+
+  // Lowest segment number of the files named prefix-NNNNN.*, or -1 if there are none
+  private int firstSegment(String prefix) throws IOException {
+    int first = -1;
+    try (var files = Files.list(directory)) {
+      for (Path path : (Iterable<Path>) files::iterator) {
+        String name = path.getFileName().toString();
+        if (name.startsWith(prefix) && name.length() == prefix.length() + 9) {
+          int s = Integer.parseInt(name.substring(prefix.length(), prefix.length() + 5));
+          first = first < 0 ? s : Math.min(first, s);
+        }
+      }
+    }
+    return first;
+  }
+
+  // A log record with its header reserved and the common fields written; the caller adds
+  // 'extra' bytes of type-specific fields and seals it
+  private static ByteBuffer record(byte type, byte[] ticketId, long millis, int extra) {
+    ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER + 1 + stringSize(ticketId) + 8 + extra);
+    record.position(RECORD_HEADER);
+    record.put(type);
+    putString(record, ticketId);
+    record.putLong(millis);
+    return record;
+  }
+
+  // Writes [length][crc] over a record filled up to its capacity and rewinds it for writing
+  private static void seal(ByteBuffer record) {
+    int length = record.capacity();
+    record.putInt(0, length);
+    record.putInt(4, crc(record, 0, length));
+    record.clear();
+  }
+
+  private static byte[][] ticketStrings(ParkingTicket ticket) {
+    return new byte[][] {utf8(ticket.getTicketId()), utf8(ticket.getSpotId()),
+        utf8(ticket.getLicensePlate())};
+  }
+
+  private static int ticketSize(byte[][] strings) {
+    return stringSize(strings[0]) + stringSize(strings[1]) + stringSize(strings[2]) + 24;
+  }
+
+  private static void putTicket(ByteBuffer buffer, ParkingTicket ticket, byte[][] strings) {
+    for (byte[] s : strings) {
+      putString(buffer, s);
+    }
+    buffer.putLong(millis(ticket.getEntryTime()));
+    buffer.putLong(millis(ticket.getExitTime()));
+    buffer.putDouble(ticket.getFee());
+  }
+
+  private static ParkingTicket readTicket(ByteBuffer buffer, boolean paid) {
+    String ticketId = getString(buffer);
+    String spotId = getString(buffer);
+    String plate = getString(buffer);
+    LocalDateTime entry = dateTime(buffer.getLong());
+    LocalDateTime exit = dateTime(buffer.getLong());
+    return new ParkingTicket(ticketId, spotId, plate, entry, exit, buffer.getDouble(), paid);
+  }
+
+  private static byte[] utf8(String s) {
+    if (s == null) {
+      return null;
+    }
+    byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+    if (bytes.length >= NULL_STRING) {
+      throw new IllegalArgumentException("Ticket field too long: " + bytes.length + " bytes");
+    }
+    return bytes;
+  }
+
+  // Encoded size of a string field; null (e.g. a ticket without a plate) is just its length
+  private static int stringSize(byte[] s) {
+    return 2 + (s == null ? 0 : s.length);
+  }
+
+  private static void putString(ByteBuffer buffer, byte[] s) {
+    if (s == null) {
+      buffer.putShort((short) NULL_STRING);
+    } else {
+      buffer.putShort((short) s.length).put(s);
+    }
+  }
+
+  private static String getString(ByteBuffer buffer) {
+    int length = buffer.getShort() & 0xFFFF;
+    if (length == NULL_STRING) {
+      return null;
+    }
+    byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static long millis(LocalDateTime time) {
+    return time == null ? NO_TIME : time.toInstant(ZoneOffset.UTC).toEpochMilli();
+  }
+
+  private static LocalDateTime dateTime(long millis) {
+    return millis == NO_TIME ? null : LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000),
+        (int) Math.floorMod(millis, 1000) * 1_000_000, ZoneOffset.UTC);
+  }
+
+  private static int crc(ByteBuffer buffer, int pos, int length) {
+    CRC32C crc = new CRC32C();
+    crc.update(buffer.slice(pos + RECORD_HEADER, length - RECORD_HEADER));
+    return (int) crc.getValue();
+  }
+}
@@ -1,8 +1,10 @@
 package com.lld.Parking.service;
 
 
+import com.lld.Parking.dto.SpotAvailability;
 import com.lld.Parking.entity.ParkingSpot;
 import com.lld.Parking.entity.ParkingTicket;
+import com.lld.Parking.entity.SpotType;
 import com.lld.Parking.entity.Vehicle;
 import com.lld.Parking.repo.ParkingRepository;
 import lombok.RequiredArgsConstructor;
@@ -10,6 +12,8 @@ import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -18,56 +22,79 @@ public class ParkingService {
 
   private final ParkingRepository repository;
 
-  // Synchronized to handle concurrency for 1hr interview simplicity
-  // Optimally: Use DB locking or optimistic locking
-  public synchronized ParkingTicket entry(Vehicle vehicle) {
-    ParkingSpot spot = repository.findAvailableSpot(vehicle.getType());
+  public ParkingTicket entry(Vehicle vehicle) {
+    return entry(vehicle, null);
+  }
+
+  // No service-wide lock: the repository claims the spot atomically, so entries at
+  // different gates run in parallel and still never share a spot
+  public ParkingTicket entry(Vehicle vehicle, String gateId) {
+    // Occupy the free spot nearest the gate
+    ParkingSpot spot = repository.claimSpot(vehicle, gateId);
     if (spot == null) {
       throw new RuntimeException("Parking Full for type: " + vehicle.getType());
     }
 
-    // Occupy Spot
-    spot.setOccupied(true);
-    spot.setVehicleLicensePlate(vehicle.getLicensePlate());
-    repository.updateSpot(spot);
-
     // Generate Ticket
     ParkingTicket ticket = new ParkingTicket(
         UUID.randomUUID().toString(),
         spot.getId(),
         vehicle.getLicensePlate(),
         LocalDateTime.now(),
+        null,
         0.0,
         false
     );
-    repository.saveTicket(ticket);
-    System.out.println("Ticket Generated: " + ticket.getTicketId());
+    try {
+      repository.recordEntry(ticket);
+    } catch (RuntimeException e) {
+      // No ticket was recorded, so nothing would ever free the spot
+      repository.releaseSpot(spot);
+      throw e;
+    }
     return ticket;
   }
 
-  public synchronized ParkingTicket exit(String ticketId) {
+  public ParkingTicket exit(String ticketId) {
     ParkingTicket ticket = repository.findTicketById(ticketId);
-    if (ticket == null || ticket.isPaid()) {
+    if (ticket == null) {
       throw new RuntimeException("Invalid or already paid ticket");
     }
 
-    // Release Spot
-    ParkingSpot spot = repository.getAllSpots().stream()
-        .filter(s -> s.getId().equals(ticket.getSpotId()))
-        .findFirst().orElseThrow();
+    // Only this ticket is locked, so exits of different tickets run in parallel; the lock
+    // stops a double-submitted exit from releasing the spot twice
+    synchronized (ticket) {
+      if (ticket.isPaid()) {
+        throw new RuntimeException("Invalid or already paid ticket");
+      }
+
+      // An exit already recorded (a restart came between exit and payment) only needs paying
+      if (ticket.getExitTime() == null) {
+        // Calculate Fee (Simple Strategy: $10 per hour)
+        LocalDateTime exitTime = LocalDateTime.now();
+        long hours = Duration.between(ticket.getEntryTime(), exitTime).toHours();
+        if (hours == 0) hours = 1; // Minimum 1 hour
 
-    spot.setOccupied(false);
-    spot.setVehicleLicensePlate(null);
-    repository.updateSpot(spot);
+        // Exit is recorded before the spot is freed: a ticket that comes back from a restart
+        // still parked takes its spot again, so the spot must not be handed out before then
+        repository.recordExit(ticket, exitTime, hours * 10.0);
 
-    // Calculate Fee (Simple Strategy: $10 per hour)
-    long hours = Duration.between(ticket.getEntryTime(), LocalDateTime.now()).toHours();
-    if (hours == 0) hours = 1; // Minimum 1 hour
-    ticket.setFee(hours * 10.0);
-    ticket.setPaid(true);
+        // Release Spot (direct lookup through the ticket's spot id, no scan)
+        repository.releaseSpot(repository.findSpotById(ticket.getSpotId()));
+      }
 
-    repository.saveTicket(ticket);
-    System.out.println("Vehicle exited. Fee: " + ticket.getFee());
+      repository.recordPayment(ticket);
+    }
     return ticket;
   }
+
+  // Free and total spots per type, straight from the repository's counters
+  public List<SpotAvailability> availability() {
+    List<SpotAvailability> result = new ArrayList<>();
+    for (SpotType type : SpotType.values()) {
+      result.add(new SpotAvailability(type, repository.totalSpots(type),
+          repository.availableSpots(type)));
+    }
+    return result;
+  }
 }
\ No newline at end of file
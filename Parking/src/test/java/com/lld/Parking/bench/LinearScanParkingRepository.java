@@ -0,0 +1,95 @@
+package com.lld.Parking.bench;
+
+import com.lld.Parking.entity.ParkingSpot;
+import com.lld.Parking.entity.ParkingTicket;
+import com.lld.Parking.entity.SpotType;
+import com.lld.Parking.entity.Vehicle;
+import com.lld.Parking.entity.VehicleType;
+import com.lld.Parking.repo.ParkingRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// The original repository's allocation, kept as the benchmark baseline: every lookup streams
+// over all spots filtering by type and occupancy, under one lock (the service used to hold it).
+// It has no notion of gates.
+public class LinearScanParkingRepository implements ParkingRepository {
+
+  private final Map<String, ParkingSpot> spots = new ConcurrentHashMap<>();
+  private final Map<String, ParkingTicket> tickets = new ConcurrentHashMap<>();
+
+  public LinearScanParkingRepository(Map<SpotType, Integer> spotsPerType) {
+    spotsPerType.forEach((type, count) -> {
+      for (int i = 1; i <= count; i++) {
+        String id = "S-" + type.name().charAt(0) + "-" + i;
+        spots.put(id, new ParkingSpot(id, type));
+      }
+    });
+  }
+
+  @Override
+  public synchronized ParkingSpot claimSpot(Vehicle vehicle, String gateId) {
+    VehicleType vehicleType = vehicle.getType();
+    SpotType required = vehicleType == VehicleType.BIKE ? SpotType.BIKE_SPOT
+        : vehicleType == VehicleType.CAR ? SpotType.CAR_SPOT : SpotType.LARGE_V_SPOT;
+    ParkingSpot spot = spots.values().stream()
+        .filter(s -> !s.isOccupied() && s.getType() == required)
+        .findFirst()
+        .orElse(null);
+    if (spot != null) {
+      spot.setOccupied(true);
+      spot.setVehicleLicensePlate(vehicle.getLicensePlate());
+    }
+    return spot;
+  }
+
+  @Override
+  public synchronized void releaseSpot(ParkingSpot spot) {
+    spot.setOccupied(false);
+    spot.setVehicleLicensePlate(null);
+  }
+
+  @Override
+  public ParkingSpot findSpotById(String spotId) {
+    return spots.get(spotId);
+  }
+
+  @Override
+  public int availableSpots(SpotType type) {
+    return (int) spots.values().stream().filter(s -> s.getType() == type && !s.isOccupied()).count();
+  }
+
+  @Override
+  public int totalSpots(SpotType type) {
+    return (int) spots.values().stream().filter(s -> s.getType() == type).count();
+  }
+
+  @Override
+  public void recordEntry(ParkingTicket ticket) {
+    tickets.put(ticket.getTicketId(), ticket);
+  }
+
+  @Override
+  public void recordExit(ParkingTicket ticket, LocalDateTime exitTime, double fee) {
+    ticket.setExitTime(exitTime);
+    ticket.setFee(fee);
+  }
+
+  @Override
+  public void recordPayment(ParkingTicket ticket) {
+    ticket.setPaid(true);
+    tickets.remove(ticket.getTicketId());
+  }
+
+  @Override
+  public ParkingTicket findTicketById(String ticketId) {
+    return tickets.get(ticketId);
+  }
+
+  @Override
+  public List<ParkingSpot> getAllSpots() {
+    return new ArrayList<>(spots.values());
+  }
+}
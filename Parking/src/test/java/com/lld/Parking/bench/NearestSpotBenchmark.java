@@ -0,0 +1,103 @@
+package com.lld.Parking.bench;
+
+import com.lld.Parking.entity.ParkingSpot;
+import com.lld.Parking.entity.SpotType;
+import com.lld.Parking.entity.Vehicle;
+import com.lld.Parking.entity.VehicleType;
+import com.lld.Parking.repo.InMemoryParkingRepository;
+import com.lld.Parking.repo.ParkingTopology;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Nearest-spot park-and-leave in a 50k-spot garage (5 levels x 20 rows x 500 car spots), every
+// core a gate entrance. 'gates' gates are spread over the levels; a random 'occupancy' share
+// of the spots is taken up front. Sampled, so the output has p50/p99/p99.9 per operation.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(Threads.MAX)
+public class NearestSpotBenchmark {
+
+  private static final int LEVELS = 5;
+  private static final int ROWS = 20;
+  private static final int SPOTS_PER_ROW = 500;
+
+  @Param({"1", "4", "16"})
+  public int gates;
+
+  @Param({"0.5", "0.99"})
+  public double occupancy;
+
+  InMemoryParkingRepository repo;
+  List<ParkingTopology.Gate> gateList;
+
+  @Setup
+  public void setUp() {
+    // Gate i on level i % LEVELS, alternating between the two ends of the level
+    gateList = new ArrayList<>();
+    for (int i = 0; i < gates; i++) {
+      boolean start = (i / LEVELS) % 2 == 0;
+      gateList.add(new ParkingTopology.Gate("G" + i, i % LEVELS, start ? 0 : ROWS - 1,
+          start ? 0 : SPOTS_PER_ROW - 1));
+    }
+    repo = new InMemoryParkingRepository(new ParkingTopology(LEVELS, ROWS,
+        Map.of(SpotType.CAR_SPOT, SPOTS_PER_ROW), gateList, 100, 10, 1));
+    Vehicle car = new Vehicle("KA-01-1234", VehicleType.CAR);
+    SplittableRandom random = new SplittableRandom(42);
+    List<ParkingSpot> parked = new ArrayList<>();
+    ParkingSpot spot;
+    while ((spot = repo.claimSpot(car)) != null) {
+      parked.add(spot);
+    }
+    for (ParkingSpot s : parked) {
+      if (random.nextDouble() >= occupancy) {
+        repo.releaseSpot(s);
+      }
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Entrance {
+
+    private static int threads;
+    String gateId;
+    Vehicle car;
+
+    @Setup
+    public void setUp(NearestSpotBenchmark bench) {
+      int thread;
+      synchronized (Entrance.class) {
+        thread = threads++;
+      }
+      gateId = bench.gateList.get(thread % bench.gateList.size()).id();
+      car = new Vehicle("GATE-" + thread, VehicleType.CAR);
+    }
+  }
+
+  @Benchmark
+  public ParkingSpot parkAndLeave(Entrance entrance) {
+    ParkingSpot spot = repo.claimSpot(entrance.car, entrance.gateId);
+    if (spot != null) { // Every other spot may be held by a concurrent entrance
+      repo.releaseSpot(spot);
+    }
+    return spot;
+  }
+}
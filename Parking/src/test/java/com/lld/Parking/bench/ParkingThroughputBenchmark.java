@@ -0,0 +1,92 @@
+package com.lld.Parking.bench;
+
+import com.lld.Parking.entity.ParkingTicket;
+import com.lld.Parking.entity.SpotType;
+import com.lld.Parking.entity.Vehicle;
+import com.lld.Parking.entity.VehicleType;
+import com.lld.Parking.repo.InMemoryParkingRepository;
+import com.lld.Parking.service.ParkingService;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Entry + exit through ParkingService from every core, each thread a gate parking its own mix
+// of vehicle types. "global" wraps each call in one shared monitor, as the service used to;
+// "lock-free" is the service as it is now (atomic spot claims, per-ticket exit lock).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Threads(Threads.MAX)
+public class ParkingThroughputBenchmark {
+
+  private static final VehicleType[] TYPES = VehicleType.values();
+
+  @Param({"global", "lock-free"})
+  public String locking;
+
+  @Param({"100000"})
+  public int spots;
+
+  ParkingService service;
+  final Object globalLock = new Object();
+
+  @Setup
+  public void setUp() {
+    service = new ParkingService(new InMemoryParkingRepository(Map.of(
+        SpotType.CAR_SPOT, spots / 2, SpotType.BIKE_SPOT, spots / 4,
+        SpotType.LARGE_V_SPOT, spots / 4)));
+  }
+
+  @State(Scope.Thread)
+  public static class Gate {
+
+    private static int gates;
+    Vehicle[] vehicles;
+    int next;
+
+    @Setup
+    public void setUp() {
+      int gate;
+      synchronized (Gate.class) {
+        gate = gates++;
+      }
+      vehicles = new Vehicle[TYPES.length];
+      for (int i = 0; i < TYPES.length; i++) {
+        vehicles[i] = new Vehicle("GATE-" + gate + "-" + i, TYPES[i]);
+      }
+    }
+
+    Vehicle nextVehicle() {
+      return vehicles[next++ % vehicles.length];
+    }
+  }
+
+  @Benchmark
+  public ParkingTicket entryAndExit(Gate gate) {
+    Vehicle vehicle = gate.nextVehicle();
+    if (locking.equals("global")) {
+      ParkingTicket ticket;
+      synchronized (globalLock) {
+        ticket = service.entry(vehicle);
+      }
+      synchronized (globalLock) {
+        return service.exit(ticket.getTicketId());
+      }
+    }
+    return service.exit(service.entry(vehicle).getTicketId());
+  }
+}
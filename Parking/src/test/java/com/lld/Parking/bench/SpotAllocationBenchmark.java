@@ -0,0 +1,76 @@
+package com.lld.Parking.bench;
+
+import com.lld.Parking.entity.ParkingSpot;
+import com.lld.Parking.entity.SpotType;
+import com.lld.Parking.entity.Vehicle;
+import com.lld.Parking.entity.VehicleType;
+import com.lld.Parking.repo.InMemoryParkingRepository;
+import com.lld.Parking.repo.ParkingRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Park-and-leave on a 100k-spot garage: claim a free car spot, release it. A random
+// 'occupancy' share of the car spots is taken up front, so the free spots are scattered.
+// "linear" is the original stream-over-every-spot lookup; "indexed" is the free-spot bitmap.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpotAllocationBenchmark {
+
+  @Param({"linear", "indexed"})
+  public String repository;
+
+  @Param({"100000"})
+  public int spots;
+
+  @Param({"0.0", "0.9", "0.999"})
+  public double occupancy;
+
+  ParkingRepository repo;
+  final Vehicle car = new Vehicle("KA-01-1234", VehicleType.CAR);
+
+  @Setup
+  public void setUp() {
+    // Car spots dominate, as in a real garage; the rest split between bikes and large vehicles
+    Map<SpotType, Integer> layout = Map.of(SpotType.CAR_SPOT, spots * 8 / 10,
+        SpotType.BIKE_SPOT, spots / 10, SpotType.LARGE_V_SPOT, spots / 10);
+    repo = repository.equals("linear") ? new LinearScanParkingRepository(layout)
+        : new InMemoryParkingRepository(layout);
+    // Fill the garage, then free a random (1 - occupancy) share again
+    SplittableRandom random = new SplittableRandom(42);
+    List<ParkingSpot> parked = new ArrayList<>();
+    ParkingSpot spot;
+    while ((spot = repo.claimSpot(car)) != null) {
+      parked.add(spot);
+    }
+    for (ParkingSpot s : parked) {
+      if (random.nextDouble() >= occupancy) {
+        repo.releaseSpot(s);
+      }
+    }
+  }
+
+  @Benchmark
+  public ParkingSpot parkAndLeave() {
+    ParkingSpot spot = repo.claimSpot(car);
+    repo.releaseSpot(spot);
+    return spot;
+  }
+}
@@ -0,0 +1,129 @@
+package com.lld.Parking.repo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.lld.Parking.entity.ParkingSpot;
+import com.lld.Parking.entity.SpotType;
+import com.lld.Parking.entity.Vehicle;
+import com.lld.Parking.entity.VehicleType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+// Nearest-spot allocation over a multi-level, multi-gate garage
+class InMemoryParkingRepositoryTest {
+
+  private static final Vehicle CAR = new Vehicle("KA-01-1234", VehicleType.CAR);
+
+  @Test
+  void entriesGetTheSpotNearestTheirGate() {
+    // Two levels of two rows, 9 car spots per row; WEST at the start of L1-R1, MID in the
+    // middle of L2-R2
+    ParkingTopology topology = new ParkingTopology(2, 2, Map.of(SpotType.CAR_SPOT, 9),
+        List.of(new ParkingTopology.Gate("WEST", 0, 0, 0),
+            new ParkingTopology.Gate("MID", 1, 1, 4)), 100, 10, 1);
+    InMemoryParkingRepository repository = new InMemoryParkingRepository(topology);
+
+    assertEquals("L1-R1-C-1", repository.claimSpot(CAR, "WEST").getId());
+    assertEquals("L1-R1-C-2", repository.claimSpot(CAR).getId()); // First gate by default
+    // Outward from position 4, ties going to the lower position
+    for (String expected : List.of("L2-R2-C-5", "L2-R2-C-4", "L2-R2-C-6", "L2-R2-C-3")) {
+      assertEquals(expected, repository.claimSpot(CAR, "MID").getId());
+    }
+
+    // A released spot is the nearest again, at every gate
+    repository.releaseSpot(repository.findSpotById("L2-R2-C-5"));
+    assertEquals("L2-R2-C-5", repository.claimSpot(CAR, "MID").getId());
+    repository.releaseSpot(repository.findSpotById("L2-R2-C-5"));
+    repository.releaseSpot(repository.findSpotById("L1-R1-C-1"));
+    assertEquals("L1-R1-C-1", repository.claimSpot(CAR, "WEST").getId());
+    assertEquals("L2-R2-C-5", repository.claimSpot(CAR, "MID").getId());
+
+    assertThrows(IllegalArgumentException.class, () -> repository.claimSpot(CAR, "EAST"));
+  }
+
+  @Test
+  void claimsWalkOutwardInDistanceOrder() {
+    ParkingTopology topology = new ParkingTopology(3, 4, Map.of(SpotType.CAR_SPOT, 20),
+        List.of(new ParkingTopology.Gate("G", 1, 2, 7)), 100, 10, 1);
+    InMemoryParkingRepository repository = new InMemoryParkingRepository(topology);
+    ParkingTopology.Gate gate = topology.gates().get(0);
+
+    int previous = -1;
+    ParkingSpot spot;
+    while ((spot = repository.claimSpot(CAR, "G")) != null) {
+      int distance = topology.distance(gate, SpotType.CAR_SPOT, slotOf(topology, spot.getId()));
+      assertTrue(distance >= previous, spot.getId() + " is nearer than a spot claimed before it");
+      previous = distance;
+    }
+    assertEquals(0, repository.availableSpots(SpotType.CAR_SPOT));
+  }
+
+  @Test
+  void concurrentEntriesAtEveryGateShareNoSpot() throws Exception {
+    // 5 levels x 20 rows x 500 car spots = 50,000, four gates, 16 threads
+    List<ParkingTopology.Gate> gates = List.of(new ParkingTopology.Gate("A", 0, 0, 0),
+        new ParkingTopology.Gate("B", 0, 19, 499), new ParkingTopology.Gate("C", 2, 10, 250),
+        new ParkingTopology.Gate("D", 4, 0, 499));
+    InMemoryParkingRepository repository = new InMemoryParkingRepository(new ParkingTopology(
+        5, 20, Map.of(SpotType.CAR_SPOT, 500), gates, 100, 10, 1));
+    Set<String> taken = ConcurrentHashMap.newKeySet();
+
+    ExecutorService threads = Executors.newFixedThreadPool(16);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      CountDownLatch churned = new CountDownLatch(16);
+      List<Future<Void>> results = new ArrayList<>();
+      for (int i = 0; i < 16; i++) {
+        String gate = gates.get(i % gates.size()).id();
+        Callable<Void> task = () -> {
+          start.await();
+          // Churn first, so hints go stale across gates, then fill the garage
+          for (int round = 0; round < 2000; round++) {
+            ParkingSpot spot = repository.claimSpot(CAR, gate);
+            repository.releaseSpot(spot);
+          }
+          churned.countDown();
+          churned.await();
+          ParkingSpot spot;
+          while ((spot = repository.claimSpot(CAR, gate)) != null) {
+            assertTrue(taken.add(spot.getId()), "Spot " + spot.getId() + " handed out twice");
+          }
+          return null;
+        };
+        results.add(threads.submit(task));
+      }
+      start.countDown();
+      for (Future<Void> result : results) {
+        result.get();
+      }
+    } finally {
+      threads.shutdownNow();
+    }
+
+    assertEquals(50_000, taken.size());
+    assertEquals(0, repository.availableSpots(SpotType.CAR_SPOT));
+    assertNull(repository.claimSpot(CAR, "C"));
+  }
+
+  // Inverse of ParkingTopology.spotId for the car-only layouts above
+  private static int slotOf(ParkingTopology topology, String spotId) {
+    for (int slot = 0; slot < topology.spots(SpotType.CAR_SPOT); slot++) {
+      if (topology.spotId(SpotType.CAR_SPOT, slot).equals(spotId)) {
+        return slot;
+      }
+    }
+    throw new AssertionError("Unknown spot " + spotId);
+  }
+}
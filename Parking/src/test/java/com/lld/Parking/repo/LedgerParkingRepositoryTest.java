@@ -0,0 +1,230 @@
+package com.lld.Parking.repo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import com.lld.Parking.entity.ParkingTicket;
+import com.lld.Parking.entity.SpotType;
+import com.lld.Parking.entity.Vehicle;
+import com.lld.Parking.entity.VehicleType;
+import com.lld.Parking.service.ParkingService;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// Tickets kept in the event-sourced ledger: what a restart brings back, after a clean shutdown
+// or a crash, and what stays in memory and on disk as history grows
+class LedgerParkingRepositoryTest {
+
+  private static final int SEGMENT_BYTES = 1 << 20;
+
+  @TempDir
+  Path dir;
+
+  private TicketLedger ledger; // Of the repository last opened
+
+  @Test
+  void parkedVehiclesKeepTheirSpotsAcrossARestart() throws IOException {
+    LedgerParkingRepository repository = open();
+    ParkingService service = new ParkingService(repository);
+    ParkingTicket first = service.entry(new Vehicle("KA-01", VehicleType.CAR));
+    ParkingTicket second = service.entry(new Vehicle("KA-02", VehicleType.CAR));
+    ParkingTicket bike = service.entry(new Vehicle("KA-03", VehicleType.BIKE));
+    service.exit(second.getTicketId());
+    repository.close();
+
+    repository = open();
+    service = new ParkingService(repository);
+    assertEquals(0, ledger.recoveredEvents()); // Clean shutdown: everything is in the snapshot
+    assertEquals("L1-R1-C-1", repository.findTicketById(first.getTicketId()).getSpotId());
+    assertEquals("KA-03", repository.findTicketById(bike.getTicketId()).getLicensePlate());
+    assertNull(repository.findTicketById(second.getTicketId())); // Paid: archived only
+    assertTrue(repository.findSpotById("L1-R1-C-1").isOccupied());
+    assertEquals(4, repository.availableSpots(SpotType.CAR_SPOT));
+    assertEquals(4, repository.availableSpots(SpotType.BIKE_SPOT));
+    // The freed spot is the nearest again; the recovered one is not handed out twice
+    assertEquals("L1-R1-C-2", service.entry(new Vehicle("KA-04", VehicleType.CAR)).getSpotId());
+
+    List<ParkingTicket> archived = archived();
+    assertEquals(1, archived.size());
+    assertEquals(second.getTicketId(), archived.get(0).getTicketId());
+    assertEquals(10.0, archived.get(0).getFee());
+    assertTrue(archived.get(0).isPaid());
+    repository.close();
+  }
+
+  @Test
+  void aCrashReplaysTheLogAndCutsOffATornTail() throws IOException {
+    LedgerParkingRepository repository = open();
+    ParkingService service = new ParkingService(repository);
+    ParkingTicket parked = service.entry(new Vehicle("KA-01", VehicleType.CAR));
+    ParkingTicket left = service.entry(new Vehicle("KA-02", VehicleType.CAR));
+    ledger.snapshot();
+    service.exit(left.getTicketId()); // Paid after the snapshot: archived only after recovery
+    ParkingTicket late = service.entry(new Vehicle("KA-03", VehicleType.CAR));
+    // Crash: no close, and half a record at the end of the log
+    Path log = dir.resolve("ledger-00000.log");
+    Files.write(log, new byte[] {0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+    long intact = Files.size(log) - 7;
+
+    repository = open();
+    service = new ParkingService(repository);
+    assertEquals(3, ledger.recoveredEvents()); // Exit, payment and entry after the snapshot
+    assertEquals(intact, Files.size(log));
+    assertNotNull(repository.findTicketById(parked.getTicketId()));
+    assertNotNull(repository.findTicketById(late.getTicketId()));
+    assertNull(repository.findTicketById(left.getTicketId()));
+    assertEquals(3, repository.availableSpots(SpotType.CAR_SPOT));
+
+    // Appends continue where the intact log ends, and the payment is archived exactly once
+    service.exit(parked.getTicketId());
+    repository.close();
+    repository = open();
+    assertEquals(4, repository.availableSpots(SpotType.CAR_SPOT));
+    assertEquals(List.of(left.getTicketId(), parked.getTicketId()),
+        archived().stream().map(ParkingTicket::getTicketId).toList());
+    repository.close();
+  }
+
+  @Test
+  void anExitRecordedBeforeACrashIsOnlyPaidAfterIt() throws IOException {
+    LedgerParkingRepository repository = open();
+    ParkingService service = new ParkingService(repository);
+    ParkingTicket ticket = service.entry(new Vehicle("KA-01", VehicleType.CAR));
+    // The crash hits between exit and payment
+    repository.recordExit(ticket, LocalDateTime.now(), 30.0);
+    repository.releaseSpot(repository.findSpotById(ticket.getSpotId()));
+
+    repository = open();
+    service = new ParkingService(repository);
+    ParkingTicket recovered = repository.findTicketById(ticket.getTicketId());
+    assertNotNull(recovered.getExitTime());
+    assertEquals(5, repository.availableSpots(SpotType.CAR_SPOT)); // Not taken back
+    ParkingTicket receipt = service.exit(ticket.getTicketId());
+    assertEquals(30.0, receipt.getFee()); // The fee owed at exit, not a new one
+    assertTrue(receipt.isPaid());
+    assertEquals(5, repository.availableSpots(SpotType.CAR_SPOT)); // Not released twice
+    repository.close();
+  }
+
+  @Test
+  void historyIsArchivedWhileMemoryAndLogStayBounded() throws IOException {
+    LedgerParkingRepository repository = open();
+    ParkingService service = new ParkingService(repository);
+    int stays = 30_000; // About 6 MB of events: several log segments
+    for (int i = 0; i < stays; i++) {
+      ParkingTicket ticket = service.entry(new Vehicle("KA-" + i, VehicleType.CAR));
+      service.exit(ticket.getTicketId());
+      if (i % 10_000 == 9_999) {
+        ledger.snapshot();
+      }
+    }
+    assertTrue(ledger.activeTickets().isEmpty());
+    repository.close();
+
+    // Only the segment the last snapshot points into is left
+    try (Stream<Path> files = Files.list(dir)) {
+      assertEquals(1, files.filter(p -> p.getFileName().toString().startsWith("ledger-")).count());
+    }
+    repository = open();
+    assertEquals(0, ledger.recoveredEvents());
+    assertEquals(stays, archived().size());
+    repository.close();
+  }
+
+  @Test
+  void aTicketWithoutAPlateSurvivesARestart() throws IOException {
+    LedgerParkingRepository repository = open();
+    ParkingService service = new ParkingService(repository);
+    ParkingTicket replayed = service.entry(new Vehicle(null, VehicleType.CAR));
+    ledger.snapshot();
+    ParkingTicket paid = service.entry(new Vehicle(null, VehicleType.CAR));
+    service.exit(paid.getTicketId());
+    ParkingTicket fromLog = service.entry(new Vehicle(null, VehicleType.BIKE));
+    // Crash: the first ticket comes back from the snapshot, the others from the log
+
+    repository = open();
+    assertNull(repository.findTicketById(replayed.getTicketId()).getLicensePlate());
+    assertEquals(fromLog.getSpotId(),
+        repository.findTicketById(fromLog.getTicketId()).getSpotId());
+    repository.close(); // Archives the paid one
+
+    repository = open();
+    List<ParkingTicket> archived = archived();
+    assertEquals(paid.getTicketId(), archived.get(0).getTicketId());
+    assertNull(archived.get(0).getLicensePlate());
+    repository.close();
+  }
+
+  @Test
+  void aFailedScheduledSnapshotIsRetried() throws IOException, InterruptedException {
+    // A directory where the snapshot's temp file goes makes every snapshot fail
+    Path blocker = Files.createDirectories(dir.resolve("snapshot.bin.tmp"));
+    LedgerParkingRepository repository = open(Duration.ofMillis(10));
+    new ParkingService(repository).entry(new Vehicle("KA-01", VehicleType.CAR));
+    Thread.sleep(100);
+    assertFalse(Files.exists(dir.resolve("snapshot.bin")));
+
+    Files.delete(blocker);
+    long deadline = System.nanoTime() + 10_000_000_000L;
+    while (!Files.exists(dir.resolve("snapshot.bin"))) {
+      if (System.nanoTime() > deadline) {
+        fail("The snapshot task stopped after its first failure");
+      }
+      Thread.sleep(10);
+    }
+    repository.close();
+  }
+
+  @Test
+  void aFailedFinalSnapshotStillClosesTheFiles() throws IOException {
+    LedgerParkingRepository repository = open();
+    ParkingService service = new ParkingService(repository);
+    ParkingTicket ticket = service.entry(new Vehicle("KA-01", VehicleType.CAR));
+    Path blocker = Files.createDirectories(dir.resolve("snapshot.bin.tmp"));
+    assertThrows(UncheckedIOException.class, repository::close);
+
+    // The log is closed: an entry now fails, and the spot it claimed is free again
+    assertThrows(UncheckedIOException.class,
+        () -> service.entry(new Vehicle("KA-02", VehicleType.CAR)));
+    assertEquals(4, repository.availableSpots(SpotType.CAR_SPOT));
+
+    Files.delete(blocker);
+    repository = open();
+    assertEquals(1, ledger.recoveredEvents()); // No snapshot: the entry is replayed
+    assertNotNull(repository.findTicketById(ticket.getTicketId()));
+    repository.close();
+  }
+
+  // Long intervals: the tests snapshot and close explicitly
+  private LedgerParkingRepository open() throws IOException {
+    return open(Duration.ofHours(1));
+  }
+
+  private LedgerParkingRepository open(Duration interval) throws IOException {
+    ledger = new TicketLedger(dir, SEGMENT_BYTES, interval, interval);
+    return new LedgerParkingRepository(new InMemoryParkingRepository(
+        Map.of(SpotType.BIKE_SPOT, 5, SpotType.CAR_SPOT, 5)), ledger);
+  }
+
+  private List<ParkingTicket> archived() throws IOException {
+    List<ParkingTicket> archived = new ArrayList<>();
+    ledger.forEachArchived(archived::add);
+    return archived;
+  }
+}
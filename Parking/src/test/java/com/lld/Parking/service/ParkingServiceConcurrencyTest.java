@@ -0,0 +1,153 @@
+package com.lld.Parking.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.lld.Parking.entity.ParkingSpot;
+import com.lld.Parking.entity.ParkingTicket;
+import com.lld.Parking.entity.SpotType;
+import com.lld.Parking.entity.Vehicle;
+import com.lld.Parking.entity.VehicleType;
+import com.lld.Parking.repo.InMemoryParkingRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+// Many gates hitting the service at once: no spot is ever handed to two vehicles, a full lot
+// turns away exactly the surplus, and a ticket can only be exited once
+class ParkingServiceConcurrencyTest {
+
+  private static final int GATES = 16;
+
+  private final ExecutorService gates = Executors.newFixedThreadPool(GATES);
+
+  @AfterEach
+  void shutDown() {
+    gates.shutdownNow();
+  }
+
+  @Test
+  void concurrentEntriesFillEverySpotExactlyOnce() throws Exception {
+    InMemoryParkingRepository repository = new InMemoryParkingRepository(
+        Map.of(SpotType.CAR_SPOT, 1000, SpotType.BIKE_SPOT, 500));
+    ParkingService service = new ParkingService(repository);
+    Set<String> spots = ConcurrentHashMap.newKeySet();
+    AtomicInteger full = new AtomicInteger();
+
+    runOnAllGates(gate -> {
+      for (int i = 0; i < 200; i++) {
+        VehicleType type = i % 2 == 0 ? VehicleType.CAR : VehicleType.BIKE;
+        try {
+          ParkingTicket ticket = service.entry(new Vehicle(gate + "-" + i, type));
+          assertTrue(spots.add(ticket.getSpotId()), "Spot handed out twice");
+        } catch (RuntimeException e) {
+          full.incrementAndGet(); // Parking Full
+        }
+      }
+      return null;
+    });
+
+    // 16 gates x 100 cars and 100 bikes against 1000 car and 500 bike spots
+    assertEquals(1500, spots.size());
+    assertEquals(GATES * 200 - 1500, full.get());
+    assertTrue(repository.getAllSpots().stream().allMatch(ParkingSpot::isOccupied));
+    assertEquals(0, repository.availableSpots(SpotType.CAR_SPOT));
+    assertEquals(0, repository.availableSpots(SpotType.BIKE_SPOT));
+  }
+
+  @Test
+  void entriesAndExitsNeverShareASpot() throws Exception {
+    InMemoryParkingRepository repository = new InMemoryParkingRepository(
+        Map.of(SpotType.CAR_SPOT, 64));
+    ParkingService service = new ParkingService(repository);
+    Map<String, String> holders = new ConcurrentHashMap<>();
+
+    runOnAllGates(gate -> {
+      List<ParkingTicket> parked = new ArrayList<>();
+      for (int i = 0; i < 5000; i++) {
+        if (parked.size() < 3) {
+          try {
+            ParkingTicket ticket = service.entry(new Vehicle(gate + "-" + i, VehicleType.CAR));
+            assertNull(holders.putIfAbsent(ticket.getSpotId(), ticket.getLicensePlate()),
+                "Spot " + ticket.getSpotId() + " given to two vehicles");
+            parked.add(ticket);
+            continue;
+          } catch (RuntimeException e) {
+            // Lot momentarily full: leave instead
+          }
+        }
+        if (!parked.isEmpty()) {
+          ParkingTicket ticket = parked.remove(parked.size() - 1);
+          holders.remove(ticket.getSpotId()); // Before the spot can be claimed again
+          service.exit(ticket.getTicketId());
+        }
+      }
+      for (ParkingTicket ticket : parked) {
+        holders.remove(ticket.getSpotId());
+        service.exit(ticket.getTicketId());
+      }
+      return null;
+    });
+
+    assertTrue(repository.getAllSpots().stream().noneMatch(ParkingSpot::isOccupied));
+    assertEquals(64, repository.availableSpots(SpotType.CAR_SPOT));
+  }
+
+  @Test
+  void aTicketExitsOnlyOnce() throws Exception {
+    InMemoryParkingRepository repository = new InMemoryParkingRepository(
+        Map.of(SpotType.CAR_SPOT, 10));
+    ParkingService service = new ParkingService(repository);
+
+    for (int round = 0; round < 100; round++) {
+      ParkingTicket ticket = service.entry(new Vehicle("KA-" + round, VehicleType.CAR));
+      AtomicInteger exits = new AtomicInteger();
+      runOnAllGates(gate -> {
+        try {
+          service.exit(ticket.getTicketId());
+          exits.incrementAndGet();
+        } catch (RuntimeException e) {
+          // Already paid
+        }
+        return null;
+      });
+      assertEquals(1, exits.get());
+    }
+    assertTrue(repository.getAllSpots().stream().noneMatch(ParkingSpot::isOccupied));
+    assertEquals(10, repository.availableSpots(SpotType.CAR_SPOT));
+  }
+
+  // Runs the body once per gate, all released together, and rethrows the first failure
+  private void runOnAllGates(GateBody body) throws Exception {
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<Void>> results = new ArrayList<>();
+    for (int g = 0; g < GATES; g++) {
+      int gate = g;
+      Callable<Void> task = () -> {
+        start.await();
+        return body.run(gate);
+      };
+      results.add(gates.submit(task));
+    }
+    start.countDown();
+    for (Future<Void> result : results) {
+      result.get();
+    }
+  }
+
+  @FunctionalInterface
+  private interface GateBody {
+    Void run(int gate) throws Exception;
+  }
+}
@@ -0,0 +1,74 @@
+package org.LLD.JobScheduler;
+
+import java.time.Duration;
+
+// Bounds and thresholds for an elastic worker pool.
+// Hysteresis comes from three places: scale-up needs several consecutive breaching
+// evaluations, scale-down needs the wait to stay below half the target for a whole idle
+// period, and no change is made within the cooldown of the previous one.
+public class AutoScalingPolicy {
+
+  private final int minWorkers;
+  private final int maxWorkers;
+  private final Duration targetWaitP95;     // Queue wait the pool tries to stay under
+  private final Duration evaluationInterval;
+  private final int breachesBeforeScaleUp;  // Consecutive evaluations over target
+  private final Duration idlePeriod;        // Quiet time before a worker is removed
+  private final Duration cooldown;          // Minimum time between two resizes
+  private final int step;                   // Workers added/removed per decision
+
+  public AutoScalingPolicy(int minWorkers, int maxWorkers, Duration targetWaitP95,
+      Duration evaluationInterval, int breachesBeforeScaleUp, Duration idlePeriod,
+      Duration cooldown, int step) {
+    if (minWorkers < 1 || maxWorkers < minWorkers || breachesBeforeScaleUp < 1 || step < 1
+        || evaluationInterval.isZero() || evaluationInterval.isNegative()) {
+      throw new IllegalArgumentException("Invalid auto-scaling policy");
+    }
+    this.minWorkers = minWorkers;
+    this.maxWorkers = maxWorkers;
+    this.targetWaitP95 = targetWaitP95;
+    this.evaluationInterval = evaluationInterval;
+    this.breachesBeforeScaleUp = breachesBeforeScaleUp;
+    this.idlePeriod = idlePeriod;
+    this.cooldown = cooldown;
+    this.step = step;
+  }
+
+  // Evaluate every second, scale up after 3 breaches, shrink after 30s idle, 5s cooldown
+  public static AutoScalingPolicy of(int minWorkers, int maxWorkers, Duration targetWaitP95) {
+    return new AutoScalingPolicy(minWorkers, maxWorkers, targetWaitP95, Duration.ofSeconds(1), 3,
+        Duration.ofSeconds(30), Duration.ofSeconds(5), 1);
+  }
+
+  public int getMinWorkers() {
+    return minWorkers;
+  }
+
+  public int getMaxWorkers() {
+    return maxWorkers;
+  }
+
+  public Duration getTargetWaitP95() {
+    return targetWaitP95;
+  }
+
+  public Duration getEvaluationInterval() {
+    return evaluationInterval;
+  }
+
+  public int getBreachesBeforeScaleUp() {
+    return breachesBeforeScaleUp;
+  }
+
+  public Duration getIdlePeriod() {
+    return idlePeriod;
+  }
+
+  public Duration getCooldown() {
+    return cooldown;
+  }
+
+  public int getStep() {
+    return step;
+  }
+}
@@ -0,0 +1,45 @@
+package org.LLD.JobScheduler;
+
+import java.time.Instant;
+
+// A job that exhausted its retry policy, kept for inspection or manual re-submission
+public class DeadLetter {
+
+  private final Job job;
+  private final int attempts;
+  private final Throwable lastError;
+  private final Instant failedAt;
+
+  public DeadLetter(Job job, int attempts, Throwable lastError, Instant failedAt) {
+    this.job = job;
+    this.attempts = attempts;
+    this.lastError = lastError;
+    this.failedAt = failedAt;
+  }
+
+  public Job getJob() {
+    return job;
+  }
+
+  public String getJobId() {
+    return job.getJobId();
+  }
+
+  public int getAttempts() {
+    return attempts;
+  }
+
+  public Throwable getLastError() {
+    return lastError;
+  }
+
+  public Instant getFailedAt() {
+    return failedAt;
+  }
+
+  @Override
+  public String toString() {
+    return job.getJobId() + "[tenant=" + job.getTenantId() + ", attempts=" + attempts
+        + ", error=" + lastError + ", failedAt=" + failedAt + "]";
+  }
+}
@@ -0,0 +1,53 @@
+package org.LLD.JobScheduler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+// Bounded FIFO of dead letters: once full, the oldest entry is dropped
+public class DeadLetterStore {
+
+  private final int capacity;
+  private final Deque<DeadLetter> letters = new ArrayDeque<>();
+  private long dropped;
+
+  public DeadLetterStore(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("capacity must be positive");
+    }
+    this.capacity = capacity;
+  }
+
+  public synchronized void add(DeadLetter letter) {
+    if (letters.size() == capacity) {
+      letters.pollFirst();
+      dropped++;
+    }
+    letters.addLast(letter);
+  }
+
+  // Removes and returns the entry so the job can be re-submitted
+  public synchronized DeadLetter remove(String jobId) {
+    for (DeadLetter letter : letters) {
+      if (letter.getJobId().equals(jobId)) {
+        letters.remove(letter);
+        return letter;
+      }
+    }
+    return null;
+  }
+
+  public synchronized List<DeadLetter> snapshot() {
+    return new ArrayList<>(letters);
+  }
+
+  public synchronized int size() {
+    return letters.size();
+  }
+
+  // Entries evicted because the store was full
+  public synchronized long getDropped() {
+    return dropped;
+  }
+}
@@ -0,0 +1,41 @@
+package org.LLD.JobScheduler;
+
+// Demo job that throws on its first N runs and succeeds afterwards
+public class FlakyJob implements Job {
+
+  private final String id;
+  private final int failuresBeforeSuccess;
+  private final RetryPolicy retryPolicy;
+  private int runs; // Only ever run by one worker at a time
+
+  public FlakyJob(String id, int failuresBeforeSuccess, RetryPolicy retryPolicy) {
+    this.id = id;
+    this.failuresBeforeSuccess = failuresBeforeSuccess;
+    this.retryPolicy = retryPolicy;
+  }
+
+  @Override
+  public String getJobId() {
+    return id;
+  }
+
+  @Override
+  public int getPriority() {
+    return 0;
+  }
+
+  @Override
+  public RetryPolicy getRetryPolicy() {
+    return retryPolicy;
+  }
+
+  @Override
+  public void run() {
+    runs++;
+    if (runs <= failuresBeforeSuccess) {
+      System.out.println("  -> FAILING " + id + " (run " + runs + ")");
+      throw new IllegalStateException(id + " failed on run " + runs);
+    }
+    System.out.println("  -> COMPLETED " + id + " (run " + runs + ")");
+  }
+}
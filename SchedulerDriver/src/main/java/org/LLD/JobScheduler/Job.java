@@ -2,8 +2,26 @@ package org.LLD.JobScheduler;
 
 public interface Job extends Runnable {
 
+  String DEFAULT_TENANT = "default";
+
   String getJobId();
 
   int getPriority(); //OPTIONAL
 
+  // Fair-share bucket this job is queued and metered under
+  default String getTenantId() {
+    return DEFAULT_TENANT;
+  }
+
+  // How often and how fast a failing run is retried before it is dead-lettered
+  default RetryPolicy getRetryPolicy() {
+    return RetryPolicy.NONE;
+  }
+
+  // Heap held by this job's own payload and results, beyond a small job object. Counted
+  // against RetentionPolicy's memory budget while the finished job is retained.
+  default long getRetainedSizeBytes() {
+    return 0;
+  }
+
 }
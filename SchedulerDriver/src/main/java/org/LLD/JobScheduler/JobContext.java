@@ -0,0 +1,34 @@
+package org.LLD.JobScheduler;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+
+// Internal wrapper to hold job details and execution handle.
+// Mutable fields are guarded by the scheduler lock; status is volatile for lock-free reads.
+class JobContext {
+
+  final Job job;
+  final TenantQueue tenant;
+  volatile JobStatus status;
+  Future<?> future; // The handle to the running/queued task
+
+  final long submittedAtNanos;
+  long enqueuedAtNanos; // Last time the job entered a tenant queue (submit, resume or retry)
+  long startedAtNanos;  // First attempt, 0 if never started
+  long finishedAtNanos; // Set when the job reaches a terminal status
+  long retainedBytes;   // Estimated heap held while finished, counted against the memory budget
+  boolean inQueue;     // Still referenced from tenant.pending (removal is lazy)
+  long activeDispatch; // Token of the executor task that owns a worker slot, 0 if none
+
+  int attempts;                   // Runs started so far, including the current one
+  Throwable lastError;
+  ScheduledFuture<?> retryTimer;  // Pending backoff before the next attempt is re-queued
+  long retryToken;                // Identifies the live retryTimer, 0 if none
+
+  JobContext(Job job, TenantQueue tenant) {
+    this.job = job;
+    this.tenant = tenant;
+    this.status = JobStatus.QUEUED;
+    this.submittedAtNanos = System.nanoTime();
+  }
+}
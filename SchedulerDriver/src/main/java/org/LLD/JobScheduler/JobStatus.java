@@ -1,5 +1,5 @@
 package org.LLD.JobScheduler;
 
 public enum JobStatus {
-  QUEUED, RUNNING, SUSPENDED, COMPLETED, CANCELLED
+  QUEUED, RUNNING, SUSPENDED, COMPLETED, CANCELLED, FAILED
 }
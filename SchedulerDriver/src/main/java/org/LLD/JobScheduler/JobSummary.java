@@ -0,0 +1,41 @@
+package org.LLD.JobScheduler;
+
+import java.time.Instant;
+
+// What is left of a job after it has been evicted from the job store
+public class JobSummary {
+
+  private final JobStatus status;
+  private final Instant submittedAt;
+  private final Instant startedAt; // null if it never ran
+  private final Instant finishedAt;
+
+  public JobSummary(JobStatus status, Instant submittedAt, Instant startedAt, Instant finishedAt) {
+    this.status = status;
+    this.submittedAt = submittedAt;
+    this.startedAt = startedAt;
+    this.finishedAt = finishedAt;
+  }
+
+  public JobStatus getStatus() {
+    return status;
+  }
+
+  public Instant getSubmittedAt() {
+    return submittedAt;
+  }
+
+  public Instant getStartedAt() {
+    return startedAt;
+  }
+
+  public Instant getFinishedAt() {
+    return finishedAt;
+  }
+
+  @Override
+  public String toString() {
+    return status + "[submitted=" + submittedAt + ", started=" + startedAt
+        + ", finished=" + finishedAt + "]";
+  }
+}
@@ -0,0 +1,141 @@
+package org.LLD.JobScheduler;
+
+import java.time.Instant;
+
+// Fixed-size ring of evicted-job summaries in parallel primitive arrays (~41 bytes per entry
+// including the index, versus several hundred for a live JobContext). Jobs are keyed by a
+// 64-bit hash of their id; a collision between two ids is possible but vanishingly rare.
+// Not thread-safe: guarded by the scheduler lock.
+class JobSummaryStore {
+
+  private static final int EMPTY = 0;
+  private static final JobStatus[] STATUSES = JobStatus.values();
+
+  private final int capacity;
+  private final long[] idHashes;
+  private final byte[] statuses;
+  private final long[] submittedAt; // Epoch millis
+  private final long[] startedAt;   // Epoch millis, -1 if never started
+  private final long[] finishedAt;  // Epoch millis
+  private int next;                 // Ring slot overwritten by the next put
+  private int size;
+
+  // Open-addressing (linear probing) index from id hash to slot + 1
+  private final int[] index;
+  private final int mask;
+
+  JobSummaryStore(int capacity) {
+    this.capacity = capacity;
+    this.idHashes = new long[capacity];
+    this.statuses = new byte[capacity];
+    this.submittedAt = new long[capacity];
+    this.startedAt = new long[capacity];
+    this.finishedAt = new long[capacity];
+    int tableSize = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) << 1; // >= 2x, power of 2
+    this.index = new int[tableSize];
+    this.mask = tableSize - 1;
+  }
+
+  static long hash(String jobId) {
+    // FNV-1a 64 over UTF-16 code units, then a murmur3 finalizer for better low bits
+    long h = 0xcbf29ce484222325L;
+    for (int i = 0; i < jobId.length(); i++) {
+      h ^= jobId.charAt(i);
+      h *= 0x100000001b3L;
+    }
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  void put(String jobId, JobStatus status, long submitted, long started, long finished) {
+    if (capacity == 0) {
+      return;
+    }
+    long h = hash(jobId);
+    int existing = find(h);
+    if (existing >= 0) {
+      removeFromIndex(existing); // Re-submitted id: newest outcome wins
+    }
+
+    int slot = next;
+    if (size == capacity) {
+      removeFromIndex(slot); // Overwriting the oldest summary
+    } else {
+      size++;
+    }
+    next = (slot + 1) % capacity;
+
+    idHashes[slot] = h;
+    statuses[slot] = (byte) status.ordinal();
+    submittedAt[slot] = submitted;
+    startedAt[slot] = started;
+    finishedAt[slot] = finished;
+
+    int i = (int) h & mask;
+    while (index[i] != EMPTY) {
+      i = (i + 1) & mask;
+    }
+    index[i] = slot + 1;
+  }
+
+  JobSummary get(String jobId) {
+    int slot = find(hash(jobId));
+    if (slot < 0) {
+      return null;
+    }
+    return new JobSummary(STATUSES[statuses[slot]], Instant.ofEpochMilli(submittedAt[slot]),
+        startedAt[slot] < 0 ? null : Instant.ofEpochMilli(startedAt[slot]),
+        Instant.ofEpochMilli(finishedAt[slot]));
+  }
+
+  JobStatus getStatus(String jobId) {
+    int slot = find(hash(jobId));
+    return slot < 0 ? null : STATUSES[statuses[slot]];
+  }
+
+  int size() {
+    return size;
+  }
+
+  private int find(long h) {
+    if (capacity == 0) {
+      return -1;
+    }
+    int i = (int) h & mask;
+    while (index[i] != EMPTY) {
+      int slot = index[i] - 1;
+      if (idHashes[slot] == h) {
+        return slot;
+      }
+      i = (i + 1) & mask;
+    }
+    return -1;
+  }
+
+  // Backward-shift deletion keeps probe chains intact without tombstones
+  private void removeFromIndex(int slot) {
+    int i = (int) idHashes[slot] & mask;
+    while (index[i] != slot + 1) {
+      if (index[i] == EMPTY) {
+        return; // Already unindexed
+      }
+      i = (i + 1) & mask;
+    }
+    index[i] = EMPTY;
+
+    int j = (i + 1) & mask;
+    while (index[j] != EMPTY) {
+      int home = (int) idHashes[index[j] - 1] & mask;
+      // Move entry j into the hole if its home is not in the cyclic range (i, j]
+      boolean inRange = i <= j ? (home > i && home <= j) : (home > i || home <= j);
+      if (!inRange) {
+        index[i] = index[j];
+        index[j] = EMPTY;
+        i = j;
+      }
+      j = (j + 1) & mask;
+    }
+  }
+}
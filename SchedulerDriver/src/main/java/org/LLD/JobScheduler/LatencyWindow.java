@@ -0,0 +1,33 @@
+package org.LLD.JobScheduler;
+
+import java.util.Arrays;
+
+// Keeps the most recent queue-wait samples since the last drain. Not thread-safe:
+// guarded by the scheduler lock.
+class LatencyWindow {
+
+  private final long[] samples;
+  private int count; // Samples recorded since last drain (may exceed samples.length)
+
+  LatencyWindow(int capacity) {
+    this.samples = new long[capacity];
+  }
+
+  void record(long nanos) {
+    samples[count % samples.length] = nanos;
+    count++;
+  }
+
+  // p-th percentile (0..1) of the window, or 0 if empty; clears the window
+  long drainPercentile(double p) {
+    int n = Math.min(count, samples.length);
+    count = 0;
+    if (n == 0) {
+      return 0;
+    }
+    long[] sorted = Arrays.copyOf(samples, n);
+    Arrays.sort(sorted);
+    int rank = (int) Math.ceil(p * n) - 1;
+    return sorted[Math.max(0, Math.min(n - 1, rank))];
+  }
+}
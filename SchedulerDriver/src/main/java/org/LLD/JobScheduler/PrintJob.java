@@ -4,10 +4,16 @@ public class PrintJob implements Job {
 
   private final String id;
   private final int durationMs;
+  private final String tenantId;
 
   public PrintJob(String id, int durationMs) {
+    this(id, durationMs, DEFAULT_TENANT);
+  }
+
+  public PrintJob(String id, int durationMs, String tenantId) {
     this.id = id;
     this.durationMs = durationMs;
+    this.tenantId = tenantId;
   }
 
   @Override
@@ -20,6 +26,11 @@ public class PrintJob implements Job {
     return 0; // Default
   }
 
+  @Override
+  public String getTenantId() {
+    return tenantId;
+  }
+
   @Override
   public void run() {
     System.out.println("  -> STARTING " + id + " on " + Thread.currentThread().getName());
@@ -0,0 +1,70 @@
+package org.LLD.JobScheduler;
+
+import java.time.Duration;
+
+// Limits on how many finished (COMPLETED/CANCELLED/FAILED) jobs stay in the job store.
+// A finished job is evicted as soon as any limit is exceeded, oldest first.
+public class RetentionPolicy {
+
+  // Rough heap cost of a retained JobContext plus a small Job, before payload and errors
+  public static final long JOB_OVERHEAD_BYTES = 256;
+  // Throwable object with its backtrace, and each StackTraceElement once materialized
+  static final long THROWABLE_BYTES = 96;
+  static final long STACK_FRAME_BYTES = 56;
+  static final int MAX_CAUSES = 16; // Bounds the walk over cyclic or very long cause chains
+
+  public static final RetentionPolicy DEFAULT =
+      new RetentionPolicy(10_000, Duration.ofHours(1), Long.MAX_VALUE, 100_000, Duration.ofSeconds(5));
+
+  private final int maxFinishedJobs;
+  private final Duration maxAge;
+  private final long memoryBudgetBytes;
+  private final int summaryCapacity; // Compact summaries kept after eviction, 0 to disable
+  private final Duration sweepInterval;
+
+  public RetentionPolicy(int maxFinishedJobs, Duration maxAge, long memoryBudgetBytes,
+      int summaryCapacity, Duration sweepInterval) {
+    if (maxFinishedJobs < 0 || maxAge.isNegative() || memoryBudgetBytes < 0 || summaryCapacity < 0
+        || sweepInterval.isZero() || sweepInterval.isNegative()) {
+      throw new IllegalArgumentException("Invalid retention policy");
+    }
+    this.maxFinishedJobs = maxFinishedJobs;
+    this.maxAge = maxAge;
+    this.memoryBudgetBytes = memoryBudgetBytes;
+    this.summaryCapacity = summaryCapacity;
+    this.sweepInterval = sweepInterval;
+  }
+
+  public int getMaxFinishedJobs() {
+    return maxFinishedJobs;
+  }
+
+  public Duration getMaxAge() {
+    return maxAge;
+  }
+
+  public long getMemoryBudgetBytes() {
+    return memoryBudgetBytes;
+  }
+
+  public int getSummaryCapacity() {
+    return summaryCapacity;
+  }
+
+  public Duration getSweepInterval() {
+    return sweepInterval;
+  }
+
+  // Estimated heap a finished job keeps alive: the job itself with its payload, plus the last
+  // error (message and stack trace of each cause) that stays attached to it
+  static long estimateRetainedBytes(Job job, Throwable lastError) {
+    long bytes = JOB_OVERHEAD_BYTES + Math.max(0, job.getRetainedSizeBytes());
+    Throwable t = lastError;
+    for (int i = 0; t != null && i < MAX_CAUSES; i++, t = t.getCause()) {
+      String message = t.getMessage();
+      bytes += THROWABLE_BYTES + (message == null ? 0 : 2L * message.length())
+          + STACK_FRAME_BYTES * t.getStackTrace().length;
+    }
+    return bytes;
+  }
+}
@@ -0,0 +1,54 @@
+package org.LLD.JobScheduler;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// Exponential backoff with jitter. Attempts are 1-based: attempt 1 is the first run.
+public class RetryPolicy {
+
+  // Fail on the first error, no retries
+  public static final RetryPolicy NONE = new RetryPolicy(1, 0, 1.0, 0, 0.0);
+
+  private final int maxAttempts;
+  private final long initialDelayMs;
+  private final double multiplier;
+  private final long maxDelayMs;
+  private final double jitter; // 0 = fixed delay, 1 = anywhere in [0, delay]
+
+  public RetryPolicy(int maxAttempts, long initialDelayMs, double multiplier, long maxDelayMs,
+      double jitter) {
+    if (maxAttempts < 1 || initialDelayMs < 0 || multiplier < 1.0 || maxDelayMs < initialDelayMs
+        || jitter < 0.0 || jitter > 1.0) {
+      throw new IllegalArgumentException("Invalid retry policy");
+    }
+    this.maxAttempts = maxAttempts;
+    this.initialDelayMs = initialDelayMs;
+    this.multiplier = multiplier;
+    this.maxDelayMs = maxDelayMs;
+    this.jitter = jitter;
+  }
+
+  // Doubling backoff with 20% jitter
+  public static RetryPolicy exponential(int maxAttempts, long initialDelayMs, long maxDelayMs) {
+    return new RetryPolicy(maxAttempts, initialDelayMs, 2.0, maxDelayMs, 0.2);
+  }
+
+  public int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  public boolean shouldRetry(int failedAttempts) {
+    return failedAttempts < maxAttempts;
+  }
+
+  // Delay before the run that follows the given failed attempt
+  public long nextDelayMillis(int failedAttempts) {
+    double delay = initialDelayMs * Math.pow(multiplier, failedAttempts - 1);
+    long capped = (long) Math.min(delay, maxDelayMs);
+    if (jitter == 0.0 || capped == 0) {
+      return capped;
+    }
+    // Spread retries of jobs that failed together so they don't come back in lockstep
+    long spread = (long) (capped * jitter);
+    return capped - ThreadLocalRandom.current().nextLong(spread + 1);
+  }
+}
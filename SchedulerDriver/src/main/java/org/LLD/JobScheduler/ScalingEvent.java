@@ -0,0 +1,52 @@
+package org.LLD.JobScheduler;
+
+import java.time.Instant;
+
+// One resize decision taken by the auto-scaler
+public class ScalingEvent {
+
+  private final Instant at;
+  private final int fromWorkers;
+  private final int toWorkers;
+  private final double waitP95Millis;
+  private final String reason;
+
+  public ScalingEvent(Instant at, int fromWorkers, int toWorkers, double waitP95Millis,
+      String reason) {
+    this.at = at;
+    this.fromWorkers = fromWorkers;
+    this.toWorkers = toWorkers;
+    this.waitP95Millis = waitP95Millis;
+    this.reason = reason;
+  }
+
+  public Instant getAt() {
+    return at;
+  }
+
+  public int getFromWorkers() {
+    return fromWorkers;
+  }
+
+  public int getToWorkers() {
+    return toWorkers;
+  }
+
+  public double getWaitP95Millis() {
+    return waitP95Millis;
+  }
+
+  public String getReason() {
+    return reason;
+  }
+
+  public boolean isScaleUp() {
+    return toWorkers > fromWorkers;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s %d -> %d workers (p95 wait %.1fms): %s", at, fromWorkers, toWorkers,
+        waitP95Millis, reason);
+  }
+}
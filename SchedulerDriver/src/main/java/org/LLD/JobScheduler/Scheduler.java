@@ -14,4 +14,7 @@ public interface Scheduler {
   // Moves job back to the ready queue
   boolean resume(String jobId);
 
+  // Current state, or null if the job is unknown
+  JobStatus getStatus(String jobId);
+
 }
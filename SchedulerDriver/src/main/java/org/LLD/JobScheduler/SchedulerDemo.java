@@ -1,5 +1,7 @@
 package org.LLD.JobScheduler;
 
+import java.time.Duration;
+
 //TIP To <b>Run</b> code, press <shortcut actionId="Run"/> or
 // click the <icon src="AllIcons.Actions.Execute"/> icon in the gutter.
 public class SchedulerDemo {
@@ -96,6 +98,101 @@ public class SchedulerDemo {
 
 
 
+
+
+
+    // --- SCENARIO 5: Fair Share Between Tenants ---
+    // Tenant "batch" floods the scheduler first, yet "web" jobs still start in the
+    // very next round instead of waiting behind all of batch's backlog.
+    System.out.println("\n[Scenario 5] Tenant 'batch' floods 10 jobs, then 'web' submits 3...");
+    SimpleJobScheduler fairScheduler = new SimpleJobScheduler(2);
+    fairScheduler.registerTenant("web", 2, 2);   // Double share
+    fairScheduler.registerTenant("batch", 1, 1); // Never more than one worker
+    for (int i = 1; i <= 10; i++) {
+      fairScheduler.submit(new PrintJob("Batch-" + i, 200, "batch"));
+    }
+    for (int i = 1; i <= 3; i++) {
+      fairScheduler.submit(new PrintJob("Web-" + i, 200, "web"));
+    }
+
+    Thread.sleep(2500);
+    fairScheduler.getTenantStats().values().forEach(stats -> System.out.println("  " + stats));
+    fairScheduler.shutdown();
+
+
+
+
+
+
+
+
+
+
+    // --- SCENARIO 6: Retry with Backoff & Dead Letters ---
+    System.out.println("\n[Scenario 6] Job-E fails twice then succeeds, Job-F never succeeds...");
+    SimpleJobScheduler retryScheduler = new SimpleJobScheduler(2);
+    RetryPolicy threeAttempts = RetryPolicy.exponential(3, 100, 1000);
+    retryScheduler.submit(new FlakyJob("Job-E", 2, threeAttempts));
+    retryScheduler.submit(new FlakyJob("Job-F", Integer.MAX_VALUE, threeAttempts));
+
+    Thread.sleep(1000); // Backoffs: ~100ms then ~200ms
+    System.out.println("Job-E status: " + retryScheduler.getStatus("Job-E"));
+    System.out.println("Job-F status: " + retryScheduler.getStatus("Job-F"));
+    System.out.println("Dead letters: " + retryScheduler.getDeadLetters());
+    retryScheduler.shutdown();
+
+
+
+
+
+
+
+
+
+
+    // --- SCENARIO 7: Retention of Finished Jobs ---
+    System.out.println("\n[Scenario 7] Keeping at most 2 finished jobs in memory...");
+    SimpleJobScheduler retainScheduler = new SimpleJobScheduler(2);
+    retainScheduler.setRetentionPolicy(new RetentionPolicy(2, Duration.ofMinutes(10),
+        Long.MAX_VALUE, 1000, Duration.ofMillis(100)));
+    for (int i = 1; i <= 5; i++) {
+      retainScheduler.submit(new PrintJob("Job-R" + i, 50));
+    }
+
+    Thread.sleep(600); // Jobs finish, then the sweeper evicts the oldest three
+    System.out.println("Jobs still in store: " + retainScheduler.getRetainedJobCount());
+    System.out.println("Job-R1 status (from summary): " + retainScheduler.getStatus("Job-R1"));
+    System.out.println("Job-R1 summary: " + retainScheduler.getSummary("Job-R1"));
+    retainScheduler.shutdown();
+
+
+
+
+
+
+
+
+
+
+    // --- SCENARIO 8: Elastic Pool ---
+    System.out.println("\n[Scenario 8] Burst of 12 jobs on a 1..4 worker elastic pool...");
+    AutoScalingPolicy elastic = new AutoScalingPolicy(1, 4, Duration.ofMillis(100),
+        Duration.ofMillis(200), 2, Duration.ofSeconds(1), Duration.ofMillis(300), 1);
+    SimpleJobScheduler elasticScheduler = new SimpleJobScheduler(elastic);
+    elasticScheduler.setScalingListener(event -> System.out.println("  SCALE: " + event));
+    for (int i = 1; i <= 12; i++) {
+      elasticScheduler.submit(new PrintJob("Job-X" + i, 300));
+    }
+
+    Thread.sleep(6000); // Burst drains, then the pool shrinks back after idling
+    System.out.println("Pool size after burst: " + elasticScheduler.getPoolSize());
+    elasticScheduler.shutdown();
+
+
+
+
+
+
   }
 
 }
\ No newline at end of file
@@ -1,21 +1,136 @@
 package org.LLD.JobScheduler;
 
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 
 public class SimpleJobScheduler implements Scheduler {
 
-  private final ExecutorService executor;
+  private final ThreadPoolExecutor executor;
   // Map to track all jobs by ID for O(1) access
   private final Map<String, JobContext> jobStore;
 
+  // Fair-share state. The executor never holds more tasks than poolSize, so
+  // the order in which jobs start is decided here and not by the pool's FIFO.
+  private final Object lock = new Object();
+  private final Map<String, TenantQueue> tenants = new LinkedHashMap<>();
+  private final Deque<TenantQueue> rotation = new ArrayDeque<>(); // Tenants with pending work
+  private int poolSize; // Changes only in auto-scaling mode
+  private final long startedAtNanos = System.nanoTime();
+  private int runningSlots;
+  private long dispatchSeq;
+
+  // Backoff waits happen on this timer, never by sleeping a worker
+  private final ScheduledExecutorService timer;
+  private final DeadLetterStore deadLetters;
+
+  // Finished jobs in finish order; evicted in the background per the retention policy
+  private final Deque<JobContext> finished = new ArrayDeque<>();
+  private long finishedBytes; // Sum of the estimated retained size of the jobs in finished
+  private RetentionPolicy retention;
+  private JobSummaryStore summaries;
+  private ScheduledFuture<?> sweeper;
+
+  // Auto-scaling state, null/unused for a fixed-size pool
+  private final AutoScalingPolicy scaling;
+  private final LatencyWindow waitWindow = new LatencyWindow(4096);
+  private final Deque<ScalingEvent> scalingEvents = new ArrayDeque<>();
+  private Consumer<ScalingEvent> scalingListener;
+  private int consecutiveBreaches;
+  private long idleSinceNanos;
+  private long lastResizeNanos;
+  private long lastWaitP95Nanos;
+
   public SimpleJobScheduler(int poolSize) {
-    this.executor = Executors.newFixedThreadPool(poolSize);
+    this(poolSize, 1000);
+  }
+
+  public SimpleJobScheduler(int poolSize, int deadLetterCapacity) {
+    this(poolSize, deadLetterCapacity, null);
+  }
+
+  /**
+   * Elastic pool: starts with {@code policy.getMinWorkers()} workers and grows/shrinks within
+   * [min, max] based on the p95 queue wait observed between evaluations.
+   */
+  public SimpleJobScheduler(AutoScalingPolicy policy) {
+    this(policy.getMinWorkers(), 1000, policy);
+  }
+
+  private SimpleJobScheduler(int poolSize, int deadLetterCapacity, AutoScalingPolicy scaling) {
+    // Same as a fixed thread pool, but resizable
+    this.executor = new ThreadPoolExecutor(poolSize, poolSize, 30, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>());
     this.jobStore = new ConcurrentHashMap<>();
+    this.poolSize = poolSize;
+    this.deadLetters = new DeadLetterStore(deadLetterCapacity);
+    this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread t = new Thread(r, "job-scheduler-timer");
+      t.setDaemon(true);
+      return t;
+    });
+    setRetentionPolicy(RetentionPolicy.DEFAULT);
+
+    this.scaling = scaling;
+    if (scaling != null) {
+      this.lastResizeNanos = System.nanoTime();
+      long period = scaling.getEvaluationInterval().toMillis();
+      timer.scheduleWithFixedDelay(this::evaluateScaling, period, period, TimeUnit.MILLISECONDS);
+    }
+  }
+
+
+
+  /**
+   * Replaces the retention policy. Summaries of already evicted jobs are discarded if the
+   * summary capacity changes.
+   */
+  public void setRetentionPolicy(RetentionPolicy policy) {
+    synchronized (lock) {
+      if (summaries == null || retention.getSummaryCapacity() != policy.getSummaryCapacity()) {
+        summaries = new JobSummaryStore(policy.getSummaryCapacity());
+      }
+      retention = policy;
+      if (sweeper != null) {
+        sweeper.cancel(false);
+      }
+      long period = policy.getSweepInterval().toMillis();
+      sweeper = timer.scheduleWithFixedDelay(this::evictFinished, period, period,
+          TimeUnit.MILLISECONDS);
+    }
+  }
+
+
+
+  /**
+   * Configures a tenant's share of the pool.
+   *
+   * @param weight        jobs the tenant may start per round robin turn (relative share)
+   * @param maxConcurrent upper bound on the tenant's RUNNING jobs
+   */
+  public void registerTenant(String tenantId, int weight, int maxConcurrent) {
+    if (weight < 1 || maxConcurrent < 1) {
+      throw new IllegalArgumentException("weight and maxConcurrent must be positive");
+    }
+    synchronized (lock) {
+      TenantQueue tq = tenantLocked(tenantId);
+      tq.weight = weight;
+      tq.maxConcurrent = maxConcurrent;
+      dispatchLocked();
+    }
   }
 
 
@@ -28,29 +143,23 @@ public class SimpleJobScheduler implements Scheduler {
   @Override
   public String submit(Job job) {
     String id = job.getJobId();
-    JobContext ctx = new JobContext(job);
-
-    // Critical section: Avoid race condition if submitting same ID twice
-    jobStore.compute(id, (key, existing) -> {
-      if (existing != null && existing.status == JobStatus.RUNNING) {
-        throw new IllegalStateException("Job with this ID is already running");
-      }
-      return ctx;
-    });
-
-    // Submit to thread pool
-    // We wrap the job to update status upon completion
-    Future<?> future = executor.submit(() -> {
-      try {
-        ctx.status = JobStatus.RUNNING;
-        job.run();
-        ctx.status = JobStatus.COMPLETED;
-      } catch (Exception e) {
-        // Log error
-      }
-    });
 
-    ctx.future = future;
+    synchronized (lock) {
+      JobContext ctx = new JobContext(job, tenantLocked(job.getTenantId()));
+
+      // Critical section: Avoid race condition if submitting same ID twice
+      jobStore.compute(id, (key, existing) -> {
+        if (existing != null
+            && (existing.status == JobStatus.QUEUED || existing.status == JobStatus.RUNNING)) {
+          throw new IllegalStateException("Job with this ID is already active");
+        }
+        return ctx;
+      });
+
+      ctx.tenant.submitted++;
+      enqueueLocked(ctx);
+      dispatchLocked();
+    }
     return id;
   }
 
@@ -65,17 +174,30 @@ public class SimpleJobScheduler implements Scheduler {
   @Override
   public boolean cancel(String jobId) {
     JobContext ctx = jobStore.get(jobId);
-    if (ctx == null || ctx.status == JobStatus.COMPLETED) {
+    if (ctx == null) {
       return false;
     }
 
-    // true = mayInterruptIfRunning
-    boolean cancelled = ctx.future.cancel(true);
-    if (cancelled) {
-      ctx.status = JobStatus.CANCELLED;
-      jobStore.remove(jobId); // Optional: Clean up memory
+    synchronized (lock) {
+      if (ctx.status == JobStatus.COMPLETED || ctx.status == JobStatus.CANCELLED
+          || ctx.status == JobStatus.FAILED) {
+        return false;
+      }
+
+      // true = mayInterruptIfRunning
+      if (ctx.future != null) {
+        ctx.future.cancel(true);
+      }
+      cancelRetryLocked(ctx);
+      // A RUNNING job gives its slot back when the wrapper unwinds; a job that was
+      // handed to the pool but not started yet must give it back here.
+      if (ctx.status != JobStatus.RUNNING) {
+        releaseSlotLocked(ctx);
+      }
+      markFinishedLocked(ctx, JobStatus.CANCELLED); // Memory is reclaimed by evictFinished()
+      dispatchLocked();
     }
-    return cancelled;
+    return true;
   }
 
 
@@ -94,14 +216,20 @@ public class SimpleJobScheduler implements Scheduler {
       return false;
     }
 
-    synchronized (ctx) {
+    synchronized (lock) {
       // We can only suspend if it hasn't started yet (is still in queue)
       // Note: Suspending a *running* thread is generally unsafe in Java
       // without cooperative cancellation logic inside the Job itself.
       if (ctx.status == JobStatus.QUEUED) {
         // Cancel the future execution but keep the data in our store
-        ctx.future.cancel(false);
+        if (ctx.future != null) {
+          ctx.future.cancel(false);
+          ctx.future = null;
+        }
+        cancelRetryLocked(ctx); // Also covers a job waiting out a retry backoff
+        releaseSlotLocked(ctx);
         ctx.status = JobStatus.SUSPENDED;
+        dispatchLocked();
         return true;
       }
     }
@@ -123,19 +251,14 @@ public class SimpleJobScheduler implements Scheduler {
       return false;
     }
 
-    synchronized (ctx) {
+    synchronized (lock) {
       if (ctx.status == JobStatus.SUSPENDED) {
-        // Resubmit the job to the executor
+        // Back into the tenant's queue; keeps its old position if not yet skipped over
         ctx.status = JobStatus.QUEUED;
-        ctx.future = executor.submit(() -> {
-          try {
-            ctx.status = JobStatus.RUNNING;
-            ctx.job.run();
-            ctx.status = JobStatus.COMPLETED;
-          } catch (Exception e) {
-            // Handle error
-          }
-        });
+        if (!ctx.inQueue) {
+          enqueueLocked(ctx);
+        }
+        dispatchLocked();
         return true;
       }
     }
@@ -144,10 +267,186 @@ public class SimpleJobScheduler implements Scheduler {
 
 
 
+  @Override
+  public JobStatus getStatus(String jobId) {
+    JobContext ctx = jobStore.get(jobId);
+    if (ctx != null) {
+      return ctx.status;
+    }
+    synchronized (lock) {
+      return summaries.getStatus(jobId); // Evicted: fall back to the compact summary
+    }
+  }
+
+  // Timings and outcome of a job evicted from the store, null if unknown or still retained
+  public JobSummary getSummary(String jobId) {
+    synchronized (lock) {
+      return summaries.get(jobId);
+    }
+  }
+
+  // Number of jobs (any status) currently held in the job store
+  public int getRetainedJobCount() {
+    return jobStore.size();
+  }
+
+  // Drops finished jobs that exceed the retention policy, keeping a compact summary of each
+  void evictFinished() {
+    synchronized (lock) {
+      long nowNanos = System.nanoTime();
+      long nowMillis = System.currentTimeMillis();
+      long maxAgeNanos = retention.getMaxAge().toNanos();
+      int maxCount = retention.getMaxFinishedJobs();
+      long budget = retention.getMemoryBudgetBytes();
+
+      JobContext oldest = finished.peekFirst();
+      while (oldest != null && (finished.size() > maxCount || finishedBytes > budget
+          || nowNanos - oldest.finishedAtNanos > maxAgeNanos)) {
+        finished.pollFirst();
+        finishedBytes -= oldest.retainedBytes;
+        String id = oldest.job.getJobId();
+        // Only if the id was not re-submitted after this run finished
+        if (jobStore.remove(id, oldest)) {
+          summaries.put(id, oldest.status,
+              toEpochMillis(oldest.submittedAtNanos, nowNanos, nowMillis),
+              oldest.startedAtNanos == 0 ? -1
+                  : toEpochMillis(oldest.startedAtNanos, nowNanos, nowMillis),
+              toEpochMillis(oldest.finishedAtNanos, nowNanos, nowMillis));
+        }
+        oldest = finished.peekFirst();
+      }
+    }
+  }
+
+  private static long toEpochMillis(long nanos, long nowNanos, long nowMillis) {
+    return nowMillis - TimeUnit.NANOSECONDS.toMillis(nowNanos - nanos);
+  }
+
+  // Jobs that exhausted their retries, oldest first
+  public List<DeadLetter> getDeadLetters() {
+    return deadLetters.snapshot();
+  }
+
+  /**
+   * Takes a job out of the dead-letter store and submits it again with a fresh attempt count.
+   *
+   * @return false if no dead letter has this job id
+   * @throws IllegalStateException if a job with the same id has been submitted since and is
+   *                               still active; the dead letter is kept
+   */
+  public boolean replayDeadLetter(String jobId) {
+    synchronized (lock) {
+      JobContext current = jobStore.get(jobId);
+      if (current != null
+          && (current.status == JobStatus.QUEUED || current.status == JobStatus.RUNNING)) {
+        throw new IllegalStateException("Job with this ID is already active");
+      }
+      DeadLetter letter = deadLetters.remove(jobId);
+      if (letter == null) {
+        return false;
+      }
+      submit(letter.getJob());
+      return true;
+    }
+  }
+
+  // Drops a dead letter without running the job again, false if there is none with this id
+  public boolean discardDeadLetter(String jobId) {
+    return deadLetters.remove(jobId) != null;
+  }
+
+  public TenantStats getTenantStats(String tenantId) {
+    synchronized (lock) {
+      TenantQueue tq = tenants.get(tenantId);
+      return tq == null ? null : tq.snapshot(System.nanoTime() - startedAtNanos);
+    }
+  }
+
+  public Map<String, TenantStats> getTenantStats() {
+    Map<String, TenantStats> result = new LinkedHashMap<>();
+    synchronized (lock) {
+      long uptime = System.nanoTime() - startedAtNanos;
+      for (TenantQueue tq : tenants.values()) {
+        result.put(tq.tenantId, tq.snapshot(uptime));
+      }
+    }
+    return result;
+  }
+
 
 
 
+
+
+  public int getPoolSize() {
+    synchronized (lock) {
+      return poolSize;
+    }
+  }
+
+  // p95 queue wait measured at the last auto-scaling evaluation
+  public double getLastWaitP95Millis() {
+    synchronized (lock) {
+      return lastWaitP95Nanos / 1_000_000.0;
+    }
+  }
+
+  // Most recent resize decisions (bounded), oldest first
+  public List<ScalingEvent> getScalingEvents() {
+    synchronized (lock) {
+      return new ArrayList<>(scalingEvents);
+    }
+  }
+
+  // Invoked on the scheduler's timer thread for each resize
+  public void setScalingListener(Consumer<ScalingEvent> listener) {
+    synchronized (lock) {
+      this.scalingListener = listener;
+    }
+  }
+
+  // Periodic auto-scaling decision, runs on the timer thread
+  void evaluateScaling() {
+    ScalingEvent event = null;
+    Consumer<ScalingEvent> listener;
+    synchronized (lock) {
+      long now = System.nanoTime();
+      // Jobs stuck at the head of a queue count too, in case nothing started at all
+      long signal = Math.max(waitWindow.drainPercentile(0.95), oldestQueuedWaitLocked(now));
+      lastWaitP95Nanos = signal;
+      long target = scaling.getTargetWaitP95().toNanos();
+      int backlog = queuedJobsLocked();
+
+      consecutiveBreaches = signal > target ? consecutiveBreaches + 1 : 0;
+      boolean spareWorkers = runningSlots + backlog <= poolSize - scaling.getStep();
+      if (signal < target / 2 && spareWorkers) {
+        if (idleSinceNanos == 0) {
+          idleSinceNanos = now;
+        }
+      } else {
+        idleSinceNanos = 0;
+      }
+
+      boolean coolingDown = now - lastResizeNanos < scaling.getCooldown().toNanos();
+      if (!coolingDown && consecutiveBreaches >= scaling.getBreachesBeforeScaleUp()
+          && poolSize < scaling.getMaxWorkers()) {
+        event = resizeLocked(Math.min(scaling.getMaxWorkers(), poolSize + scaling.getStep()),
+            signal, consecutiveBreaches + " evaluations over target, backlog " + backlog);
+      } else if (!coolingDown && idleSinceNanos != 0
+          && now - idleSinceNanos >= scaling.getIdlePeriod().toNanos()
+          && poolSize > scaling.getMinWorkers()) {
+        event = resizeLocked(Math.max(scaling.getMinWorkers(), poolSize - scaling.getStep()),
+            signal, "idle for " + TimeUnit.NANOSECONDS.toMillis(now - idleSinceNanos) + "ms");
+      }
+      listener = scalingListener;
+    }
+    if (event != null && listener != null) {
+      listener.accept(event);
+    }
+  }
+
   public void shutdown() {
+    timer.shutdownNow(); // Pending retries are dropped
     executor.shutdown();
   }
 
@@ -159,16 +458,226 @@ public class SimpleJobScheduler implements Scheduler {
 
 
 
-  // Internal wrapper to hold job details and execution handle
-  private static class JobContext {
+  // --- Fair-share dispatching (all methods below require the lock) ---
+
+  private TenantQueue tenantLocked(String tenantId) {
+    String key = tenantId == null ? Job.DEFAULT_TENANT : tenantId;
+    // Unregistered tenants are only bounded by the pool itself
+    return tenants.computeIfAbsent(key, k -> new TenantQueue(k, 1, Integer.MAX_VALUE));
+  }
+
+  private void enqueueLocked(JobContext ctx) {
+    TenantQueue tq = ctx.tenant;
+    tq.pending.addLast(ctx);
+    ctx.inQueue = true;
+    ctx.enqueuedAtNanos = System.nanoTime();
+    if (!tq.inRotation) {
+      tq.inRotation = true;
+      rotation.addLast(tq);
+    }
+  }
+
+  // Deficit round robin with unit job cost: each visit tops the tenant's deficit up by its
+  // weight and it may start that many jobs before moving to the back of the ring.
+  // Tenants at their concurrency cap are skipped without losing their turn's credit.
+  private void dispatchLocked() {
+    int skipped = 0;
+    while (runningSlots < poolSize && skipped < rotation.size()) {
+      TenantQueue tq = rotation.peekFirst();
+      JobContext next = nextQueuedLocked(tq);
+
+      if (next == null) {
+        // Drained: leave the ring and forfeit leftover credit
+        rotation.pollFirst();
+        tq.inRotation = false;
+        tq.deficit = 0;
+        continue;
+      }
+      if (tq.running >= tq.maxConcurrent) {
+        rotation.addLast(rotation.pollFirst());
+        skipped++;
+        continue;
+      }
+      if (tq.deficit <= 0) {
+        tq.deficit += tq.weight;
+      }
+
+      tq.pending.pollFirst();
+      next.inQueue = false;
+      tq.deficit--;
+      startLocked(next);
+      skipped = 0;
+
+      if (tq.deficit <= 0) {
+        rotation.addLast(rotation.pollFirst());
+      }
+    }
+  }
+
+  // Drops suspended/cancelled entries from the head of the tenant's queue
+  private JobContext nextQueuedLocked(TenantQueue tq) {
+    JobContext head = tq.pending.peekFirst();
+    while (head != null && head.status != JobStatus.QUEUED) {
+      tq.pending.pollFirst();
+      head.inQueue = false;
+      head = tq.pending.peekFirst();
+    }
+    return head;
+  }
+
+  private void startLocked(JobContext ctx) {
+    long token = ++dispatchSeq;
+    ctx.activeDispatch = token;
+    ctx.tenant.running++;
+    runningSlots++;
+    ctx.future = executor.submit(() -> runJob(ctx, token));
+  }
+
+  private long oldestQueuedWaitLocked(long now) {
+    long oldest = 0;
+    for (TenantQueue tq : rotation) {
+      JobContext head = nextQueuedLocked(tq);
+      if (head != null) {
+        oldest = Math.max(oldest, now - head.enqueuedAtNanos);
+      }
+    }
+    return oldest;
+  }
+
+  private int queuedJobsLocked() {
+    int queued = 0;
+    for (TenantQueue tq : rotation) {
+      queued += tq.pending.size(); // May include lazily-dropped entries; fine for a heuristic
+    }
+    return queued;
+  }
+
+  private ScalingEvent resizeLocked(int newSize, long waitP95Nanos, String reason) {
+    int oldSize = poolSize;
+    // Keep core <= max at every step
+    if (newSize > oldSize) {
+      executor.setMaximumPoolSize(newSize);
+      executor.setCorePoolSize(newSize);
+    } else {
+      executor.setCorePoolSize(newSize);
+      executor.setMaximumPoolSize(newSize);
+    }
+    poolSize = newSize;
+    lastResizeNanos = System.nanoTime();
+    consecutiveBreaches = 0;
+    idleSinceNanos = 0;
+
+    ScalingEvent event = new ScalingEvent(Instant.now(), oldSize, newSize,
+        waitP95Nanos / 1_000_000.0, reason);
+    if (scalingEvents.size() == 100) {
+      scalingEvents.pollFirst();
+    }
+    scalingEvents.addLast(event);
+    dispatchLocked(); // New slots can be filled right away
+    return event;
+  }
+
+  private void markFinishedLocked(JobContext ctx, JobStatus status) {
+    ctx.status = status;
+    ctx.finishedAtNanos = System.nanoTime();
+    ctx.retainedBytes = RetentionPolicy.estimateRetainedBytes(ctx.job, ctx.lastError);
+    finishedBytes += ctx.retainedBytes;
+    finished.addLast(ctx);
+  }
+
+  private void cancelRetryLocked(JobContext ctx) {
+    if (ctx.retryTimer != null) {
+      ctx.retryTimer.cancel(false);
+      ctx.retryTimer = null;
+    }
+    ctx.retryToken = 0;
+  }
+
+  // Failed run: either park the job on the timer for its backoff, or dead-letter it.
+  // While waiting the job stays QUEUED (so it can be suspended/cancelled) but is in no queue.
+  private void onFailureLocked(JobContext ctx, Throwable error) {
+    ctx.lastError = error;
+    ctx.tenant.failed++;
+    RetryPolicy policy = ctx.job.getRetryPolicy();
+
+    if (policy != null && policy.shouldRetry(ctx.attempts)) {
+      ctx.status = JobStatus.QUEUED;
+      long delay = policy.nextDelayMillis(ctx.attempts);
+      long token = ++dispatchSeq;
+      ctx.retryToken = token;
+      ctx.retryTimer = timer.schedule(() -> {
+        synchronized (lock) {
+          // Ignore if suspended/cancelled while waiting
+          if (ctx.retryToken == token && ctx.status == JobStatus.QUEUED) {
+            ctx.retryToken = 0;
+            ctx.retryTimer = null;
+            enqueueLocked(ctx);
+            dispatchLocked();
+          }
+        }
+      }, delay, TimeUnit.MILLISECONDS);
+    } else {
+      // Dead-lettered before the status says FAILED, so whoever sees FAILED finds the letter
+      ctx.tenant.deadLettered++;
+      deadLetters.add(new DeadLetter(ctx.job, ctx.attempts, error, Instant.now()));
+      markFinishedLocked(ctx, JobStatus.FAILED);
+    }
+  }
+
+  private void releaseSlotLocked(JobContext ctx) {
+    if (ctx.activeDispatch != 0) {
+      ctx.activeDispatch = 0;
+      ctx.tenant.running--;
+      runningSlots--;
+    }
+  }
+
+
+
+
+
+
+
+
 
-    Job job;
-    JobStatus status;
-    Future<?> future; // The handle to the running/queued task
+  // We wrap the job to update status and give the worker slot back upon completion
+  private void runJob(JobContext ctx, long token) {
+    synchronized (lock) {
+      // Suspended, cancelled or re-dispatched since this task was handed to the pool
+      if (ctx.activeDispatch != token || ctx.status != JobStatus.QUEUED) {
+        return;
+      }
+      ctx.status = JobStatus.RUNNING;
+      ctx.attempts++;
+      long now = System.nanoTime();
+      waitWindow.record(now - ctx.enqueuedAtNanos);
+      if (ctx.attempts == 1) {
+        ctx.startedAtNanos = now;
+        ctx.tenant.recordStart(ctx.startedAtNanos - ctx.submittedAtNanos);
+      }
+    }
 
-    public JobContext(Job job) {
-      this.job = job;
-      this.status = JobStatus.QUEUED;
+    Throwable error = null;
+    try {
+      ctx.job.run();
+    } catch (Throwable t) { // An Error is a failed run too, never a completion
+      error = t;
+    } finally {
+      synchronized (lock) {
+        // A cancelled job is no longer RUNNING, so its interruption is not a failure
+        if (ctx.status == JobStatus.RUNNING) {
+          if (error == null) {
+            markFinishedLocked(ctx, JobStatus.COMPLETED);
+            ctx.tenant.completed++;
+          } else {
+            onFailureLocked(ctx, error);
+          }
+        }
+        if (ctx.activeDispatch == token) {
+          releaseSlotLocked(ctx);
+        }
+        dispatchLocked();
+      }
     }
   }
 
@@ -176,4 +685,4 @@ public class SimpleJobScheduler implements Scheduler {
 
 
 
-}
\ No newline at end of file
+}
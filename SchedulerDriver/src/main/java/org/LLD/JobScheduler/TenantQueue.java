@@ -0,0 +1,52 @@
+package org.LLD.JobScheduler;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+// Per-tenant ready queue plus the bookkeeping needed for deficit round robin.
+// All fields are guarded by the scheduler lock.
+class TenantQueue {
+
+  final String tenantId;
+  final Deque<JobContext> pending = new ArrayDeque<>();
+
+  int weight;          // DRR quantum: jobs this tenant may start per round
+  int maxConcurrent;   // Per-tenant cap on RUNNING jobs
+  int deficit;         // Unused quantum carried between visits
+  int running;         // Jobs currently holding a worker slot
+  boolean inRotation;  // True while this tenant sits in the round robin ring
+
+  // Metrics
+  long submitted;
+  long started;
+  long completed;
+  long failed;   // Runs that threw, whether retried or not
+  long deadLettered;
+  long totalWaitNanos;
+  long maxWaitNanos;
+
+  TenantQueue(String tenantId, int weight, int maxConcurrent) {
+    this.tenantId = tenantId;
+    this.weight = weight;
+    this.maxConcurrent = maxConcurrent;
+  }
+
+  void recordStart(long waitNanos) {
+    started++;
+    totalWaitNanos += waitNanos;
+    if (waitNanos > maxWaitNanos) {
+      maxWaitNanos = waitNanos;
+    }
+  }
+
+  TenantStats snapshot(long uptimeNanos) {
+    int queued = 0;
+    for (JobContext ctx : pending) {
+      if (ctx.status == JobStatus.QUEUED) {
+        queued++;
+      }
+    }
+    return new TenantStats(tenantId, weight, maxConcurrent, submitted, started, completed,
+        failed, deadLettered, running, queued, totalWaitNanos, maxWaitNanos, uptimeNanos);
+  }
+}
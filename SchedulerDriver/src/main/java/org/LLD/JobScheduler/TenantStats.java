@@ -0,0 +1,109 @@
+package org.LLD.JobScheduler;
+
+import java.util.concurrent.TimeUnit;
+
+// Point-in-time fairness metrics for one tenant
+public class TenantStats {
+
+  private final String tenantId;
+  private final int weight;
+  private final int maxConcurrent;
+  private final long submitted;
+  private final long started;
+  private final long completed;
+  private final long failed;
+  private final long deadLettered;
+  private final int running;
+  private final int queued;
+  private final long totalWaitNanos;
+  private final long maxWaitNanos;
+  private final long uptimeNanos;
+
+  public TenantStats(String tenantId, int weight, int maxConcurrent, long submitted, long started,
+      long completed, long failed, long deadLettered, int running, int queued,
+      long totalWaitNanos, long maxWaitNanos, long uptimeNanos) {
+    this.tenantId = tenantId;
+    this.weight = weight;
+    this.maxConcurrent = maxConcurrent;
+    this.submitted = submitted;
+    this.started = started;
+    this.completed = completed;
+    this.failed = failed;
+    this.deadLettered = deadLettered;
+    this.running = running;
+    this.queued = queued;
+    this.totalWaitNanos = totalWaitNanos;
+    this.maxWaitNanos = maxWaitNanos;
+    this.uptimeNanos = uptimeNanos;
+  }
+
+  public String getTenantId() {
+    return tenantId;
+  }
+
+  public int getWeight() {
+    return weight;
+  }
+
+  public int getMaxConcurrent() {
+    return maxConcurrent;
+  }
+
+  public long getSubmitted() {
+    return submitted;
+  }
+
+  public long getStarted() {
+    return started;
+  }
+
+  public long getCompleted() {
+    return completed;
+  }
+
+  public long getFailed() {
+    return failed;
+  }
+
+  public long getDeadLettered() {
+    return deadLettered;
+  }
+
+  public int getRunning() {
+    return running;
+  }
+
+  public int getQueued() {
+    return queued;
+  }
+
+  // Completed jobs per second since the scheduler started
+  public double getThroughputPerSecond() {
+    if (uptimeNanos <= 0) {
+      return 0.0;
+    }
+    return completed * (double) TimeUnit.SECONDS.toNanos(1) / uptimeNanos;
+  }
+
+  // Average submit-to-start wait in milliseconds
+  public double getAvgWaitMillis() {
+    if (started == 0) {
+      return 0.0;
+    }
+    return (double) totalWaitNanos / started / TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
+  public double getMaxWaitMillis() {
+    return (double) maxWaitNanos / TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "%s[weight=%d, cap=%d, submitted=%d, started=%d, completed=%d, failed=%d, dead=%d, "
+            + "running=%d, queued=%d, throughput=%.2f/s, avgWait=%.1fms, maxWait=%.1fms]",
+        tenantId, weight, maxConcurrent, submitted, started, completed, failed, deadLettered,
+        running, queued,
+        getThroughputPerSecond(), getAvgWaitMillis(), getMaxWaitMillis());
+  }
+}
@@ -0,0 +1,78 @@
+package org.LLD.JobScheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+// The elastic pool grows while queue waits breach the target and shrinks back to its minimum
+// once idle. The evaluation interval is an hour so each test calls evaluateScaling() itself.
+class AutoScalingTest {
+
+  private static final Duration TARGET = Duration.ofMillis(10);
+  private static final Duration NO_TIMER = Duration.ofHours(1);
+
+  private SimpleJobScheduler scheduler;
+
+  @AfterEach
+  void shutdown() {
+    scheduler.shutdown();
+  }
+
+  @Test
+  void growsUnderBacklogAndShrinksBackWhenIdle() throws InterruptedException {
+    // 1..3 workers, two breaches per step, no idle period or cooldown
+    scheduler = new SimpleJobScheduler(new AutoScalingPolicy(1, 3, TARGET, NO_TIMER, 2,
+        Duration.ZERO, Duration.ZERO, 1));
+    CountDownLatch release = new CountDownLatch(1);
+    for (int i = 0; i < 6; i++) {
+      scheduler.submit(new TestJob("job-" + i, "t", release::await));
+    }
+    Thread.sleep(3 * TARGET.toMillis()); // Queued jobs now wait longer than the target
+
+    scheduler.evaluateScaling();
+    assertEquals(1, scheduler.getPoolSize()); // One breach is not enough
+    scheduler.evaluateScaling();
+    assertEquals(2, scheduler.getPoolSize());
+    scheduler.evaluateScaling();
+    scheduler.evaluateScaling();
+    assertEquals(3, scheduler.getPoolSize());
+    scheduler.evaluateScaling();
+    scheduler.evaluateScaling();
+    assertEquals(3, scheduler.getPoolSize()); // Capped at maxWorkers
+
+    release.countDown();
+    Await.until(() -> scheduler.getStatus("job-5") == JobStatus.COMPLETED,
+        "the backlog drained");
+    scheduler.evaluateScaling(); // Drains the waits of the backlog, still over the target
+    for (int i = 0; i < 3; i++) {
+      scheduler.evaluateScaling();
+    }
+    assertEquals(1, scheduler.getPoolSize()); // Not below minWorkers
+
+    List<ScalingEvent> events = scheduler.getScalingEvents();
+    assertEquals(List.of("1->2", "2->3", "3->2", "2->1"),
+        events.stream().map(e -> e.getFromWorkers() + "->" + e.getToWorkers()).toList());
+  }
+
+  @Test
+  void noResizeWithinTheCooldown() throws InterruptedException {
+    scheduler = new SimpleJobScheduler(new AutoScalingPolicy(1, 3, TARGET, NO_TIMER, 1,
+        Duration.ZERO, Duration.ofHours(1), 1));
+    CountDownLatch release = new CountDownLatch(1);
+    for (int i = 0; i < 3; i++) {
+      scheduler.submit(new TestJob("job-" + i, "t", release::await));
+    }
+    Thread.sleep(3 * TARGET.toMillis());
+
+    for (int i = 0; i < 5; i++) {
+      scheduler.evaluateScaling();
+    }
+    assertEquals(1, scheduler.getPoolSize());
+    assertEquals(0, scheduler.getScalingEvents().size());
+    release.countDown();
+  }
+}
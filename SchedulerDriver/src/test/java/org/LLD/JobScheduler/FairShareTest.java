@@ -0,0 +1,105 @@
+package org.LLD.JobScheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+// Deficit round robin between tenants: start order follows the weights, a flooding tenant
+// can't starve a late one, and maxConcurrent caps a tenant without idling the pool
+class FairShareTest {
+
+  private SimpleJobScheduler scheduler;
+
+  @AfterEach
+  void shutdown() {
+    scheduler.shutdown();
+  }
+
+  @Test
+  void startsAreSplitByWeight() {
+    scheduler = new SimpleJobScheduler(1);
+    scheduler.registerTenant("a", 3, 10);
+    scheduler.registerTenant("b", 1, 10);
+    List<String> starts = Collections.synchronizedList(new ArrayList<>());
+
+    // Hold the only worker until both tenants are queued, so the order is decided by DRR alone
+    CountDownLatch gate = blockWorker();
+    for (int i = 0; i < 12; i++) {
+      scheduler.submit(new TestJob("a-" + i, "a", () -> starts.add("a")));
+      if (i < 4) {
+        scheduler.submit(new TestJob("b-" + i, "b", () -> starts.add("b")));
+      }
+    }
+    gate.countDown();
+    Await.until(() -> scheduler.getTenantStats("a").getCompleted() == 12
+        && scheduler.getTenantStats("b").getCompleted() == 4, "all jobs completed");
+
+    List<String> round = List.of("a", "a", "a", "b");
+    for (int r = 0; r < 4; r++) {
+      assertEquals(round, starts.subList(r * 4, r * 4 + 4), "round " + r + " of " + starts);
+    }
+  }
+
+  @Test
+  void aFloodingTenantDoesNotStarveALateOne() {
+    scheduler = new SimpleJobScheduler(1);
+    List<String> starts = Collections.synchronizedList(new ArrayList<>());
+
+    CountDownLatch gate = blockWorker();
+    for (int i = 0; i < 50; i++) {
+      scheduler.submit(new TestJob("flood-" + i, "flood", () -> starts.add("flood")));
+    }
+    scheduler.submit(new TestJob("late", "late", () -> starts.add("late")));
+    gate.countDown();
+    Await.until(() -> starts.size() == 51, "all jobs ran");
+
+    // Equal weights: the late tenant's job goes right after the flood's first one, not last
+    assertEquals(1, starts.indexOf("late"));
+  }
+
+  @Test
+  void maxConcurrentCapsATenantButNotThePool() {
+    scheduler = new SimpleJobScheduler(4);
+    scheduler.registerTenant("capped", 1, 1);
+    AtomicInteger cappedRunning = new AtomicInteger();
+    AtomicInteger cappedPeak = new AtomicInteger();
+    AtomicInteger otherRunning = new AtomicInteger();
+    AtomicInteger otherPeak = new AtomicInteger();
+
+    for (int i = 0; i < 6; i++) {
+      scheduler.submit(new TestJob("capped-" + i, "capped",
+          () -> busy(cappedRunning, cappedPeak)));
+      scheduler.submit(new TestJob("other-" + i, "other", () -> busy(otherRunning, otherPeak)));
+    }
+    Await.until(() -> scheduler.getTenantStats("capped").getCompleted() == 6
+        && scheduler.getTenantStats("other").getCompleted() == 6, "all jobs completed");
+
+    assertEquals(1, cappedPeak.get());
+    assertTrue(otherPeak.get() > 1, "the other tenant used the remaining workers");
+  }
+
+  // Submits a job that occupies a worker until the returned latch is released
+  private CountDownLatch blockWorker() {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    scheduler.submit(new TestJob("gate", "gate", () -> {
+      started.countDown();
+      release.await();
+    }));
+    Await.until(() -> started.getCount() == 0, "the gate job started");
+    return release;
+  }
+
+  private static void busy(AtomicInteger running, AtomicInteger peak) throws InterruptedException {
+    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+    Thread.sleep(20);
+    running.decrementAndGet();
+  }
+}
@@ -0,0 +1,104 @@
+package org.LLD.JobScheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+// Finished jobs leave the job store once the retention policy's count, age or memory budget is
+// exceeded, oldest first, and keep answering getStatus() from their summary.
+// The sweep interval is an hour so each test decides when evictFinished() runs.
+class RetentionTest {
+
+  private static final Duration NO_SWEEP = Duration.ofHours(1);
+
+  // One worker, so jobs finish in submit order
+  private final SimpleJobScheduler scheduler = new SimpleJobScheduler(1);
+
+  @AfterEach
+  void shutdown() {
+    scheduler.shutdown();
+  }
+
+  @Test
+  void evictsTheOldestJobsBeyondTheCount() {
+    scheduler.setRetentionPolicy(
+        new RetentionPolicy(5, Duration.ofHours(1), Long.MAX_VALUE, 100, NO_SWEEP));
+    runToCompletion(10, 0);
+
+    scheduler.evictFinished();
+    assertEquals(5, scheduler.getRetainedJobCount());
+    for (int i = 0; i < 10; i++) {
+      String id = "job-" + i;
+      assertEquals(JobStatus.COMPLETED, scheduler.getStatus(id));
+      if (i < 5) {
+        assertNotNull(scheduler.getSummary(id), id + " evicted");
+      } else {
+        assertNull(scheduler.getSummary(id), id + " still retained");
+      }
+    }
+  }
+
+  @Test
+  void evictsJobsOlderThanTheMaxAge() throws InterruptedException {
+    scheduler.setRetentionPolicy(
+        new RetentionPolicy(1000, Duration.ofMillis(50), Long.MAX_VALUE, 100, NO_SWEEP));
+    runToCompletion(3, 0);
+
+    scheduler.evictFinished();
+    assertEquals(3, scheduler.getRetainedJobCount()); // Not old enough yet
+    Thread.sleep(100);
+    scheduler.evictFinished();
+    assertEquals(0, scheduler.getRetainedJobCount());
+    assertEquals(JobStatus.COMPLETED, scheduler.getSummary("job-2").getStatus());
+  }
+
+  @Test
+  void theMemoryBudgetCountsEachJobsPayload() {
+    long payload = 1 << 20;
+    long perJob = RetentionPolicy.JOB_OVERHEAD_BYTES + payload;
+    // Room for two and a half jobs
+    scheduler.setRetentionPolicy(
+        new RetentionPolicy(1000, Duration.ofHours(1), perJob * 5 / 2, 100, NO_SWEEP));
+    runToCompletion(5, payload);
+
+    scheduler.evictFinished();
+    assertEquals(2, scheduler.getRetainedJobCount());
+    assertNull(scheduler.getSummary("job-4"));
+    assertNotNull(scheduler.getSummary("job-2"));
+  }
+
+  @Test
+  void theLastErrorIsPartOfTheRetainedSize() {
+    Job job = new TestJob("failed", "t", () -> {
+    });
+    Throwable error = new IllegalStateException("boom", new RuntimeException("cause"));
+    long bare = RetentionPolicy.estimateRetainedBytes(job, null);
+    long withError = RetentionPolicy.estimateRetainedBytes(job, error);
+
+    assertEquals(RetentionPolicy.JOB_OVERHEAD_BYTES, bare);
+    long frames = error.getStackTrace().length + error.getCause().getStackTrace().length;
+    assertEquals(bare + 2 * RetentionPolicy.THROWABLE_BYTES + 2 * ("boom".length() + 5)
+        + frames * RetentionPolicy.STACK_FRAME_BYTES, withError);
+    assertTrue(frames > 0);
+  }
+
+  // Submits job-0..job-(count-1), each reporting the given payload size, and waits for them
+  private void runToCompletion(int count, long payloadBytes) {
+    for (int i = 0; i < count; i++) {
+      scheduler.submit(new TestJob("job-" + i, "t", () -> {
+      }) {
+        @Override
+        public long getRetainedSizeBytes() {
+          return payloadBytes;
+        }
+      });
+    }
+    Await.until(() -> scheduler.getStatus("job-" + (count - 1)) == JobStatus.COMPLETED,
+        "all jobs completed");
+  }
+}
@@ -0,0 +1,105 @@
+package org.LLD.JobScheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+// A failing job is retried up to its policy's attempts, then dead-lettered; dead letters can
+// be replayed or discarded
+class RetryTest {
+
+  // Three attempts, 10 ms apart, no jitter
+  private static final RetryPolicy THREE_ATTEMPTS = new RetryPolicy(3, 10, 1.0, 10, 0.0);
+
+  private final SimpleJobScheduler scheduler = new SimpleJobScheduler(2);
+
+  @AfterEach
+  void shutdown() {
+    scheduler.shutdown();
+  }
+
+  @Test
+  void aJobThatRecoversWithinItsAttemptsCompletes() {
+    AtomicInteger runs = new AtomicInteger();
+    scheduler.submit(new TestJob("flaky", "t", THREE_ATTEMPTS, () -> {
+      if (runs.incrementAndGet() < 3) {
+        throw new IllegalStateException("transient");
+      }
+    }));
+    Await.until(() -> scheduler.getStatus("flaky") == JobStatus.COMPLETED, "flaky completed");
+
+    assertEquals(3, runs.get());
+    assertTrue(scheduler.getDeadLetters().isEmpty());
+    assertEquals(2, scheduler.getTenantStats("t").getFailed());
+  }
+
+  @Test
+  void exhaustedRetriesDeadLetterTheJob() {
+    AtomicInteger runs = new AtomicInteger();
+    scheduler.submit(new TestJob("broken", "t", THREE_ATTEMPTS, () -> {
+      runs.incrementAndGet();
+      throw new IllegalStateException("always");
+    }));
+    Await.until(() -> scheduler.getStatus("broken") == JobStatus.FAILED, "broken failed");
+
+    assertEquals(3, runs.get());
+    assertEquals(1, scheduler.getDeadLetters().size());
+    DeadLetter letter = scheduler.getDeadLetters().get(0);
+    assertEquals("broken", letter.getJobId());
+    assertEquals(3, letter.getAttempts());
+    assertEquals("always", letter.getLastError().getMessage());
+    assertEquals(1, scheduler.getTenantStats("t").getDeadLettered());
+  }
+
+  @Test
+  void anErrorFailsTheRunInsteadOfCompletingIt() {
+    scheduler.submit(new TestJob("oom", "t", () -> {
+      throw new OutOfMemoryError("simulated");
+    }));
+    Await.until(() -> scheduler.getStatus("oom") == JobStatus.FAILED, "oom failed");
+
+    assertInstanceOf(OutOfMemoryError.class, scheduler.getDeadLetters().get(0).getLastError());
+    assertEquals(0, scheduler.getTenantStats("t").getCompleted());
+  }
+
+  @Test
+  void aReplayedDeadLetterRunsAgainWithFreshAttempts() {
+    AtomicInteger runs = new AtomicInteger();
+    scheduler.submit(new TestJob("replay", "t", THREE_ATTEMPTS, () -> {
+      if (runs.incrementAndGet() <= 3) {
+        throw new IllegalStateException("down");
+      }
+    }));
+    Await.until(() -> scheduler.getStatus("replay") == JobStatus.FAILED, "first round failed");
+
+    assertTrue(scheduler.replayDeadLetter("replay"));
+    Await.until(() -> scheduler.getStatus("replay") == JobStatus.COMPLETED, "replay completed");
+    assertEquals(4, runs.get());
+    assertTrue(scheduler.getDeadLetters().isEmpty());
+    assertFalse(scheduler.replayDeadLetter("replay"));
+  }
+
+  @Test
+  void aDeadLetterIsKeptWhileItsIdIsActiveAgain() throws InterruptedException {
+    scheduler.submit(new TestJob("dup", "t", () -> {
+      throw new IllegalStateException("down");
+    }));
+    Await.until(() -> scheduler.getStatus("dup") == JobStatus.FAILED, "dup failed");
+    CountDownLatch release = new CountDownLatch(1);
+    scheduler.submit(new TestJob("dup", "t", release::await));
+
+    assertThrows(IllegalStateException.class, () -> scheduler.replayDeadLetter("dup"));
+    assertEquals(1, scheduler.getDeadLetters().size());
+    release.countDown();
+
+    assertTrue(scheduler.discardDeadLetter("dup"));
+    assertTrue(scheduler.getDeadLetters().isEmpty());
+  }
+}
@@ -0,0 +1,56 @@
+package org.LLD.JobScheduler;
+
+// Job whose body, tenant and retry policy are supplied by the test
+class TestJob implements Job {
+
+  interface Body {
+    void run() throws Exception;
+  }
+
+  private final String id;
+  private final String tenantId;
+  private final RetryPolicy retryPolicy;
+  private final Body body;
+
+  TestJob(String id, String tenantId, Body body) {
+    this(id, tenantId, RetryPolicy.NONE, body);
+  }
+
+  TestJob(String id, String tenantId, RetryPolicy retryPolicy, Body body) {
+    this.id = id;
+    this.tenantId = tenantId;
+    this.retryPolicy = retryPolicy;
+    this.body = body;
+  }
+
+  @Override
+  public String getJobId() {
+    return id;
+  }
+
+  @Override
+  public int getPriority() {
+    return 0;
+  }
+
+  @Override
+  public String getTenantId() {
+    return tenantId;
+  }
+
+  @Override
+  public RetryPolicy getRetryPolicy() {
+    return retryPolicy;
+  }
+
+  @Override
+  public void run() {
+    try {
+      body.run();
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package org.LLD.JobScheduler.bench;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Lock-free log-linear histogram of nanosecond latencies (~3% bucket precision).
+// Exact below 64ns, then 32 linear sub-buckets per power of two.
+public class LatencyHistogram {
+
+  private static final int LINEAR = 64;
+  private static final int SUB_BUCKETS = 32;
+  private static final int BUCKETS = LINEAR + (63 - 6) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+  public void record(long nanos) {
+    counts.incrementAndGet(index(Math.max(0, nanos)));
+  }
+
+  public long count() {
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      total += counts.get(i);
+    }
+    return total;
+  }
+
+  // Approximate value at quantile q (0..1), in nanoseconds
+  public long percentile(double q) {
+    long total = count();
+    if (total == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(q * total));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += counts.get(i);
+      if (seen >= rank) {
+        return midpoint(i);
+      }
+    }
+    return midpoint(BUCKETS - 1);
+  }
+
+  public long max() {
+    for (int i = BUCKETS - 1; i >= 0; i--) {
+      if (counts.get(i) > 0) {
+        return midpoint(i);
+      }
+    }
+    return 0;
+  }
+
+  // p50/p90/p99/p99.9/max in milliseconds
+  public String summaryMillis() {
+    return String.format("p50=%.3fms p90=%.3fms p99=%.3fms p99.9=%.3fms max=%.3fms (n=%d)",
+        percentile(0.50) / 1e6, percentile(0.90) / 1e6, percentile(0.99) / 1e6,
+        percentile(0.999) / 1e6, max() / 1e6, count());
+  }
+
+  static int index(long v) {
+    if (v < LINEAR) {
+      return (int) v;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(v); // >= 6
+    int sub = (int) (v >>> (exponent - 5)) & (SUB_BUCKETS - 1);
+    return LINEAR + (exponent - 6) * SUB_BUCKETS + sub;
+  }
+
+  static long midpoint(int index) {
+    if (index < LINEAR) {
+      return index;
+    }
+    int exponent = (index - LINEAR) / SUB_BUCKETS + 6;
+    long sub = (index - LINEAR) % SUB_BUCKETS;
+    long width = 1L << (exponent - 5);
+    long lower = (1L << exponent) | (sub * width);
+    return lower + width / 2;
+  }
+}
@@ -0,0 +1,93 @@
+package org.LLD.JobScheduler.bench;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.LLD.JobScheduler.Job;
+import org.LLD.JobScheduler.SimpleJobScheduler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Cost of cancel/suspend/resume on QUEUED jobs with 4 threads contending on the scheduler.
+// The single worker is pinned by a blocker job so nothing submitted here ever starts.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class LifecycleBenchmark {
+
+  private SimpleJobScheduler scheduler;
+  private CountDownLatch release;
+  private final AtomicLong ids = new AtomicLong();
+
+  // Fresh scheduler per iteration: cancelled entries are dropped lazily only when the
+  // queue is drained, and the blocked pool never drains it
+  @Setup(Level.Iteration)
+  public void setUp() {
+    scheduler = new SimpleJobScheduler(1);
+    release = new CountDownLatch(1);
+    scheduler.submit(new BlockerJob(release));
+  }
+
+  @TearDown(Level.Iteration)
+  public void tearDown() {
+    release.countDown();
+    scheduler.shutdown();
+  }
+
+  @Benchmark
+  public boolean submitThenCancel() {
+    String id = scheduler.submit(new SubmitBenchmark.NoOpJob("c-" + ids.incrementAndGet(), "t"));
+    return scheduler.cancel(id);
+  }
+
+  @Benchmark
+  public boolean submitSuspendResumeCancel() {
+    String id = scheduler.submit(new SubmitBenchmark.NoOpJob("s-" + ids.incrementAndGet(), "t"));
+    scheduler.suspend(id);
+    scheduler.resume(id);
+    return scheduler.cancel(id);
+  }
+
+  static class BlockerJob implements Job {
+
+    private final CountDownLatch release;
+
+    BlockerJob(CountDownLatch release) {
+      this.release = release;
+    }
+
+    @Override
+    public String getJobId() {
+      return "blocker";
+    }
+
+    @Override
+    public int getPriority() {
+      return 0;
+    }
+
+    @Override
+    public void run() {
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
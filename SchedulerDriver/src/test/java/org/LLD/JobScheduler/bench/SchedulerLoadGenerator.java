@@ -0,0 +1,142 @@
+package org.LLD.JobScheduler.bench;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.LLD.JobScheduler.AutoScalingPolicy;
+import org.LLD.JobScheduler.Job;
+import org.LLD.JobScheduler.SimpleJobScheduler;
+
+/**
+ * Long-running open-loop load generator. Submits a mix of CPU-bound and blocking jobs from
+ * three tenants at a fixed rate and reports submit-to-start and end-to-end latency percentiles.
+ *
+ * <pre>
+ * args: [durationSeconds=30] [jobsPerSecond=1000] [cpuFraction=0.5] [workers=N | elastic]
+ * </pre>
+ */
+public class SchedulerLoadGenerator {
+
+  private static final long CPU_WORK_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+  private static final long BLOCKING_MILLIS = 5;
+  private static final String[] TENANTS = {"web", "api", "batch"};
+
+  private static final LatencyHistogram startLatency = new LatencyHistogram();
+  private static final LatencyHistogram endToEndLatency = new LatencyHistogram();
+  private static final AtomicLong completed = new AtomicLong();
+
+  public static void main(String[] args) throws InterruptedException {
+    int durationSeconds = args.length > 0 ? Integer.parseInt(args[0]) : 30;
+    int jobsPerSecond = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+    double cpuFraction = args.length > 2 ? Double.parseDouble(args[2]) : 0.5;
+    String workers = args.length > 3 ? args[3]
+        : String.valueOf(Runtime.getRuntime().availableProcessors());
+
+    SimpleJobScheduler scheduler = workers.equals("elastic")
+        ? new SimpleJobScheduler(new AutoScalingPolicy(2,
+            Runtime.getRuntime().availableProcessors() * 4, Duration.ofMillis(20),
+            Duration.ofMillis(250), 2, Duration.ofSeconds(10), Duration.ofMillis(500), 2))
+        : new SimpleJobScheduler(Integer.parseInt(workers));
+    scheduler.registerTenant("web", 4, Integer.MAX_VALUE);
+    scheduler.registerTenant("api", 2, Integer.MAX_VALUE);
+    scheduler.registerTenant("batch", 1, Integer.MAX_VALUE);
+
+    System.out.printf("Load: %ds at %d jobs/s, %.0f%% CPU-bound, workers=%s%n", durationSeconds,
+        jobsPerSecond, cpuFraction * 100, workers);
+
+    // Open loop: each submit is due at a fixed time regardless of how the scheduler keeps up
+    long intervalNanos = TimeUnit.SECONDS.toNanos(1) / jobsPerSecond;
+    long start = System.nanoTime();
+    long end = start + TimeUnit.SECONDS.toNanos(durationSeconds);
+    long submitted = 0;
+    for (long due = start; due < end; due += intervalNanos) {
+      long now = System.nanoTime();
+      if (due > now) {
+        LockSupport.parkNanos(due - now);
+      }
+      String tenant = TENANTS[(int) (submitted % TENANTS.length)];
+      boolean cpu = ThreadLocalRandom.current().nextDouble() < cpuFraction;
+      scheduler.submit(new LoadJob("load-" + submitted, tenant, cpu));
+      submitted++;
+    }
+    long submitSeconds = System.nanoTime() - start;
+
+    // Drain
+    long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+    while (completed.get() < submitted && System.nanoTime() < drainDeadline) {
+      Thread.sleep(50);
+    }
+    long elapsed = System.nanoTime() - start;
+
+    System.out.printf("Submitted %d in %.1fs, completed %d in %.1fs (%.0f jobs/s)%n", submitted,
+        submitSeconds / 1e9, completed.get(), elapsed / 1e9, completed.get() / (elapsed / 1e9));
+    System.out.println("Submit -> start : " + startLatency.summaryMillis());
+    System.out.println("Submit -> done  : " + endToEndLatency.summaryMillis());
+    scheduler.getTenantStats().values().forEach(stats -> System.out.println("  " + stats));
+    System.out.println("Final pool size: " + scheduler.getPoolSize());
+    scheduler.getScalingEvents().forEach(event -> System.out.println("  " + event));
+    scheduler.shutdown();
+  }
+
+  static class LoadJob implements Job {
+
+    private final String id;
+    private final String tenantId;
+    private final boolean cpuBound;
+    private final long createdAt = System.nanoTime();
+
+    LoadJob(String id, String tenantId, boolean cpuBound) {
+      this.id = id;
+      this.tenantId = tenantId;
+      this.cpuBound = cpuBound;
+    }
+
+    @Override
+    public String getJobId() {
+      return id;
+    }
+
+    @Override
+    public int getPriority() {
+      return 0;
+    }
+
+    @Override
+    public String getTenantId() {
+      return tenantId;
+    }
+
+    @Override
+    public void run() {
+      startLatency.record(System.nanoTime() - createdAt);
+      if (cpuBound) {
+        burnCpu();
+      } else {
+        try {
+          Thread.sleep(BLOCKING_MILLIS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      endToEndLatency.record(System.nanoTime() - createdAt);
+      completed.incrementAndGet();
+    }
+
+    private static long sink;
+
+    private static void burnCpu() {
+      long x = System.nanoTime();
+      long until = x + CPU_WORK_NANOS;
+      while (System.nanoTime() < until) {
+        for (int i = 0; i < 100; i++) {
+          x ^= x << 13;
+          x ^= x >>> 7;
+          x ^= x << 17;
+        }
+      }
+      sink = x;
+    }
+  }
+}
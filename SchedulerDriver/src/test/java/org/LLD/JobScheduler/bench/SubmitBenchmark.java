@@ -0,0 +1,88 @@
+package org.LLD.JobScheduler.bench;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.LLD.JobScheduler.Job;
+import org.LLD.JobScheduler.RetentionPolicy;
+import org.LLD.JobScheduler.SimpleJobScheduler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Raw submit() throughput from 4 concurrent producers, no-op jobs spread over N tenants
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SubmitBenchmark {
+
+  @Param({"1", "8"})
+  public int tenants;
+
+  private SimpleJobScheduler scheduler;
+  private final AtomicLong ids = new AtomicLong();
+
+  @Setup(Level.Iteration)
+  public void setUp() {
+    scheduler = new SimpleJobScheduler(Runtime.getRuntime().availableProcessors());
+    // Keep the finished-job store small so GC noise doesn't dominate
+    scheduler.setRetentionPolicy(new RetentionPolicy(10_000, Duration.ofMinutes(1),
+        Long.MAX_VALUE, 0, Duration.ofMillis(100)));
+  }
+
+  @TearDown(Level.Iteration)
+  public void tearDown() {
+    scheduler.shutdown();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public String submit() {
+    long n = ids.incrementAndGet();
+    return scheduler.submit(new NoOpJob("job-" + n, "tenant-" + (n % tenants)));
+  }
+
+  static class NoOpJob implements Job {
+
+    private final String id;
+    private final String tenantId;
+
+    NoOpJob(String id, String tenantId) {
+      this.id = id;
+      this.tenantId = tenantId;
+    }
+
+    @Override
+    public String getJobId() {
+      return id;
+    }
+
+    @Override
+    public int getPriority() {
+      return 0;
+    }
+
+    @Override
+    public String getTenantId() {
+      return tenantId;
+    }
+
+    @Override
+    public void run() {
+    }
+  }
+}
@@ -0,0 +1,73 @@
+package org.LLD.JobScheduler.bench;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.LLD.JobScheduler.Job;
+import org.LLD.JobScheduler.SimpleJobScheduler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Latency distribution from submit() until the job body starts on a worker (idle pool)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SubmitToStartBenchmark {
+
+  private SimpleJobScheduler scheduler;
+  private final AtomicLong ids = new AtomicLong();
+
+  @Setup
+  public void setUp() {
+    scheduler = new SimpleJobScheduler(4);
+  }
+
+  @TearDown
+  public void tearDown() {
+    scheduler.shutdown();
+  }
+
+  @Benchmark
+  public void submitAndAwaitStart() throws InterruptedException {
+    LatchJob job = new LatchJob("job-" + ids.incrementAndGet());
+    scheduler.submit(job);
+    job.started.await();
+  }
+
+  static class LatchJob implements Job {
+
+    private final String id;
+    final CountDownLatch started = new CountDownLatch(1);
+
+    LatchJob(String id) {
+      this.id = id;
+    }
+
+    @Override
+    public String getJobId() {
+      return id;
+    }
+
+    @Override
+    public int getPriority() {
+      return 0;
+    }
+
+    @Override
+    public void run() {
+      started.countDown();
+    }
+  }
+}
@@ -27,7 +27,7 @@ public class UrlShortenerAppApplication {
     System.out.println("Full Short URL: http://short.ly/" + shortCode);
 
     // 5. Redirect/Retrieval Logic
-    String retrievedUrl = service.getOriginalUrl(shortCode);
+    String retrievedUrl = service.redirectLocation(shortCode);
     System.out.println("Retrieved URL from DB: " + retrievedUrl);
 
     if (originalUrl.equals(retrievedUrl)) {
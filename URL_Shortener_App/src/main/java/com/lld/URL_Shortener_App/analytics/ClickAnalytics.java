@@ -0,0 +1,129 @@
+package com.lld.URL_Shortener_App.analytics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Asynchronous click pipeline for redirects.
+// The redirect thread only drops the short code into a striped lock-free ring (record).
+// One aggregator thread drains the rings every drain-interval, pre-aggregates the batch and
+// updates:
+//   - exact per-code counters (LongAdder per code, read without locking)
+//   - a Count-Min Sketch (fixed-memory estimate for any code)
+//   - Space-Saving heavy hitters with per-minute series, plus a global per-minute series
+// An immutable ClickSnapshot is rebuilt every snapshot-interval for the stats endpoint.
+@Component
+public class ClickAnalytics implements AutoCloseable {
+
+  private static final int SKETCH_DEPTH = 4;
+  private static final int SKETCH_WIDTH = 1 << 16;
+  private static final int HEAVY_HITTERS_PER_TOP_K = 20; // Extra counters keep top-K accurate
+
+  private final boolean enabled;
+  private final ClickBuffer buffer;
+  private final LongAdder dropped = new LongAdder();
+  private final int topK;
+  private final int windowMinutes;
+
+  // Aggregator state, guarded by this (except the per-code adders, which readers sum freely)
+  private final Map<String, LongAdder> clicksByCode = new ConcurrentHashMap<>();
+  private final CountMinSketch sketch = new CountMinSketch(SKETCH_DEPTH, SKETCH_WIDTH);
+  private final SpaceSaving heavyHitters;
+  private final MinuteSeries clicksPerMinute;
+  private final Map<String, long[]> batch = new HashMap<>();
+  private long totalClicks;
+
+  private volatile ClickSnapshot snapshot = ClickSnapshot.empty();
+  private final ScheduledExecutorService aggregator;
+
+  public ClickAnalytics(
+      @Value("${url.analytics.enabled:true}") boolean enabled,
+      @Value("${url.analytics.ring-capacity:8192}") int ringCapacity,
+      @Value("${url.analytics.top-k:10}") int topK,
+      @Value("${url.analytics.window-minutes:60}") int windowMinutes,
+      @Value("${url.analytics.drain-interval:50ms}") Duration drainInterval,
+      @Value("${url.analytics.snapshot-interval:5s}") Duration snapshotInterval) {
+    this.enabled = enabled;
+    this.buffer = new ClickBuffer(Runtime.getRuntime().availableProcessors() * 2, ringCapacity);
+    this.topK = topK;
+    this.windowMinutes = windowMinutes;
+    this.heavyHitters = new SpaceSaving(topK * HEAVY_HITTERS_PER_TOP_K, windowMinutes);
+    this.clicksPerMinute = new MinuteSeries(windowMinutes);
+
+    this.aggregator = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread t = new Thread(r, "click-aggregator");
+      t.setDaemon(true);
+      return t;
+    });
+    if (enabled) {
+      long drainMillis = drainInterval.toMillis();
+      long snapshotMillis = snapshotInterval.toMillis();
+      aggregator.scheduleWithFixedDelay(this::drain, drainMillis, drainMillis,
+          TimeUnit.MILLISECONDS);
+      aggregator.scheduleWithFixedDelay(this::publishSnapshot, snapshotMillis, snapshotMillis,
+          TimeUnit.MILLISECONDS);
+    }
+  }
+
+  // Redirect hot path: one CAS on a thread-striped ring, no locks, no allocation
+  public void record(String shortCode) {
+    if (enabled && !buffer.offer(shortCode)) {
+      dropped.increment();
+    }
+  }
+
+  public ClickSnapshot snapshot() {
+    return snapshot;
+  }
+
+  // Up to drain-interval behind the redirects
+  public CodeClicks clicks(String shortCode) {
+    LongAdder exact = clicksByCode.get(shortCode);
+    long estimate;
+    synchronized (this) {
+      estimate = sketch.estimate(CountMinSketch.hash(shortCode));
+    }
+    return new CodeClicks(shortCode, exact == null ? 0 : exact.sum(), estimate);
+  }
+
+  @Override
+  public void close() {
+    aggregator.shutdownNow();
+  }
+
+  synchronized void drain() {
+    long minute = System.currentTimeMillis() / 60_000;
+    buffer.drain(shortCode -> batch.computeIfAbsent(shortCode, code -> new long[1])[0]++);
+    for (Map.Entry<String, long[]> entry : batch.entrySet()) {
+      String shortCode = entry.getKey();
+      long clicks = entry.getValue()[0];
+      clicksByCode.computeIfAbsent(shortCode, code -> new LongAdder()).add(clicks);
+      sketch.add(CountMinSketch.hash(shortCode), clicks);
+      heavyHitters.offer(shortCode, clicks, minute);
+      clicksPerMinute.add(minute, clicks);
+      totalClicks += clicks;
+    }
+    batch.clear();
+  }
+
+  synchronized void publishSnapshot() {
+    long minute = System.currentTimeMillis() / 60_000;
+    List<ClickSnapshot.TopCode> top = new ArrayList<>(topK);
+    for (SpaceSaving.Counter counter : heavyHitters.top(topK)) {
+      top.add(new ClickSnapshot.TopCode(counter.shortCode, counter.count, counter.error,
+          counter.perMinute.snapshot(minute)));
+    }
+    snapshot = new ClickSnapshot(Instant.now(), totalClicks, dropped.sum(),
+        clicksPerMinute.snapshot(minute), top);
+  }
+}
@@ -0,0 +1,96 @@
+package com.lld.URL_Shortener_App.analytics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+// Lock-free hand-off from redirect threads to the single aggregator thread.
+// Producers are striped by thread id over bounded rings, so concurrent redirects rarely CAS
+// the same tail. Each ring is multi-producer / single-consumer and lossy: when the aggregator
+// falls behind, offer fails fast instead of blocking a request.
+final class ClickBuffer {
+
+  private final Ring[] rings;
+  private final int mask;
+
+  ClickBuffer(int stripes, int ringCapacity) {
+    int size = Integer.highestOneBit(Math.max(1, stripes) * 2 - 1);
+    this.rings = new Ring[size];
+    for (int i = 0; i < size; i++) {
+      rings[i] = new Ring(ringCapacity);
+    }
+    this.mask = size - 1;
+  }
+
+  boolean offer(String shortCode) {
+    long h = Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L;
+    return rings[(int) (h >>> 32) & mask].offer(shortCode);
+  }
+
+  // Aggregator thread only
+  long drain(Consumer<String> sink) {
+    long drained = 0;
+    for (Ring ring : rings) {
+      drained += ring.drain(sink);
+    }
+    return drained;
+  }
+
+  static final class Ring {
+
+    private final AtomicReferenceArray<String> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong(); // Next sequence to claim (producers)
+    private volatile long head;                       // Next sequence to read (consumer)
+
+    Ring(int capacity) {
+      int size = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1);
+      this.slots = new AtomicReferenceArray<>(size);
+      this.mask = size - 1;
+    }
+
+    boolean offer(String shortCode) {
+      long t = claim();
+      if (t < 0) {
+        return false;
+      }
+      publish(t, shortCode);
+      return true;
+    }
+
+    // Sequence of a slot only this producer may write, or -1 if the ring is full
+    long claim() {
+      long t;
+      do {
+        t = tail.get();
+        if (t - head >= slots.length()) {
+          return -1;
+        }
+      } while (!tail.compareAndSet(t, t + 1));
+      return t;
+    }
+
+    void publish(long sequence, String shortCode) {
+      slots.setRelease((int) sequence & mask, shortCode);
+    }
+
+    // Stops at the first claimed-but-unpublished slot; the next drain picks it up
+    int drain(Consumer<String> sink) {
+      long h = head;
+      int drained = 0;
+      while (true) {
+        int slot = (int) h & mask;
+        String shortCode = slots.getAcquire(slot);
+        if (shortCode == null) {
+          break;
+        }
+        slots.setPlain(slot, null);
+        sink.accept(shortCode);
+        h++;
+        drained++;
+      }
+      head = h; // Volatile write frees the slots (and publishes the nulls) to producers
+      return drained;
+    }
+  }
+}
@@ -0,0 +1,24 @@
+package com.lld.URL_Shortener_App.analytics;
+
+import java.time.Instant;
+import java.util.List;
+
+// Periodic, immutable view of the click aggregates served at /api/stats/clicks
+public record ClickSnapshot(
+    Instant generatedAt,
+    long totalClicks,
+    long droppedClicks, // Lost because the hand-off buffer was full
+    List<Long> clicksPerMinute, // Oldest first, ending with the current minute
+    List<TopCode> topCodes) {
+
+  public record TopCode(
+      String shortCode,
+      long clicks,
+      long maxOverestimate, // Space-Saving error bound: true clicks >= clicks - maxOverestimate
+      List<Long> clicksPerMinute) {
+  }
+
+  static ClickSnapshot empty() {
+    return new ClickSnapshot(Instant.now(), 0, 0, List.of(), List.of());
+  }
+}
@@ -0,0 +1,5 @@
+package com.lld.URL_Shortener_App.analytics;
+
+// Clicks for one code: the exact counter and the Count-Min Sketch estimate
+public record CodeClicks(String shortCode, long clicks, long estimatedClicks) {
+}
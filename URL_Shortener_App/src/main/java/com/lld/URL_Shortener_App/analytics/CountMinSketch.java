@@ -0,0 +1,47 @@
+package com.lld.URL_Shortener_App.analytics;
+
+// Fixed-memory frequency estimates for any code: depth rows of width counters.
+// Estimates never undercount, and overcount by at most ~e/width of the total with
+// probability 1 - e^-depth. Single writer (the aggregator); readers hold its lock.
+final class CountMinSketch {
+
+  private final long[][] rows;
+  private final int mask;
+
+  CountMinSketch(int depth, int width) {
+    int size = Integer.highestOneBit(Math.max(2, width) * 2 - 1);
+    this.rows = new long[depth][size];
+    this.mask = size - 1;
+  }
+
+  void add(long hash, long count) {
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32) | 1; // Odd, so the rows probe different columns
+    for (int i = 0; i < rows.length; i++) {
+      rows[i][(h1 + i * h2) & mask] += count;
+    }
+  }
+
+  long estimate(long hash) {
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32) | 1;
+    long min = Long.MAX_VALUE;
+    for (int i = 0; i < rows.length; i++) {
+      min = Math.min(min, rows[i][(h1 + i * h2) & mask]);
+    }
+    return min;
+  }
+
+  static long hash(String shortCode) {
+    // FNV-1a 64 over UTF-16 code units, then a murmur3 finalizer for better low bits
+    long h = 0xcbf29ce484222325L;
+    for (int i = 0; i < shortCode.length(); i++) {
+      h ^= shortCode.charAt(i);
+      h *= 0x100000001b3L;
+    }
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    return h;
+  }
+}
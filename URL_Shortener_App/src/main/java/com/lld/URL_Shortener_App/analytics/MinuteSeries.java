@@ -0,0 +1,41 @@
+package com.lld.URL_Shortener_App.analytics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Ring of per-minute counts covering the last `minutes` minutes; stale buckets reset on reuse
+final class MinuteSeries {
+
+  private final long[] counts;
+  private final long[] bucketMinute;
+
+  MinuteSeries(int minutes) {
+    this.counts = new long[minutes];
+    this.bucketMinute = new long[minutes];
+    Arrays.fill(bucketMinute, -1);
+  }
+
+  void add(long minute, long count) {
+    int i = (int) (minute % counts.length);
+    if (bucketMinute[i] != minute) {
+      bucketMinute[i] = minute;
+      counts[i] = 0;
+    }
+    counts[i] += count;
+  }
+
+  void clear() {
+    Arrays.fill(bucketMinute, -1);
+  }
+
+  // Oldest first, ending with the current minute
+  List<Long> snapshot(long nowMinute) {
+    List<Long> series = new ArrayList<>(counts.length);
+    for (long m = nowMinute - counts.length + 1; m <= nowMinute; m++) {
+      int i = (int) Math.floorMod(m, counts.length);
+      series.add(m >= 0 && bucketMinute[i] == m ? counts[i] : 0L);
+    }
+    return series;
+  }
+}
@@ -0,0 +1,109 @@
+package com.lld.URL_Shortener_App.analytics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Space-Saving heavy hitters: tracks at most `capacity` codes in O(capacity) memory.
+// A new code evicts the current minimum and inherits its count, recorded as its error bound.
+// Any code with more than total/capacity clicks is guaranteed to be tracked.
+// Counters sit in an indexed min-heap, so an update is O(log capacity).
+// Single writer (the aggregator); readers hold its lock.
+final class SpaceSaving {
+
+  static final class Counter {
+    String shortCode;
+    long count;
+    long error; // count may exceed the true clicks by at most this much
+    int heapIndex;
+    final MinuteSeries perMinute;
+
+    Counter(int minutes) {
+      this.perMinute = new MinuteSeries(minutes);
+    }
+  }
+
+  private final Counter[] heap;
+  private final Map<String, Counter> byCode;
+  private final int minutes;
+  private int size;
+
+  SpaceSaving(int capacity, int minutes) {
+    this.heap = new Counter[capacity];
+    this.byCode = new HashMap<>(capacity * 2);
+    this.minutes = minutes;
+  }
+
+  void offer(String shortCode, long count, long minute) {
+    Counter counter = byCode.get(shortCode);
+    boolean appended = false;
+    if (counter == null) {
+      if (size < heap.length) {
+        counter = new Counter(minutes);
+        counter.heapIndex = size;
+        heap[size++] = counter;
+        appended = true;
+      } else {
+        counter = heap[0]; // Evict the minimum; the newcomer inherits its count as error
+        byCode.remove(counter.shortCode);
+        counter.error = counter.count;
+        counter.perMinute.clear();
+      }
+      counter.shortCode = shortCode;
+      byCode.put(shortCode, counter);
+    }
+    counter.count += count;
+    counter.perMinute.add(minute, count);
+    if (appended) {
+      siftUp(counter.heapIndex);
+    } else {
+      siftDown(counter.heapIndex); // Counts only grow, so an existing counter can only sink
+    }
+  }
+
+  // Highest counts first
+  List<Counter> top(int k) {
+    Counter[] sorted = Arrays.copyOf(heap, size);
+    Arrays.sort(sorted, Comparator.comparingLong((Counter c) -> c.count).reversed());
+    return new ArrayList<>(Arrays.asList(sorted).subList(0, Math.min(k, size)));
+  }
+
+  private void siftUp(int i) {
+    Counter counter = heap[i];
+    while (i > 0) {
+      int parent = (i - 1) >>> 1;
+      if (heap[parent].count <= counter.count) {
+        break;
+      }
+      heap[i] = heap[parent];
+      heap[i].heapIndex = i;
+      i = parent;
+    }
+    heap[i] = counter;
+    counter.heapIndex = i;
+  }
+
+  private void siftDown(int i) {
+    Counter counter = heap[i];
+    while (true) {
+      int child = 2 * i + 1;
+      if (child >= size) {
+        break;
+      }
+      if (child + 1 < size && heap[child + 1].count < heap[child].count) {
+        child++;
+      }
+      if (heap[child].count >= counter.count) {
+        break;
+      }
+      heap[i] = heap[child];
+      heap[i].heapIndex = i;
+      i = child;
+    }
+    heap[i] = counter;
+    counter.heapIndex = i;
+  }
+}
@@ -0,0 +1,145 @@
+package com.lld.URL_Shortener_App.codec;
+
+// Base62 short codes <-> numeric ids. Shared by the service (encode on shorten) and the
+// id-indexed stores (decode on lookup).
+public final class Base62 {
+
+  private static final String ALLOWED_CHARS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+  private static final char[] CHAR_MAP = ALLOWED_CHARS.toCharArray();
+  private static final int BASE = ALLOWED_CHARS.length(); // 62
+
+  // Longest code: Long.MAX_VALUE needs 11 digits
+  public static final int MAX_LENGTH = 11;
+
+  // ASCII -> digit value, -1 for characters outside the alphabet
+  private static final byte[] DIGITS = new byte[128];
+
+  // POWERS[i] = 62^i, the smallest id with i + 1 digits (comparisons instead of divisions)
+  private static final long[] POWERS = new long[MAX_LENGTH];
+
+  static {
+    POWERS[0] = 1;
+    for (int i = 1; i < POWERS.length; i++) {
+      POWERS[i] = POWERS[i - 1] * BASE;
+    }
+
+    java.util.Arrays.fill(DIGITS, (byte) -1);
+    for (int i = 0; i < CHAR_MAP.length; i++) {
+      DIGITS[CHAR_MAP[i]] = (byte) i;
+    }
+  }
+
+  private Base62() {
+  }
+
+  // Algorithm: Base 10 (ID) -> Base 62 (String). Digits are written straight into an
+  // exact-size array from the right, so there is no builder and no reverse pass.
+  public static String encode(long id) {
+    char[] chars = new char[length(id)];
+    encode(id, chars, 0);
+    return new String(chars);
+  }
+
+  // Number of digits encode produces for id
+  public static int length(long id) {
+    if (id < 0) {
+      throw new IllegalArgumentException("Negative id: " + id);
+    }
+    int length = 1;
+    while (length < MAX_LENGTH && id >= POWERS[length]) {
+      length++;
+    }
+    return length;
+  }
+
+  // Writes encode(id) into dst[offset, offset + length(id)); returns the length. No allocation.
+  public static int encode(long id, char[] dst, int offset) {
+    int length = length(id);
+    for (int i = offset + length - 1; i >= offset; i--) {
+      dst[i] = CHAR_MAP[(int) (id % BASE)];
+      id /= BASE;
+    }
+    return length;
+  }
+
+  // Same as encode(long, char[], int), as ASCII bytes (e.g. straight into a response header)
+  public static int encode(long id, byte[] dst, int offset) {
+    int length = length(id);
+    for (int i = offset + length - 1; i >= offset; i--) {
+      dst[i] = (byte) CHAR_MAP[(int) (id % BASE)];
+      id /= BASE;
+    }
+    return length;
+  }
+
+  // Exactly width digits, left-padded with the zero digit; value must be below 62^width
+  public static void encodeFixed(long value, int width, char[] dst, int offset) {
+    for (int i = offset + width - 1; i >= offset; i--) {
+      dst[i] = CHAR_MAP[(int) (value % BASE)];
+      value /= BASE;
+    }
+    if (value != 0) {
+      throw new IllegalArgumentException("Value needs more than " + width + " digits");
+    }
+  }
+
+  public static void encodeFixed(long value, int width, byte[] dst, int offset) {
+    for (int i = offset + width - 1; i >= offset; i--) {
+      dst[i] = (byte) CHAR_MAP[(int) (value % BASE)];
+      value /= BASE;
+    }
+    if (value != 0) {
+      throw new IllegalArgumentException("Value needs more than " + width + " digits");
+    }
+  }
+
+  // 62^width, the number of distinct fixed-width codes (width <= 10 fits a long)
+  public static long capacity(int width) {
+    if (width < 1 || width > 10) {
+      throw new IllegalArgumentException("Fixed width must be 1..10: " + width);
+    }
+    return POWERS[width];
+  }
+
+  /**
+   * Inverse of {@link #encode}. Returns -1 for anything encode could not have produced:
+   * empty input, characters outside the alphabet, a leading zero digit, or overflow.
+   * Allocation-free, so it is safe to call on every redirect.
+   */
+  public static long decode(CharSequence code) {
+    int length = code.length();
+    if (length == 0 || (length > 1 && code.charAt(0) == CHAR_MAP[0])) {
+      return -1;
+    }
+    long value = 0;
+    for (int i = 0; i < length; i++) {
+      char c = code.charAt(i);
+      int digit = c < 128 ? DIGITS[c] : -1;
+      if (digit < 0 || value > (Long.MAX_VALUE - digit) / BASE) {
+        return -1;
+      }
+      value = value * BASE + digit;
+    }
+    return value;
+  }
+
+  /**
+   * Inverse of {@link #encodeFixed}: -1 unless code is exactly width alphabet characters.
+   * Leading zero digits are padding here, not an error. Allocation-free.
+   */
+  public static long decodeFixed(CharSequence code, int width) {
+    if (code.length() != width) {
+      return -1;
+    }
+    long value = 0;
+    for (int i = 0; i < width; i++) {
+      char c = code.charAt(i);
+      int digit = c < 128 ? DIGITS[c] : -1;
+      if (digit < 0) {
+        return -1;
+      }
+      value = value * BASE + digit;
+    }
+    return value;
+  }
+}
@@ -0,0 +1,96 @@
+package com.lld.URL_Shortener_App.codec;
+
+// Keyed bijection over [0, domain): a balanced 4-round Feistel network on the smallest even
+// number of bits covering the domain, with cycle walking (re-apply until the result lands
+// back inside the domain). Consecutive ids come out as unrelated-looking values, and
+// unscramble recovers the id without any lookup table.
+// This hides the sequence from casual guessing; it is not encryption.
+public final class FeistelScrambler {
+
+  private static final int ROUNDS = 4;
+
+  private final long domain;
+  private final int halfBits;
+  private final long halfMask;
+  private final long[] roundKeys = new long[ROUNDS];
+
+  public FeistelScrambler(long domain, long key) {
+    if (domain < 2) {
+      throw new IllegalArgumentException("Domain too small: " + domain);
+    }
+    int bits = 64 - Long.numberOfLeadingZeros(domain - 1);
+    this.domain = domain;
+    this.halfBits = (bits + 1) / 2;
+    this.halfMask = (1L << halfBits) - 1;
+    // The block is at most 4x the domain, so cycle walking averages under 4 passes
+    long seed = key;
+    for (int i = 0; i < ROUNDS; i++) {
+      seed += 0x9e3779b97f4a7c15L; // splitmix64
+      roundKeys[i] = mix(seed);
+    }
+  }
+
+  public long domain() {
+    return domain;
+  }
+
+  public long scramble(long value) {
+    checkRange(value);
+    long x = value;
+    do {
+      x = encrypt(x);
+    } while (x >= domain);
+    return x;
+  }
+
+  public long unscramble(long value) {
+    checkRange(value);
+    long x = value;
+    do {
+      x = decrypt(x);
+    } while (x >= domain);
+    return x;
+  }
+
+  private long encrypt(long x) {
+    long left = x >>> halfBits;
+    long right = x & halfMask;
+    for (int i = 0; i < ROUNDS; i++) {
+      long next = left ^ round(right, roundKeys[i]);
+      left = right;
+      right = next;
+    }
+    return (left << halfBits) | right;
+  }
+
+  private long decrypt(long x) {
+    long left = x >>> halfBits;
+    long right = x & halfMask;
+    for (int i = ROUNDS - 1; i >= 0; i--) {
+      long previous = right ^ round(left, roundKeys[i]);
+      right = left;
+      left = previous;
+    }
+    return (left << halfBits) | right;
+  }
+
+  private long round(long half, long key) {
+    return mix(half ^ key) & halfMask;
+  }
+
+  private void checkRange(long value) {
+    if (value < 0 || value >= domain) {
+      throw new IllegalArgumentException("Value outside [0, " + domain + "): " + value);
+    }
+  }
+
+  // murmur3 finalizer
+  private static long mix(long h) {
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
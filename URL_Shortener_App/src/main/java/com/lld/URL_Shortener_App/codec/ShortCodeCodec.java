@@ -0,0 +1,82 @@
+package com.lld.URL_Shortener_App.codec;
+
+// Id <-> short code, as configured: plain variable-width Base62 (the original codes), or
+// fixed-width codes, optionally scrambled so consecutive ids don't give consecutive codes.
+// Every store and the service use the same instance, so a code always decodes to its id.
+// decode never allocates; the char[]/byte[] encoders don't either.
+public final class ShortCodeCodec {
+
+  // Variable-width Base62(id), the format codes have always had
+  public static final ShortCodeCodec BASE62 = new ShortCodeCodec(0, null);
+
+  private final int width;                 // 0 = variable width
+  private final FeistelScrambler scrambler; // null = ids in order
+
+  /**
+   * @param width     fixed code length (1..10), or 0 for variable-width plain Base62
+   * @param scrambler bijection over [0, 62^width) applied to ids; needs a fixed width
+   */
+  public ShortCodeCodec(int width, FeistelScrambler scrambler) {
+    if (scrambler != null && (width == 0 || scrambler.domain() != Base62.capacity(width))) {
+      throw new IllegalArgumentException("Scrambled codes need a fixed width and a 62^width domain");
+    }
+    if (width != 0) {
+      Base62.capacity(width); // Validates the width
+    }
+    this.width = width;
+    this.scrambler = scrambler;
+  }
+
+  // Fixed-width codes, scrambled with key when it is non-null
+  public static ShortCodeCodec fixedWidth(int width, Long key) {
+    return new ShortCodeCodec(width,
+        key == null ? null : new FeistelScrambler(Base62.capacity(width), key));
+  }
+
+  public String encode(long id) {
+    if (width == 0) {
+      return Base62.encode(id);
+    }
+    char[] chars = new char[width];
+    Base62.encodeFixed(value(id), width, chars, 0);
+    return new String(chars);
+  }
+
+  // Writes the code for id at dst[offset]; returns its length
+  public int encode(long id, char[] dst, int offset) {
+    if (width == 0) {
+      return Base62.encode(id, dst, offset);
+    }
+    Base62.encodeFixed(value(id), width, dst, offset);
+    return width;
+  }
+
+  public int encode(long id, byte[] dst, int offset) {
+    if (width == 0) {
+      return Base62.encode(id, dst, offset);
+    }
+    Base62.encodeFixed(value(id), width, dst, offset);
+    return width;
+  }
+
+  // The id behind a code, or -1 if this codec could not have produced it
+  public long decode(CharSequence code) {
+    if (width == 0) {
+      return Base62.decode(code);
+    }
+    long value = Base62.decodeFixed(code, width);
+    return value < 0 || scrambler == null ? value : scrambler.unscramble(value);
+  }
+
+  // Upper bound on encoded length
+  public int maxLength() {
+    return width == 0 ? Base62.MAX_LENGTH : width;
+  }
+
+  private long value(long id) {
+    if (scrambler != null) {
+      return scrambler.scramble(id); // Rejects ids outside the code space
+    }
+    return id;
+  }
+}
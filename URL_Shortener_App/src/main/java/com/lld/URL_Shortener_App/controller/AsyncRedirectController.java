@@ -0,0 +1,35 @@
+package com.lld.URL_Shortener_App.controller;
+
+import com.lld.URL_Shortener_App.service.UrlShortenerService;
+import java.util.concurrent.CompletableFuture;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+// Non-blocking redirects (url.serving.mode=async): the handler returns a future and the
+// servlet request goes async, so the container thread is free while the store works. The
+// response is written when the future completes.
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api")
+@ConditionalOnProperty(name = "url.serving.mode", havingValue = "async")
+public class AsyncRedirectController {
+
+  private static final ResponseEntity<Void> NOT_FOUND = ResponseEntity.notFound().build();
+
+  private final UrlShortenerService service;
+
+  // Same contract as RedirectController.redirect: 302 with Location, or an empty 404
+  @GetMapping("/{shortCode}")
+  public CompletableFuture<ResponseEntity<Void>> redirect(@PathVariable String shortCode) {
+    return service.redirectLocationAsync(shortCode).thenApply(location -> location == null
+        ? NOT_FOUND
+        : ResponseEntity.status(HttpStatus.FOUND).header(HttpHeaders.LOCATION, location).build());
+  }
+}
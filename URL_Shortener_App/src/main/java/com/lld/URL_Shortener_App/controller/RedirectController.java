@@ -0,0 +1,37 @@
+package com.lld.URL_Shortener_App.controller;
+
+import com.lld.URL_Shortener_App.service.UrlShortenerService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+// Blocking redirects (url.serving.mode=blocking): the request thread waits for the store.
+// With spring.threads.virtual.enabled that thread is virtual, so waiting only parks it.
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api")
+@ConditionalOnProperty(name = "url.serving.mode", havingValue = "blocking", matchIfMissing = true)
+public class RedirectController {
+
+  private final UrlShortenerService service;
+
+  // API to Redirect: status and Location are written straight to the response (no
+  // ResponseEntity, no URI per request); unknown codes get an empty 404
+  @GetMapping("/{shortCode}")
+  public void redirect(@PathVariable String shortCode, HttpServletResponse response) {
+    String location = service.redirectLocation(shortCode);
+    if (location == null) {
+      response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+      return;
+    }
+
+    // Return 302 Found (Temporary Redirect)
+    response.setStatus(HttpServletResponse.SC_FOUND);
+    response.setHeader(HttpHeaders.LOCATION, location);
+  }
+}
@@ -1,35 +1,175 @@
 package com.lld.URL_Shortener_App.controller;
 
+import com.lld.URL_Shortener_App.analytics.ClickSnapshot;
+import com.lld.URL_Shortener_App.analytics.CodeClicks;
+import com.lld.URL_Shortener_App.dto.ResolveRequest;
+import com.lld.URL_Shortener_App.dto.ResolveResponse;
+import com.lld.URL_Shortener_App.dto.ShortenRequest;
+import com.lld.URL_Shortener_App.dto.ShortenResponse;
 import com.lld.URL_Shortener_App.service.UrlShortenerService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.SequenceWriter;
+import tools.jackson.databind.json.JsonMapper;
 
-import java.net.URI;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 @RequiredArgsConstructor
 @RestController
 @RequestMapping("/api")
 public class UrlShortenerController {
 
+  // Lines per bulk call into the service: one id reservation + one repository write each
+  private static final int BATCH_SIZE = 1000;
+
   private final UrlShortenerService service;
+  private final JsonMapper jsonMapper;
 
-  // API to Shorten
+  // API to Shorten; with ttlSeconds the link stops resolving after that long (400 unless
+  // it's positive)
   @PostMapping("/shorten")
-  public ResponseEntity<String> shorten(@RequestBody String longUrl) {
-    String shortCode = service.shortenUrl(longUrl);
+  public ResponseEntity<String> shorten(@RequestBody String longUrl,
+      @RequestParam(required = false) Long ttlSeconds) {
+    String shortCode;
+    try {
+      shortCode = service.shortenUrl(longUrl, ttl(ttlSeconds));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().body(e.getMessage());
+    }
     return ResponseEntity.ok("http://short.ly/" + shortCode);
   }
 
-  // API to Redirect
-  @GetMapping("/{shortCode}")
-  public ResponseEntity<Void> redirect(@PathVariable String shortCode) {
-    String longUrl = service.getOriginalUrl(shortCode);
+  // Bulk shorten: NDJSON lines of {"longUrl": ..., "ttlSeconds": ...} in (ttlSeconds optional),
+  // {"shortUrl": ..., "shortCode": ...} out, in input order
+  @PostMapping("/shorten/batch")
+  public void shortenBatch(InputStream body, HttpServletResponse response) throws IOException {
+    streamNdjson(body, response, ShortenRequest.class, requests -> {
+      List<String> longUrls = new ArrayList<>(requests.size());
+      List<Duration> ttls = new ArrayList<>(requests.size());
+      for (ShortenRequest request : requests) {
+        longUrls.add(request.getLongUrl());
+        ttls.add(ttl(request.getTtlSeconds()));
+      }
+      List<String> codes = service.shortenBatch(longUrls, ttls);
+      List<ShortenResponse> results = new ArrayList<>(codes.size());
+      for (String code : codes) {
+        results.add(new ShortenResponse("http://short.ly/" + code, code));
+      }
+      return results;
+    });
+  }
+
+  // Bulk resolve: NDJSON lines of {"shortCode": ...} in, {"shortCode": ..., "longUrl": ...} out
+  // (longUrl is null for unknown codes)
+  @PostMapping("/resolve/batch")
+  public void resolveBatch(InputStream body, HttpServletResponse response) throws IOException {
+    streamNdjson(body, response, ResolveRequest.class, requests -> {
+      List<String> codes = new ArrayList<>(requests.size());
+      for (ResolveRequest request : requests) {
+        codes.add(request.getShortCode());
+      }
+      List<String> longUrls = service.resolveBatch(codes);
+      List<ResolveResponse> results = new ArrayList<>(codes.size());
+      for (int i = 0; i < codes.size(); i++) {
+        results.add(new ResolveResponse(codes.get(i), longUrls.get(i)));
+      }
+      return results;
+    });
+  }
+
+  // Store and cache counters (two path segments so it can't shadow a short code)
+  @GetMapping("/stats/repository")
+  public ResponseEntity<Map<String, Object>> repositoryStats() {
+    return ResponseEntity.ok(service.repositoryStats());
+  }
+
+  // Adds one shard of url.sharding.store and moves its share of the mappings to it in the
+  // background; sharding.rebalancing in /api/stats/repository turns false once that is done
+  @PostMapping("/admin/shards")
+  public ResponseEntity<Map<String, Object>> addShard() {
+    try {
+      service.addShard();
+    } catch (UnsupportedOperationException e) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+    } catch (IllegalStateException e) {
+      return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+    }
+    return ResponseEntity.accepted().body(service.repositoryStats());
+  }
+
+  // Click totals, per-minute series and the hottest codes (refreshed every few seconds)
+  @GetMapping("/stats/clicks")
+  public ResponseEntity<ClickSnapshot> clickStats() {
+    return ResponseEntity.ok(service.clickStats());
+  }
+
+  @GetMapping("/stats/clicks/{shortCode}")
+  public ResponseEntity<CodeClicks> clickStats(@PathVariable String shortCode) {
+    return ResponseEntity.ok(service.clickStats(shortCode));
+  }
+
+  private static Duration ttl(Long ttlSeconds) {
+    return ttlSeconds == null ? null : Duration.ofSeconds(ttlSeconds);
+  }
 
-    // Return 302 Found (Temporary Redirect)
-    return ResponseEntity.status(HttpStatus.FOUND)
-        .location(URI.create(longUrl))
-        .build();
+  // Reads NDJSON lines BATCH_SIZE at a time and streams each batch's results straight out,
+  // so memory stays flat however many lines a request carries.
+  // A line that isn't valid JSON, or a batch the handler rejects with an
+  // IllegalArgumentException (e.g. a TTL that isn't positive), ends the response with an
+  // {"error": ...} line. Every result line before it stands (for shorten, those links are
+  // saved) and nothing after it was processed, so a client resends from the first line without
+  // a result. The status is 400 if no result had been sent yet.
+  private <I, O> void streamNdjson(InputStream body, HttpServletResponse response, Class<I> lineType,
+      Function<List<I>, List<O>> handler) throws IOException {
+    response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+    try (MappingIterator<I> lines = jsonMapper.readerFor(lineType).readValues(body);
+        SequenceWriter out = jsonMapper.writer().withRootValueSeparator("\n")
+            .writeValues(response.getOutputStream())) {
+      List<I> batch = new ArrayList<>(BATCH_SIZE);
+      long read = 0;
+      String error = null;
+      boolean more = true;
+      while (more && error == null) {
+        try {
+          while (batch.size() < BATCH_SIZE && lines.hasNextValue()) {
+            batch.add(lines.nextValue());
+            read++;
+          }
+        } catch (JacksonException e) {
+          // The lines read before the bad one are still handled
+          error = "Line " + (read + 1) + " is not valid: " + e.getOriginalMessage();
+        }
+        more = batch.size() == BATCH_SIZE;
+        if (batch.isEmpty()) {
+          break;
+        }
+        try {
+          out.writeAll(handler.apply(batch));
+        } catch (IllegalArgumentException e) {
+          error = e.getMessage();
+          break;
+        }
+        out.flush();
+        batch.clear();
+      }
+      if (error != null) {
+        if (!response.isCommitted()) {
+          response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+        }
+        out.write(Map.of("error", error));
+      }
+    }
   }
 }
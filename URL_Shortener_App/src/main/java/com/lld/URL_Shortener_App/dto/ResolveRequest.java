@@ -0,0 +1,8 @@
+package com.lld.URL_Shortener_App.dto;
+
+import lombok.Data;
+
+@Data
+public class ResolveRequest {
+  private String shortCode;
+}
@@ -0,0 +1,11 @@
+package com.lld.URL_Shortener_App.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ResolveResponse {
+  private String shortCode;
+  private String longUrl; // null when the code is unknown
+}
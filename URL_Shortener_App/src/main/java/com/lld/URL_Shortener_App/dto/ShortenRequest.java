@@ -3,6 +3,7 @@ package com.lld.URL_Shortener_App.dto;
 import lombok.Data;
 
 @Data
-class ShortenRequest {
+public class ShortenRequest {
   private String longUrl;
+  private Long ttlSeconds; // Optional: the link expires this long after shortening
 }
\ No newline at end of file
@@ -6,7 +6,7 @@ import lombok.Data;
 
 @Data
 @AllArgsConstructor
-class ShortenResponse {
+public class ShortenResponse {
   private String shortUrl;
   private String shortCode;
 }
\ No newline at end of file
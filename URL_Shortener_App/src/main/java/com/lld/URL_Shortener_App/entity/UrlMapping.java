@@ -1,20 +1,54 @@
 package com.lld.URL_Shortener_App.entity;
 
+import java.net.URI;
 import java.time.LocalDateTime;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 // Entity
 @Data
-@AllArgsConstructor
 @NoArgsConstructor
 public class UrlMapping {
   private Long id;
   private String longUrl;
   private String shortCode;
   private LocalDateTime createdDate;
-}
+  private LocalDateTime expiresAt; // null = never expires
+
+  // Cached redirect target, see redirectLocation()
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  private transient String location;
 
+  public UrlMapping(Long id, String longUrl, String shortCode, LocalDateTime createdDate) {
+    this(id, longUrl, shortCode, createdDate, null);
+  }
 
+  public UrlMapping(Long id, String longUrl, String shortCode, LocalDateTime createdDate,
+      LocalDateTime expiresAt) {
+    this.id = id;
+    this.longUrl = longUrl;
+    this.shortCode = shortCode;
+    this.createdDate = createdDate;
+    this.expiresAt = expiresAt;
+  }
 
+  // The long URL validated and in ASCII form, ready for a Location header. Parsed on the first
+  // redirect and kept with the mapping, so a cached hot link never re-parses it. Racing threads
+  // may both parse; they store equal Strings. Throws IllegalArgumentException for an invalid URL.
+  public String redirectLocation() {
+    String cached = location;
+    if (cached == null) {
+      cached = URI.create(longUrl).toASCIIString();
+      location = cached;
+    }
+    return cached;
+  }
+}
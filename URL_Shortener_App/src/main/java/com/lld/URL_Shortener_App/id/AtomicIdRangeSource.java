@@ -0,0 +1,24 @@
+package com.lld.URL_Shortener_App.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Process-local range source: unique within one JVM, restarts from the initial value
+public class AtomicIdRangeSource implements IdRangeSource {
+
+  private final AtomicLong lastReserved;
+
+  // Ids start right after lastIssued
+  public AtomicIdRangeSource(long lastIssued) {
+    this.lastReserved = new AtomicLong(lastIssued);
+  }
+
+  @Override
+  public long reserve(int count) {
+    return lastReserved.getAndAdd(count) + 1;
+  }
+
+  @Override
+  public void advanceTo(long lastIssued) {
+    lastReserved.accumulateAndGet(lastIssued, Math::max);
+  }
+}
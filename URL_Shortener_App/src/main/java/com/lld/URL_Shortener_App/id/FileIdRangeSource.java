@@ -0,0 +1,124 @@
+package com.lld.URL_Shortener_App.id;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Durable range source backed by a high-water-mark file: no id above the mark has been handed out.
+// Each reservation takes an exclusive file lock, so several shortener processes can share the
+// file. It reads the mark, advances it by the block size and fsyncs before returning the block.
+// That costs one fsync per block, not per id. After a crash, ids reserved but never used are
+// skipped, never reissued.
+public class FileIdRangeSource implements IdRangeSource, Closeable {
+
+  private static final int RECORD_BYTES = 16; // [mark:8][~mark:8]
+
+  // FileLock is held per JVM, not per channel, so sources on the same file in one process
+  // also serialize on a shared lock (a ReentrantLock, so virtual threads waiting out the
+  // fsync don't pin their carriers)
+  private static final Map<Path, ReentrantLock> PROCESS_LOCKS = new ConcurrentHashMap<>();
+
+  private final FileChannel channel;
+  private final ReentrantLock processLock;
+
+  // floor: no id <= floor is ever returned (e.g. the highest id already stored)
+  public FileIdRangeSource(Path file, long floor) throws IOException {
+    this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+        StandardOpenOption.WRITE);
+    this.processLock = PROCESS_LOCKS.computeIfAbsent(file.toAbsolutePath().normalize(),
+        path -> new ReentrantLock());
+    try {
+      advanceTo(floor);
+    } catch (RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  @Override
+  public long reserve(int count) {
+    processLock.lock();
+    try {
+      try (FileLock ignored = channel.lock()) {
+        long mark = readMark();
+        writeMark(mark + count);
+        return mark + 1;
+      } catch (IOException e) {
+        throw new UncheckedIOException("Could not reserve ids", e);
+      }
+    } finally {
+      processLock.unlock();
+    }
+  }
+
+  @Override
+  public void advanceTo(long lastIssued) {
+    processLock.lock();
+    try {
+      try (FileLock ignored = channel.lock()) {
+        if (readMark() < lastIssued) {
+          writeMark(lastIssued);
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException("Could not advance the id sequence", e);
+      }
+    } finally {
+      processLock.unlock();
+    }
+  }
+
+  // The highest id that may have been handed out by any process sharing the file
+  public long highWaterMark() {
+    processLock.lock();
+    try {
+      try (FileLock ignored = channel.lock(0, Long.MAX_VALUE, true)) {
+        return readMark();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    } finally {
+      processLock.unlock();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  private long readMark() throws IOException {
+    if (channel.size() == 0) {
+      return 0;
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(RECORD_BYTES);
+    while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) > 0) {
+      // Keep reading until the record is complete or the file ends
+    }
+    buffer.flip();
+    if (buffer.remaining() < RECORD_BYTES) {
+      throw new IllegalStateException("Truncated id sequence file");
+    }
+    long mark = buffer.getLong();
+    if (buffer.getLong() != ~mark) {
+      // Resetting could reissue ids that are already live; refuse to continue instead
+      throw new IllegalStateException("Corrupt id sequence file");
+    }
+    return mark;
+  }
+
+  private void writeMark(long mark) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(RECORD_BYTES).putLong(mark).putLong(~mark).flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer, buffer.position());
+    }
+    channel.force(false);
+  }
+}
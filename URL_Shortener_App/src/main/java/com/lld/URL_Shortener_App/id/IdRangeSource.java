@@ -0,0 +1,13 @@
+package com.lld.URL_Shortener_App.id;
+
+// Central counter that hands out whole blocks of ids.
+// Implementations must never return overlapping ranges, including across restarts when
+// they are durable, and across every instance that shares them.
+public interface IdRangeSource {
+
+  // Reserves count consecutive ids and returns the first one
+  long reserve(int count);
+
+  // No id <= lastIssued is reserved from now on (e.g. the highest id a durable store holds)
+  void advanceTo(long lastIssued);
+}
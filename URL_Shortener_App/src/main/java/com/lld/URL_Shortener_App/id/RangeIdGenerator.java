@@ -0,0 +1,107 @@
+package com.lld.URL_Shortener_App.id;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Id generator that leases blocks of ids from an IdRangeSource and serves them locally.
+// Leases are striped by thread id: each stripe owns its own block and cache line, so
+// concurrent callers rarely touch the same memory. The shared source is hit once per
+// blockSize ids per stripe. A striped lease (not a ThreadLocal one) keeps short-lived
+// threads from each wasting a whole block.
+// Ids are unique but only increasing per stripe; stripes interleave their blocks.
+// Stripes use a ReentrantLock, not a monitor: a lease may fsync (FileIdRangeSource), and a
+// virtual thread blocked inside synchronized would pin its carrier thread.
+public class RangeIdGenerator implements AutoCloseable {
+
+  public static final int DEFAULT_BLOCK_SIZE = 10_000;
+
+  private final IdRangeSource source;
+  private final int blockSize;
+  private final Lease[] leases;
+  private final int mask;
+  private final AtomicLong leasedBlocks = new AtomicLong();
+
+  public RangeIdGenerator(IdRangeSource source, int blockSize) {
+    this(source, blockSize, Runtime.getRuntime().availableProcessors() * 4);
+  }
+
+  public RangeIdGenerator(IdRangeSource source, int blockSize, int stripes) {
+    if (blockSize <= 0 || stripes <= 0) {
+      throw new IllegalArgumentException("blockSize and stripes must be positive");
+    }
+    this.source = source;
+    this.blockSize = blockSize;
+    int size = Integer.highestOneBit(stripes - 1) << 1;
+    this.leases = new Lease[Math.max(size, 1)];
+    for (int i = 0; i < leases.length; i++) {
+      leases[i] = new Lease();
+    }
+    this.mask = leases.length - 1;
+  }
+
+  public long nextId() {
+    Lease lease = leases[stripe(Thread.currentThread().threadId())];
+    lease.lock();
+    try {
+      if (lease.next == lease.end) {
+        lease.next = source.reserve(blockSize);
+        lease.end = lease.next + blockSize;
+        leasedBlocks.incrementAndGet();
+      }
+      return lease.next++;
+    } finally {
+      lease.unlock();
+    }
+  }
+
+  // count consecutive ids in one reservation from the source, for bulk inserts
+  public long[] nextIds(int count) {
+    long[] ids = new long[count];
+    if (count == 0) {
+      return ids;
+    }
+    long first = source.reserve(count);
+    leasedBlocks.incrementAndGet();
+    for (int i = 0; i < count; i++) {
+      ids[i] = first + i;
+    }
+    return ids;
+  }
+
+  public long leasedBlocks() {
+    return leasedBlocks.get();
+  }
+
+  public int blockSize() {
+    return blockSize;
+  }
+
+  // Releases the source's file, if it has one. Safe to call more than once: the shards of a
+  // sharded store share one generator and each closes it.
+  @Override
+  public void close() {
+    if (source instanceof Closeable closeable) {
+      try {
+        closeable.close();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  private int stripe(long threadId) {
+    long h = threadId * 0x9E3779B97F4A7C15L; // Spread sequential thread ids over the stripes
+    return (int) (h >>> 32) & mask;
+  }
+
+  // Padded so neighbouring leases don't share a cache line
+  @SuppressWarnings("unused")
+  private static final class Lease extends ReentrantLock {
+    long next;
+    long end;
+    long p1, p2, p3, p4, p5, p6, p7;
+  }
+}
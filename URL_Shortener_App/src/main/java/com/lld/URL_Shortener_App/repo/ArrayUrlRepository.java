@@ -0,0 +1,213 @@
+package com.lld.URL_Shortener_App.repo;
+
+import com.lld.URL_Shortener_App.codec.ShortCodeCodec;
+import com.lld.URL_Shortener_App.entity.UrlMapping;
+import com.lld.URL_Shortener_App.id.AtomicIdRangeSource;
+import com.lld.URL_Shortener_App.id.RangeIdGenerator;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+// Storage indexed by the numeric id behind the short code.
+// Codes are derived from the id (ShortCodeCodec), so a lookup is decode + one array read: no String hashing, no
+// per-entry map node. Ids are dense (leased in consecutive blocks), so chunks fill up; at most
+// one partially used chunk per active id block.
+// Only codes derived from their id can be stored (no custom aliases).
+public class ArrayUrlRepository implements UrlRepository {
+
+  private static final int CHUNK_BITS = 16;
+  private static final int CHUNK_SIZE = 1 << CHUNK_BITS; // 65,536 slots per chunk
+  private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+  private static final int MAX_CHUNKS = 1 << 15;         // ~2.1 billion ids
+
+  static final long FIRST_ID = 10001; // Sequence starts at 10k like InMemoryUrlRepository
+
+  // Chunks are allocated lazily and published with a CAS
+  private final AtomicReferenceArray<Chunk> chunks = new AtomicReferenceArray<>(MAX_CHUNKS);
+  private final RangeIdGenerator ids;
+  private final ShortCodeCodec codec;
+  private final AtomicLong size = new AtomicLong();
+
+  public ArrayUrlRepository() {
+    this(new RangeIdGenerator(new AtomicIdRangeSource(FIRST_ID - 1),
+        RangeIdGenerator.DEFAULT_BLOCK_SIZE));
+  }
+
+  public ArrayUrlRepository(RangeIdGenerator ids) {
+    this(ids, ShortCodeCodec.BASE62);
+  }
+
+  public ArrayUrlRepository(RangeIdGenerator ids, ShortCodeCodec codec) {
+    this.ids = ids;
+    this.codec = codec;
+  }
+
+  private static final class Chunk {
+
+    final AtomicReferenceArray<String> longUrls = new AtomicReferenceArray<>(CHUNK_SIZE);
+    // Written before the URL is published with release semantics, so plain reads are safe
+    final long[] createdMillis = new long[CHUNK_SIZE];
+    final long[] expiresMillis = new long[CHUNK_SIZE]; // 0 = never
+    final boolean[] ownLocation = new boolean[CHUNK_SIZE]; // See RedirectLocations
+  }
+
+  @Override
+  public UrlMapping save(UrlMapping mapping) {
+    if (mapping.getId() == null) {
+      mapping.setId(getNextId());
+    }
+    long id = mapping.getId();
+    if (codec.decode(mapping.getShortCode()) != id) {
+      throw new IllegalArgumentException(
+          "Short code " + mapping.getShortCode() + " is not derived from id " + id);
+    }
+
+    long index = indexOf(id);
+    if (index < 0) {
+      throw new IllegalArgumentException("Id out of range: " + id);
+    }
+    Chunk chunk = chunkFor(index);
+    int slot = (int) (index & CHUNK_MASK);
+    LocalDateTime created = mapping.getCreatedDate() != null ? mapping.getCreatedDate() : LocalDateTime.now();
+    chunk.createdMillis[slot] = ExpiryTimes.epochMillis(created);
+    chunk.expiresMillis[slot] = ExpiryTimes.toMillis(mapping.getExpiresAt());
+    chunk.ownLocation[slot] = RedirectLocations.isOwnLocation(mapping.getLongUrl());
+    if (chunk.longUrls.getAndSet(slot, mapping.getLongUrl()) == null) {
+      size.incrementAndGet();
+    }
+    return mapping;
+  }
+
+  @Override
+  public Optional<UrlMapping> findByShortCode(String shortCode) {
+    long id = codec.decode(shortCode);
+    long index = indexOf(id);
+    if (index < 0) {
+      return Optional.empty();
+    }
+    Chunk chunk = chunks.getAcquire((int) (index >>> CHUNK_BITS));
+    if (chunk == null) {
+      return Optional.empty();
+    }
+    int slot = (int) (index & CHUNK_MASK);
+    String longUrl = live(chunk, slot);
+    if (longUrl == null) {
+      return Optional.empty();
+    }
+    LocalDateTime created = ExpiryTimes.dateTime(chunk.createdMillis[slot]);
+    return Optional.of(new UrlMapping(id, longUrl, shortCode, created,
+        ExpiryTimes.toDateTime(chunk.expiresMillis[slot])));
+  }
+
+  @Override
+  public String findLongUrl(String shortCode) {
+    long index = indexOf(codec.decode(shortCode));
+    if (index < 0) {
+      return null;
+    }
+    Chunk chunk = chunks.getAcquire((int) (index >>> CHUNK_BITS));
+    return chunk == null ? null : live(chunk, (int) (index & CHUNK_MASK));
+  }
+
+  // Redirect fast path: decode plus one array read, no mapping built. A URL that was its own
+  // Location at save is returned as is; only one that needs escaping is parsed here.
+  @Override
+  public String findLocation(String shortCode) {
+    long index = indexOf(codec.decode(shortCode));
+    if (index < 0) {
+      return null;
+    }
+    Chunk chunk = chunks.getAcquire((int) (index >>> CHUNK_BITS));
+    if (chunk == null) {
+      return null;
+    }
+    int slot = (int) (index & CHUNK_MASK);
+    String longUrl = live(chunk, slot);
+    return longUrl == null || chunk.ownLocation[slot] ? longUrl : RedirectLocations.parse(longUrl);
+  }
+
+  @Override
+  public boolean delete(String shortCode) {
+    long index = indexOf(codec.decode(shortCode));
+    if (index < 0) {
+      return false;
+    }
+    Chunk chunk = chunks.getAcquire((int) (index >>> CHUNK_BITS));
+    if (chunk == null || chunk.longUrls.getAndSet((int) (index & CHUNK_MASK), null) == null) {
+      return false;
+    }
+    size.decrementAndGet(); // The URL String is now unreachable
+    return true;
+  }
+
+  @Override
+  public Long getNextId() {
+    return ids.nextId();
+  }
+
+  @Override
+  public long[] reserveIds(int count) {
+    return ids.nextIds(count);
+  }
+
+  @Override
+  public void forEach(Consumer<UrlMapping> action) {
+    for (int c = 0; c < MAX_CHUNKS; c++) {
+      Chunk chunk = chunks.getAcquire(c);
+      if (chunk == null) {
+        continue;
+      }
+      for (int slot = 0; slot < CHUNK_SIZE; slot++) {
+        if (chunk.longUrls.getAcquire(slot) != null) {
+          findByShortCode(codec.encode(FIRST_ID + ((long) c << CHUNK_BITS) + slot)).ifPresent(action);
+        }
+      }
+    }
+  }
+
+  @Override
+  public Map<String, Object> stats() {
+    return Map.of("store.size", size.get());
+  }
+
+  // Releases the id generator's file when ids come from url.id.source=file
+  @Override
+  public void close() {
+    ids.close();
+  }
+
+  // Slot index for an id, -1 if the id can't be stored here
+  private static long indexOf(long id) {
+    long index = id - FIRST_ID;
+    return id < FIRST_ID || index >= (long) MAX_CHUNKS * CHUNK_SIZE ? -1 : index;
+  }
+
+  // URL in the slot, or null if empty or expired. Expired URLs are cleared on the spot (the CAS
+  // keeps a concurrent re-save of the slot intact).
+  private String live(Chunk chunk, int slot) {
+    String longUrl = chunk.longUrls.getAcquire(slot);
+    if (longUrl != null && ExpiryTimes.isExpired(chunk.expiresMillis[slot], System.currentTimeMillis())) {
+      if (chunk.longUrls.compareAndSet(slot, longUrl, null)) {
+        size.decrementAndGet();
+      }
+      return null;
+    }
+    return longUrl;
+  }
+
+  private Chunk chunkFor(long index) {
+    int c = (int) (index >>> CHUNK_BITS);
+    Chunk chunk = chunks.getAcquire(c);
+    if (chunk == null) {
+      Chunk created = new Chunk();
+      chunk = chunks.compareAndExchange(c, null, created);
+      if (chunk == null) {
+        chunk = created; // We won the race
+      }
+    }
+    return chunk;
+  }
+}
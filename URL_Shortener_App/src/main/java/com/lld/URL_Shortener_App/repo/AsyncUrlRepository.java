@@ -0,0 +1,19 @@
+package com.lld.URL_Shortener_App.repo;
+
+import com.lld.URL_Shortener_App.entity.UrlMapping;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+// Non-blocking view of a repository: every call returns at once and the future completes when
+// the store answers, so no request thread waits on a slow backend. A store with an async
+// client would implement it directly; blocking UrlRepositories are adapted by
+// VirtualThreadAsyncUrlRepository.
+public interface AsyncUrlRepository {
+  CompletableFuture<UrlMapping> save(UrlMapping mapping);
+  CompletableFuture<Optional<UrlMapping>> findByShortCode(String shortCode);
+
+  // Completes with the redirect Location, or null for an unknown or expired code
+  CompletableFuture<String> findLocation(String shortCode);
+
+  CompletableFuture<Boolean> delete(String shortCode);
+}
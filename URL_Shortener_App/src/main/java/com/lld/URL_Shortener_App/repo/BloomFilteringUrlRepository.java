@@ -0,0 +1,165 @@
+package com.lld.URL_Shortener_App.repo;
+
+import com.lld.URL_Shortener_App.entity.UrlMapping;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// Existence guard: a scalable Bloom filter of every saved short code answers "definitely not
+// here" for random probes before they reach the cache or the store. It sits outside the cache,
+// so scanners don't fill the negative cache with junk either.
+// Codes are added before the save, so a reader can never see a stored code the filter lacks.
+// Deleted and expired codes stay in the filter and just fall through to the store.
+//
+// With a snapshot file (durable stores), close() writes the filter and the next startup loads
+// it instead of re-reading the store. The file is deleted once loaded, so after a crash there's
+// no stale snapshot and the filter is rebuilt from the store with forEach.
+public class BloomFilteringUrlRepository implements UrlRepository {
+
+  private final UrlRepository delegate;
+  private final ScalableBloomFilter filter;
+  private final Path snapshot; // null = in-memory store, nothing to persist
+  private final boolean loadedFromSnapshot;
+  private final LongAdder rejected = new LongAdder();
+  private final LongAdder falsePositives = new LongAdder();
+
+  public BloomFilteringUrlRepository(UrlRepository delegate, long initialCapacity, double fpp,
+      Path snapshot) throws IOException {
+    this.delegate = delegate;
+    this.snapshot = snapshot;
+    ScalableBloomFilter loaded = null;
+    if (snapshot != null && Files.exists(snapshot)) {
+      loaded = ScalableBloomFilter.readFrom(snapshot);
+      Files.delete(snapshot);
+    }
+    this.loadedFromSnapshot = loaded != null;
+    if (loaded == null) {
+      loaded = new ScalableBloomFilter(initialCapacity, fpp);
+      ScalableBloomFilter rebuilt = loaded;
+      delegate.forEach(mapping -> rebuilt.add(mapping.getShortCode()));
+    }
+    this.filter = loaded;
+  }
+
+  @Override
+  public UrlMapping save(UrlMapping mapping) {
+    filter.add(mapping.getShortCode());
+    return delegate.save(mapping);
+  }
+
+  @Override
+  public List<UrlMapping> saveAll(List<UrlMapping> mappings) {
+    for (UrlMapping mapping : mappings) {
+      filter.add(mapping.getShortCode());
+    }
+    return delegate.saveAll(mappings);
+  }
+
+  @Override
+  public Optional<UrlMapping> findByShortCode(String shortCode) {
+    if (absent(shortCode)) {
+      return Optional.empty();
+    }
+    Optional<UrlMapping> mapping = delegate.findByShortCode(shortCode);
+    if (mapping.isEmpty()) {
+      falsePositives.increment();
+    }
+    return mapping;
+  }
+
+  @Override
+  public String findLongUrl(String shortCode) {
+    if (absent(shortCode)) {
+      return null;
+    }
+    return counted(delegate.findLongUrl(shortCode));
+  }
+
+  @Override
+  public String findLocation(String shortCode) {
+    if (absent(shortCode)) {
+      return null;
+    }
+    return counted(delegate.findLocation(shortCode));
+  }
+
+  @Override
+  public boolean delete(String shortCode) {
+    return delegate.delete(shortCode);
+  }
+
+  @Override
+  public String findShortCodeByLongUrl(String longUrl) {
+    return delegate.findShortCodeByLongUrl(longUrl);
+  }
+
+  @Override
+  public void forEach(Consumer<UrlMapping> action) {
+    delegate.forEach(action);
+  }
+
+  // Codes don't change when they move between shards, so the filter stays as it is
+  @Override
+  public CompletableFuture<Void> addShard() {
+    return delegate.addShard();
+  }
+
+  @Override
+  public Long getNextId() {
+    return delegate.getNextId();
+  }
+
+  @Override
+  public long[] reserveIds(int count) {
+    return delegate.reserveIds(count);
+  }
+
+  @Override
+  public Map<String, Object> stats() {
+    Map<String, Object> stats = new LinkedHashMap<>(delegate.stats());
+    stats.put("bloom.entries", filter.entries());
+    stats.put("bloom.filters", filter.filterCount());
+    stats.put("bloom.bytes", filter.bytes());
+    stats.put("bloom.rejected", rejected.sum());
+    stats.put("bloom.falsePositives", falsePositives.sum()); // Includes deleted/expired codes
+    stats.put("bloom.loadedFromSnapshot", loadedFromSnapshot);
+    return stats;
+  }
+
+  // Spring closes the repository after the web server has stopped, so no saves race the write
+  @Override
+  public void close() {
+    try {
+      if (snapshot != null) {
+        filter.writeTo(snapshot);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Bloom filter snapshot failed", e);
+    } finally {
+      delegate.close();
+    }
+  }
+
+  private boolean absent(String shortCode) {
+    if (filter.mightContain(shortCode)) {
+      return false;
+    }
+    rejected.increment();
+    return true;
+  }
+
+  private String counted(String found) {
+    if (found == null) {
+      falsePositives.increment();
+    }
+    return found;
+  }
+}
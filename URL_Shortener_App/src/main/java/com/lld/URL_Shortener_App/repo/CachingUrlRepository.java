@@ -0,0 +1,164 @@
+package com.lld.URL_Shortener_App.repo;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.lld.URL_Shortener_App.entity.UrlMapping;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Read-through cache decorator for hot short codes.
+// Caffeine's W-TinyLFU admission keeps the few heavily hit codes resident even when a long
+// tail of one-off lookups streams through. Unknown codes are cached too (shorter TTL) so
+// repeated probes for them don't reach the store.
+public class CachingUrlRepository implements UrlRepository {
+
+  // Negative-cache marker, never handed out
+  private static final UrlMapping MISSING = new UrlMapping();
+
+  private final UrlRepository delegate;
+  private final Cache<String, UrlMapping> cache;
+
+  public CachingUrlRepository(UrlRepository delegate, long maximumSize, Duration ttl,
+      Duration negativeTtl) {
+    this.delegate = delegate;
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfter(new TtlExpiry(ttl.toNanos(), negativeTtl.toNanos()))
+        .recordStats()
+        .build();
+  }
+
+  @Override
+  public UrlMapping save(UrlMapping mapping) {
+    UrlMapping saved = delegate.save(mapping);
+    cache.put(saved.getShortCode(), saved); // Also overwrites a cached miss for this code
+    return saved;
+  }
+
+  @Override
+  public List<UrlMapping> saveAll(List<UrlMapping> mappings) {
+    List<UrlMapping> saved = delegate.saveAll(mappings);
+    for (UrlMapping mapping : saved) {
+      cache.put(mapping.getShortCode(), mapping);
+    }
+    return saved;
+  }
+
+  @Override
+  public Optional<UrlMapping> findByShortCode(String shortCode) {
+    // Concurrent misses for the same code trigger a single delegate lookup
+    UrlMapping mapping = cache.get(shortCode,
+        code -> delegate.findByShortCode(code).orElse(MISSING));
+    return mapping == MISSING ? Optional.empty() : Optional.of(mapping);
+  }
+
+  @Override
+  public String findLongUrl(String shortCode) {
+    UrlMapping mapping = cache.get(shortCode,
+        code -> delegate.findByShortCode(code).orElse(MISSING));
+    return mapping == MISSING ? null : mapping.getLongUrl();
+  }
+
+  // Misses come from the negative cache, hits carry their parsed location
+  @Override
+  public String findLocation(String shortCode) {
+    UrlMapping mapping = cache.get(shortCode,
+        code -> delegate.findByShortCode(code).orElse(MISSING));
+    return mapping == MISSING ? null : mapping.redirectLocation();
+  }
+
+  @Override
+  public boolean delete(String shortCode) {
+    boolean deleted = delegate.delete(shortCode);
+    cache.invalidate(shortCode); // After the delete, so a racing read can't re-cache the mapping
+    return deleted;
+  }
+
+  @Override
+  public String findShortCodeByLongUrl(String longUrl) {
+    return delegate.findShortCodeByLongUrl(longUrl);
+  }
+
+  @Override
+  public void forEach(Consumer<UrlMapping> action) {
+    delegate.forEach(action);
+  }
+
+  // A move keeps every code pointing at the same URL, so cached entries stay valid
+  @Override
+  public CompletableFuture<Void> addShard() {
+    return delegate.addShard();
+  }
+
+  @Override
+  public Long getNextId() {
+    return delegate.getNextId();
+  }
+
+  @Override
+  public long[] reserveIds(int count) {
+    return delegate.reserveIds(count);
+  }
+
+  @Override
+  public Map<String, Object> stats() {
+    CacheStats cacheStats = cache.stats();
+    Map<String, Object> stats = new LinkedHashMap<>(delegate.stats());
+    stats.put("cache.size", cache.estimatedSize());
+    stats.put("cache.hits", cacheStats.hitCount());
+    stats.put("cache.misses", cacheStats.missCount());
+    stats.put("cache.hitRate", cacheStats.hitRate());
+    stats.put("cache.evictions", cacheStats.evictionCount());
+    return stats;
+  }
+
+  @Override
+  public void close() {
+    delegate.close();
+  }
+
+  // Positive and negative entries share the cache but not the TTL. A link with an expiry is
+  // never cached past it.
+  private static class TtlExpiry implements Expiry<String, UrlMapping> {
+
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+
+    TtlExpiry(long ttlNanos, long negativeTtlNanos) {
+      this.ttlNanos = ttlNanos;
+      this.negativeTtlNanos = negativeTtlNanos;
+    }
+
+    @Override
+    public long expireAfterCreate(String key, UrlMapping value, long currentTime) {
+      if (value == MISSING) {
+        return negativeTtlNanos;
+      }
+      if (value.getExpiresAt() == null) {
+        return ttlNanos;
+      }
+      long remainingMillis = ExpiryTimes.toMillis(value.getExpiresAt()) - System.currentTimeMillis();
+      return Math.max(0, Math.min(ttlNanos, TimeUnit.MILLISECONDS.toNanos(remainingMillis)));
+    }
+
+    @Override
+    public long expireAfterUpdate(String key, UrlMapping value, long currentTime,
+        long currentDuration) {
+      return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(String key, UrlMapping value, long currentTime,
+        long currentDuration) {
+      return currentDuration; // Reads don't extend the TTL
+    }
+  }
+}
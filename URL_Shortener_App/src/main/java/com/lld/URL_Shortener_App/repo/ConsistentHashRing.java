@@ -0,0 +1,63 @@
+package com.lld.URL_Shortener_App.repo;
+
+import java.util.Arrays;
+
+// Immutable consistent-hash ring over shards 0..n-1, each placed at virtualNodes points.
+// A point depends only on (shard, virtual node), so the ring for n + 1 shards keeps every
+// point of the ring for n: adding a shard moves ~1/(n + 1) of the keys, all of them to it.
+// Lookup is a binary search over sorted primitive arrays.
+final class ConsistentHashRing {
+
+  private final int shards;
+  private final long[] points;
+  private final int[] owners;
+
+  ConsistentHashRing(int shards, int virtualNodes) {
+    if (shards < 1 || virtualNodes < 1) {
+      throw new IllegalArgumentException("Need at least one shard and one virtual node");
+    }
+    this.shards = shards;
+    int count = shards * virtualNodes;
+    long[] hashes = new long[count];
+    for (int shard = 0, i = 0; shard < shards; shard++) {
+      for (int v = 0; v < virtualNodes; v++, i++) {
+        hashes[i] = mix(((long) shard << 32) | v);
+      }
+    }
+    // Sort points with their owner: order by hash, then write both arrays
+    Integer[] order = new Integer[count];
+    for (int i = 0; i < count; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, (a, b) -> Long.compare(hashes[a], hashes[b]));
+    this.points = new long[count];
+    this.owners = new int[count];
+    for (int i = 0; i < count; i++) {
+      points[i] = hashes[order[i]];
+      owners[i] = order[i] / virtualNodes;
+    }
+  }
+
+  int shards() {
+    return shards;
+  }
+
+  // Shard owning the first point at or after the hash, wrapping around
+  int owner(long hash) {
+    int i = Arrays.binarySearch(points, hash);
+    if (i < 0) {
+      i = -i - 1;
+    }
+    return owners[i == points.length ? 0 : i];
+  }
+
+  // murmur3 finalizer
+  private static long mix(long h) {
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
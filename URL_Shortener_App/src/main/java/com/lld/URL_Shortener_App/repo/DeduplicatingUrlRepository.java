@@ -0,0 +1,176 @@
+package com.lld.URL_Shortener_App.repo;
+
+import com.lld.URL_Shortener_App.codec.ShortCodeCodec;
+import com.lld.URL_Shortener_App.entity.UrlMapping;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// Dedup decorator: a long URL that was already shortened keeps its first code.
+// A 64-bit hash of the long URL indexes the id it was saved under, and the delegate verifies
+// every hit, so a hash collision can't return somebody else's link. The index is striped
+// and each stripe is locked, so two concurrent shortens of the same new URL still store it once.
+// The index is in memory only and is rebuilt from the delegate's forEach at startup, so a
+// durable store keeps deduplicating across restarts.
+// Links with an expiry are never deduplicated: each campaign gets its own code and lifetime.
+public class DeduplicatingUrlRepository implements UrlRepository {
+
+  private static final int STRIPES = 64;
+
+  private final UrlRepository delegate;
+  private final ShortCodeCodec codec;
+  private final LongUrlHashIndex[] stripes = new LongUrlHashIndex[STRIPES];
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder mismatches = new LongAdder(); // Hash collision or mapping gone
+
+  public DeduplicatingUrlRepository(UrlRepository delegate, int initialCapacity) {
+    this(delegate, initialCapacity, ShortCodeCodec.BASE62);
+  }
+
+  public DeduplicatingUrlRepository(UrlRepository delegate, int initialCapacity,
+      ShortCodeCodec codec) {
+    this.delegate = delegate;
+    this.codec = codec;
+    for (int i = 0; i < STRIPES; i++) {
+      stripes[i] = new LongUrlHashIndex(Math.max(16, initialCapacity / STRIPES));
+    }
+    try {
+      delegate.forEach(this::index);
+    } catch (UnsupportedOperationException e) {
+      // A store that can't be iterated starts empty and fills up as URLs are re-shortened
+    }
+  }
+
+  @Override
+  public String findShortCodeByLongUrl(String longUrl) {
+    long hash = LongUrlHashIndex.hash(longUrl);
+    LongUrlHashIndex stripe = stripeFor(hash);
+    synchronized (stripe) {
+      UrlMapping existing = verified(stripe.get(hash), longUrl);
+      if (existing == null) {
+        return null;
+      }
+      hits.increment();
+      return existing.getShortCode();
+    }
+  }
+
+  // Returns the mapping actually stored: an earlier one for the same URL wins over this one
+  @Override
+  public UrlMapping save(UrlMapping mapping) {
+    if (mapping.getExpiresAt() != null) {
+      return delegate.save(mapping);
+    }
+    long hash = LongUrlHashIndex.hash(mapping.getLongUrl());
+    LongUrlHashIndex stripe = stripeFor(hash);
+    synchronized (stripe) {
+      UrlMapping existing = verified(stripe.get(hash), mapping.getLongUrl());
+      if (existing != null) {
+        hits.increment();
+        return existing;
+      }
+      UrlMapping saved = delegate.save(mapping);
+      stripe.put(hash, saved.getId());
+      return saved;
+    }
+  }
+
+  @Override
+  public Optional<UrlMapping> findByShortCode(String shortCode) {
+    return delegate.findByShortCode(shortCode);
+  }
+
+  @Override
+  public String findLongUrl(String shortCode) {
+    return delegate.findLongUrl(shortCode);
+  }
+
+  @Override
+  public String findLocation(String shortCode) {
+    return delegate.findLocation(shortCode);
+  }
+
+  // The index entry goes stale and is dropped by verification on the next lookup
+  @Override
+  public boolean delete(String shortCode) {
+    return delegate.delete(shortCode);
+  }
+
+  @Override
+  public void forEach(Consumer<UrlMapping> action) {
+    delegate.forEach(action);
+  }
+
+  @Override
+  public CompletableFuture<Void> addShard() {
+    return delegate.addShard();
+  }
+
+  @Override
+  public Long getNextId() {
+    return delegate.getNextId();
+  }
+
+  @Override
+  public long[] reserveIds(int count) {
+    return delegate.reserveIds(count);
+  }
+
+  @Override
+  public Map<String, Object> stats() {
+    long entries = 0;
+    long bytes = 0;
+    for (LongUrlHashIndex stripe : stripes) {
+      synchronized (stripe) {
+        entries += stripe.size();
+        bytes += stripe.tableBytes();
+      }
+    }
+    Map<String, Object> stats = new LinkedHashMap<>(delegate.stats());
+    stats.put("dedup.entries", entries);
+    stats.put("dedup.indexBytes", bytes);
+    stats.put("dedup.hits", hits.sum());
+    stats.put("dedup.mismatches", mismatches.sum());
+    return stats;
+  }
+
+  @Override
+  public void close() {
+    delegate.close();
+  }
+
+  // Startup only: the lowest id is the URL's first code, whatever order forEach visits them in
+  private void index(UrlMapping mapping) {
+    if (mapping.getExpiresAt() != null) {
+      return;
+    }
+    long hash = LongUrlHashIndex.hash(mapping.getLongUrl());
+    LongUrlHashIndex stripe = stripeFor(hash);
+    synchronized (stripe) {
+      long indexed = stripe.get(hash);
+      if (indexed == LongUrlHashIndex.NONE || mapping.getId() < indexed) {
+        stripe.put(hash, mapping.getId());
+      }
+    }
+  }
+
+  private LongUrlHashIndex stripeFor(long hash) {
+    return stripes[(int) (hash >>> 58)]; // Top bits: the low bits pick the slot inside a stripe
+  }
+
+  // The stored mapping for id if it really is this URL, else null
+  private UrlMapping verified(long id, String longUrl) {
+    if (id == LongUrlHashIndex.NONE) {
+      return null;
+    }
+    UrlMapping mapping = delegate.findByShortCode(codec.encode(id)).orElse(null);
+    if (mapping == null || !mapping.getLongUrl().equals(longUrl)) {
+      mismatches.increment();
+      return null;
+    }
+    return mapping;
+  }
+}
@@ -0,0 +1,136 @@
+package com.lld.URL_Shortener_App.repo;
+
+import com.lld.URL_Shortener_App.entity.UrlMapping;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// Expiry decorator: links saved with an expiresAt are registered in a time-bucketed index,
+// and a reaper thread deletes them from the store once their bucket has passed, which frees
+// their memory. Stores already treat expired links as misses, so a link stops resolving at
+// its expiry even if the reaper is a bucket behind.
+// The index is in memory only, so it's rebuilt from the store at construction. Links that
+// expired while a durable store was down are misses already and aren't visited, so they stay
+// hidden by the lookup check but aren't reaped.
+public class ExpiringUrlRepository implements UrlRepository {
+
+  private final UrlRepository delegate;
+  private final ExpiryIndex index;
+  private final ScheduledExecutorService reaper;
+  private final LongAdder reaped = new LongAdder();
+
+  public ExpiringUrlRepository(UrlRepository delegate, Duration reapInterval) {
+    long intervalMillis = reapInterval.toMillis();
+    if (intervalMillis <= 0) {
+      throw new IllegalArgumentException("reapInterval must be at least 1ms: " + reapInterval);
+    }
+    this.delegate = delegate;
+    this.index = new ExpiryIndex(intervalMillis); // One bucket per reaper tick
+    delegate.forEach(this::track);
+    this.reaper = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread t = new Thread(r, "url-expiry-reaper");
+      t.setDaemon(true);
+      return t;
+    });
+    reaper.scheduleWithFixedDelay(this::reap, intervalMillis, intervalMillis,
+        TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public UrlMapping save(UrlMapping mapping) {
+    UrlMapping saved = delegate.save(mapping);
+    track(saved);
+    return saved;
+  }
+
+  @Override
+  public List<UrlMapping> saveAll(List<UrlMapping> mappings) {
+    List<UrlMapping> saved = delegate.saveAll(mappings);
+    for (UrlMapping mapping : saved) {
+      track(mapping);
+    }
+    return saved;
+  }
+
+  @Override
+  public Optional<UrlMapping> findByShortCode(String shortCode) {
+    return delegate.findByShortCode(shortCode);
+  }
+
+  @Override
+  public String findLongUrl(String shortCode) {
+    return delegate.findLongUrl(shortCode);
+  }
+
+  @Override
+  public String findLocation(String shortCode) {
+    return delegate.findLocation(shortCode);
+  }
+
+  @Override
+  public boolean delete(String shortCode) {
+    return delegate.delete(shortCode); // A later reap of the code is a harmless no-op
+  }
+
+  @Override
+  public String findShortCodeByLongUrl(String longUrl) {
+    return delegate.findShortCodeByLongUrl(longUrl);
+  }
+
+  @Override
+  public void forEach(Consumer<UrlMapping> action) {
+    delegate.forEach(action);
+  }
+
+  @Override
+  public CompletableFuture<Void> addShard() {
+    return delegate.addShard();
+  }
+
+  @Override
+  public Long getNextId() {
+    return delegate.getNextId();
+  }
+
+  @Override
+  public long[] reserveIds(int count) {
+    return delegate.reserveIds(count);
+  }
+
+  @Override
+  public Map<String, Object> stats() {
+    Map<String, Object> stats = new LinkedHashMap<>(delegate.stats());
+    stats.put("expiry.pending", index.pending());
+    stats.put("expiry.reaped", reaped.sum());
+    return stats;
+  }
+
+  @Override
+  public void close() {
+    reaper.shutdownNow();
+    delegate.close();
+  }
+
+  // Deletes every link whose expiry bucket has passed
+  void reap() {
+    index.pollExpired(System.currentTimeMillis(), shortCode -> {
+      if (delegate.delete(shortCode)) {
+        reaped.increment();
+      }
+    });
+  }
+
+  private void track(UrlMapping mapping) {
+    if (mapping.getExpiresAt() != null) {
+      index.add(mapping.getShortCode(), ExpiryTimes.toMillis(mapping.getExpiresAt()));
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package com.lld.URL_Shortener_App.repo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+// Short codes grouped into fixed-width time buckets by expiry, ordered by bucket start.
+// Registering is one skip-list lookup plus an append; polling takes whole buckets off the
+// front, so the cost is proportional to what actually expired, never to the store size.
+// Codes come out up to one bucket width late; lookups check the expiry themselves meanwhile.
+class ExpiryIndex {
+
+  private final long bucketMillis;
+  private final ConcurrentSkipListMap<Long, Bucket> buckets = new ConcurrentSkipListMap<>();
+
+  ExpiryIndex(long bucketMillis) {
+    this.bucketMillis = bucketMillis;
+  }
+
+  private static final class Bucket {
+
+    final List<String> codes = new ArrayList<>();
+    boolean drained; // guarded by this
+
+    synchronized boolean add(String shortCode) {
+      if (drained) {
+        return false;
+      }
+      codes.add(shortCode);
+      return true;
+    }
+
+    synchronized List<String> drain() {
+      drained = true;
+      return codes;
+    }
+  }
+
+  void add(String shortCode, long expiresMillis) {
+    long key = Math.floorDiv(expiresMillis, bucketMillis);
+    // A bucket can be drained between the lookup and the add; it's already unlinked by then,
+    // so the retry gets a fresh one
+    while (!buckets.computeIfAbsent(key, k -> new Bucket()).add(shortCode)) {
+      // Retry
+    }
+  }
+
+  // Hands every code whose bucket has fully passed to the consumer; returns how many
+  int pollExpired(long nowMillis, Consumer<String> consumer) {
+    long firstOpen = Math.floorDiv(nowMillis, bucketMillis);
+    int polled = 0;
+    for (Map.Entry<Long, Bucket> head = buckets.firstEntry();
+        head != null && head.getKey() < firstOpen; head = buckets.firstEntry()) {
+      buckets.remove(head.getKey(), head.getValue());
+      for (String shortCode : head.getValue().drain()) {
+        consumer.accept(shortCode);
+        polled++;
+      }
+    }
+    return polled;
+  }
+
+  long pending() {
+    long pending = 0;
+    for (Bucket bucket : buckets.values()) {
+      synchronized (bucket) {
+        pending += bucket.codes.size();
+      }
+    }
+    return pending;
+  }
+}
@@ -0,0 +1,42 @@
+package com.lld.URL_Shortener_App.repo;
+
+import com.lld.URL_Shortener_App.entity.UrlMapping;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+// Expiry as epoch millis (0 = never), so stores can check it against
+// System.currentTimeMillis() without allocating. UrlMapping carries local wall-clock times
+// like createdDate, converted in the JVM's zone.
+final class ExpiryTimes {
+
+  static final long NEVER = 0;
+
+  private ExpiryTimes() {
+  }
+
+  static long toMillis(LocalDateTime expiresAt) {
+    return expiresAt == null ? NEVER : epochMillis(expiresAt);
+  }
+
+  static LocalDateTime toDateTime(long expiresMillis) {
+    return expiresMillis == NEVER ? null : dateTime(expiresMillis);
+  }
+
+  // Any mapping time (e.g. createdDate) as epoch millis, in the same zone as expiry times
+  static long epochMillis(LocalDateTime time) {
+    return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+  }
+
+  static LocalDateTime dateTime(long epochMillis) {
+    return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+  }
+
+  static boolean isExpired(long expiresMillis, long nowMillis) {
+    return expiresMillis != NEVER && expiresMillis <= nowMillis;
+  }
+
+  static boolean isExpired(UrlMapping mapping, long nowMillis) {
+    return mapping.getExpiresAt() != null && isExpired(toMillis(mapping.getExpiresAt()), nowMillis);
+  }
+}
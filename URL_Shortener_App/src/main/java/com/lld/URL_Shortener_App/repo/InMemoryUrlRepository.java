@@ -1,19 +1,29 @@
 package com.lld.URL_Shortener_App.repo;
 
 import com.lld.URL_Shortener_App.entity.UrlMapping;
+import com.lld.URL_Shortener_App.id.AtomicIdRangeSource;
+import com.lld.URL_Shortener_App.id.RangeIdGenerator;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
-import org.springframework.stereotype.Repository;
+import java.util.function.Consumer;
 
-@Repository
-class InMemoryUrlRepository implements UrlRepository {
+// Wired by UrlRepositoryConfig
+public class InMemoryUrlRepository implements UrlRepository {
   // Thread-safe map for storage
   private final Map<String, UrlMapping> storage = new ConcurrentHashMap<>();
 
-  // Thread-safe counter for IDs
-  private final AtomicLong sequence = new AtomicLong(10000); // Start at 10k to have non-trivial IDs
+  // Thread-safe ID source: leases blocks of ids instead of bumping one shared counter
+  private final RangeIdGenerator ids;
+
+  public InMemoryUrlRepository() {
+    // Start at 10k to have non-trivial IDs
+    this(new RangeIdGenerator(new AtomicIdRangeSource(10000), RangeIdGenerator.DEFAULT_BLOCK_SIZE));
+  }
+
+  public InMemoryUrlRepository(RangeIdGenerator ids) {
+    this.ids = ids;
+  }
 
   @Override
   public UrlMapping save(UrlMapping mapping) {
@@ -27,11 +37,64 @@ class InMemoryUrlRepository implements UrlRepository {
 
   @Override
   public Optional<UrlMapping> findByShortCode(String shortCode) {
-    return Optional.ofNullable(storage.get(shortCode));
+    return Optional.ofNullable(live(shortCode));
+  }
+
+  @Override
+  public String findLongUrl(String shortCode) {
+    UrlMapping mapping = live(shortCode);
+    return mapping == null ? null : mapping.getLongUrl();
+  }
+
+  @Override
+  public String findLocation(String shortCode) {
+    UrlMapping mapping = live(shortCode);
+    return mapping == null ? null : mapping.redirectLocation();
+  }
+
+  @Override
+  public boolean delete(String shortCode) {
+    return storage.remove(shortCode) != null;
   }
 
   @Override
   public Long getNextId() {
-    return sequence.incrementAndGet();
+    return ids.nextId();
+  }
+
+  @Override
+  public long[] reserveIds(int count) {
+    return ids.nextIds(count);
+  }
+
+  @Override
+  public void forEach(Consumer<UrlMapping> action) {
+    for (String shortCode : storage.keySet()) {
+      UrlMapping mapping = live(shortCode);
+      if (mapping != null) {
+        action.accept(mapping);
+      }
+    }
+  }
+
+  @Override
+  public Map<String, Object> stats() {
+    return Map.of("store.size", storage.size());
+  }
+
+  // Releases the id generator's file when ids come from url.id.source=file
+  @Override
+  public void close() {
+    ids.close();
+  }
+
+  // Lazy expiry: an expired mapping is a miss and is dropped on the spot
+  private UrlMapping live(String shortCode) {
+    UrlMapping mapping = storage.get(shortCode);
+    if (mapping != null && ExpiryTimes.isExpired(mapping, System.currentTimeMillis())) {
+      storage.remove(shortCode, mapping);
+      return null;
+    }
+    return mapping;
   }
 }
@@ -0,0 +1,90 @@
+package com.lld.URL_Shortener_App.repo;
+
+// Primitive open-addressing map from a 64-bit long-URL hash to the id it was shortened to.
+// Two long[] arrays and no per-entry objects: ~16 bytes per slot at <= 70% load.
+// A hash may collide between two URLs, so callers verify the URL behind the returned id.
+// Not thread-safe; DeduplicatingUrlRepository guards each instance with its own lock.
+class LongUrlHashIndex {
+
+  static final long NONE = -1;
+
+  private static final long EMPTY = 0; // Key 0 is remapped so it can mark empty slots
+
+  private long[] keys;
+  private long[] ids;
+  private int mask;
+  private int size;
+
+  LongUrlHashIndex(int initialCapacity) {
+    int tableSize = Integer.highestOneBit(Math.max(2, initialCapacity) * 2 - 1) << 1;
+    this.keys = new long[tableSize];
+    this.ids = new long[tableSize];
+    this.mask = tableSize - 1;
+  }
+
+  static long hash(String longUrl) {
+    // FNV-1a 64 over UTF-16 code units, then a murmur3 finalizer for better low bits
+    long h = 0xcbf29ce484222325L;
+    for (int i = 0; i < longUrl.length(); i++) {
+      h ^= longUrl.charAt(i);
+      h *= 0x100000001b3L;
+    }
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    return h == EMPTY ? 1 : h;
+  }
+
+  long get(long hash) {
+    for (int slot = (int) hash & mask; ; slot = (slot + 1) & mask) {
+      if (keys[slot] == hash) {
+        return ids[slot];
+      }
+      if (keys[slot] == EMPTY) {
+        return NONE;
+      }
+    }
+  }
+
+  // Newest id wins for a hash that is already present
+  void put(long hash, long id) {
+    if ((size + 1) * 10L > keys.length * 7L) {
+      resize();
+    }
+    int slot = (int) hash & mask;
+    while (keys[slot] != EMPTY && keys[slot] != hash) {
+      slot = (slot + 1) & mask;
+    }
+    if (keys[slot] == EMPTY) {
+      keys[slot] = hash;
+      size++;
+    }
+    ids[slot] = id;
+  }
+
+  int size() {
+    return size;
+  }
+
+  long tableBytes() {
+    return keys.length * 16L;
+  }
+
+  private void resize() {
+    long[] oldKeys = keys;
+    long[] oldIds = ids;
+    keys = new long[oldKeys.length * 2];
+    ids = new long[oldKeys.length * 2];
+    mask = keys.length - 1;
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != EMPTY) {
+        int slot = (int) oldKeys[i] & mask;
+        while (keys[slot] != EMPTY) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = oldKeys[i];
+        ids[slot] = oldIds[i];
+      }
+    }
+  }
+}
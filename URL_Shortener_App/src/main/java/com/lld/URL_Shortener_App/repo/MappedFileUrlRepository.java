@@ -0,0 +1,568 @@
+package com.lld.URL_Shortener_App.repo;
+
+import com.lld.URL_Shortener_App.codec.ShortCodeCodec;
+import com.lld.URL_Shortener_App.entity.UrlMapping;
+import com.lld.URL_Shortener_App.id.FileIdRangeSource;
+import com.lld.URL_Shortener_App.id.RangeIdGenerator;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+import lombok.extern.slf4j.Slf4j;
+
+// Durable id-indexed store: an append-only log in memory-mapped segment files, plus an
+// id -> log address index that is checkpointed to disk periodically.
+//
+// Log record: [length:4][crc32c:4][id:8][createdMillis:8][expiresMillis:8][UTF-8 URL]. The
+// length is written last, and the CRC covers everything after it, so a torn tail is detected
+// and cut off. A delete appends a tombstone (createdMillis = TOMBSTONE, no URL) and unindexes
+// the id; the log itself is never compacted, so deleted bytes stay on disk.
+// Startup loads the latest checkpoint and replays only the log written after it.
+// Ids are leased in blocks from a FileIdRangeSource in the same directory, so they never
+// repeat across restarts. Shards of a sharded store use the generator they share instead.
+//
+// Durability: every save lands in the page cache immediately and survives a process crash.
+// Dirty pages are forced to disk every syncInterval, so that window is what an OS crash or
+// power loss can lose.
+@Slf4j
+public class MappedFileUrlRepository implements UrlRepository {
+
+  private static final int RECORD_HEADER = 32;
+  private static final long TOMBSTONE = Long.MIN_VALUE;
+  private static final int MAX_SEGMENTS = 1 << 16;
+  private static final long CHECKPOINT_MAGIC = 0x55524C4958303031L; // "URLIX001"
+  private static final int CHECKPOINT_HEADER = 32; // [magic][logEnd][entries][size]
+  private static final String CHECKPOINT_FILE = "index.ckpt";
+  private static final String SEQUENCE_FILE = "id.seq";
+
+  private static final long FIRST_ID = ArrayUrlRepository.FIRST_ID;
+
+  private final Path directory;
+  private final int segmentBits;
+  private final int segmentSize;
+  private final int segmentMask;
+  private final AtomicReferenceArray<MappedByteBuffer> segments =
+      new AtomicReferenceArray<>(MAX_SEGMENTS);
+  private final OffHeapLongIndex index;
+  private final FileIdRangeSource idSource; // null when ids come from a shared generator
+  private final RangeIdGenerator ids;
+  private final ShortCodeCodec codec;
+  private final ScheduledExecutorService maintenance;
+
+  // Appends are serialized: the log stays a strict prefix order, which is what lets a
+  // checkpoint say "everything before logEnd is in the index"
+  private final Object appendLock = new Object();
+  private long writePosition;  // guarded by appendLock
+  private long highestSlot = -1; // guarded by appendLock
+  private long size;           // guarded by appendLock
+  private long syncedPosition; // guarded by this (sync)
+  private volatile long checkpointPosition;
+  private final long recoveredRecords;
+  private final long recoveryMillis;
+
+  public MappedFileUrlRepository(Path directory, long maxMappings, int segmentBytes,
+      int idBlockSize, Duration syncInterval, Duration checkpointInterval) throws IOException {
+    this(directory, maxMappings, segmentBytes, idBlockSize, syncInterval, checkpointInterval,
+        ShortCodeCodec.BASE62);
+  }
+
+  // The log stores ids; codes are derived with codec, which must stay the same across restarts
+  public MappedFileUrlRepository(Path directory, long maxMappings, int segmentBytes,
+      int idBlockSize, Duration syncInterval, Duration checkpointInterval, ShortCodeCodec codec)
+      throws IOException {
+    this(directory, maxMappings, segmentBytes, idBlockSize, null, syncInterval,
+        checkpointInterval, codec);
+  }
+
+  // Shard of a sharded store: ids come from the generator every shard shares, and no id file
+  // is kept here. Whoever owns that generator must advance its source past highestId().
+  public MappedFileUrlRepository(Path directory, long maxMappings, int segmentBytes,
+      RangeIdGenerator sharedIds, Duration syncInterval, Duration checkpointInterval,
+      ShortCodeCodec codec) throws IOException {
+    this(directory, maxMappings, segmentBytes, 0, sharedIds, syncInterval, checkpointInterval,
+        codec);
+  }
+
+  private MappedFileUrlRepository(Path directory, long maxMappings, int segmentBytes,
+      int idBlockSize, RangeIdGenerator sharedIds, Duration syncInterval,
+      Duration checkpointInterval, ShortCodeCodec codec) throws IOException {
+    if (Integer.bitCount(segmentBytes) != 1 || segmentBytes > (1 << 30)) {
+      throw new IllegalArgumentException("segmentBytes must be a power of two <= 1 GiB");
+    }
+    this.directory = directory;
+    this.codec = codec;
+    this.segmentBits = Integer.numberOfTrailingZeros(segmentBytes);
+    this.segmentSize = segmentBytes;
+    this.segmentMask = segmentBytes - 1;
+    this.index = new OffHeapLongIndex(maxMappings);
+    Files.createDirectories(directory);
+
+    long started = System.nanoTime();
+    long replayFrom = loadCheckpoint();
+    this.checkpointPosition = replayFrom;
+    this.recoveredRecords = replay(replayFrom);
+    this.syncedPosition = writePosition;
+    this.recoveryMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+    if (sharedIds != null) {
+      this.idSource = null;
+      this.ids = sharedIds;
+    } else {
+      // Never hand out an id at or below one already stored, even if the sequence file was lost
+      this.idSource = new FileIdRangeSource(directory.resolve(SEQUENCE_FILE), highestId());
+      this.ids = new RangeIdGenerator(idSource, idBlockSize);
+    }
+
+    this.maintenance = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread t = new Thread(r, "url-log-maintenance");
+      t.setDaemon(true);
+      return t;
+    });
+    long syncMillis = syncInterval.toMillis();
+    long checkpointMillis = checkpointInterval.toMillis();
+    maintenance.scheduleWithFixedDelay(() -> runLogged("Log sync", this::sync),
+        syncMillis, syncMillis, TimeUnit.MILLISECONDS);
+    maintenance.scheduleWithFixedDelay(() -> runLogged("Index checkpoint", this::checkpoint),
+        checkpointMillis, checkpointMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public UrlMapping save(UrlMapping mapping) {
+    byte[] url = validate(mapping);
+    synchronized (appendLock) {
+      append(mapping, url);
+    }
+    return mapping;
+  }
+
+  // The whole batch is encoded first and then appended under one lock acquisition
+  @Override
+  public List<UrlMapping> saveAll(List<UrlMapping> mappings) {
+    byte[][] urls = new byte[mappings.size()][];
+    for (int i = 0; i < urls.length; i++) {
+      urls[i] = validate(mappings.get(i));
+    }
+    synchronized (appendLock) {
+      for (int i = 0; i < urls.length; i++) {
+        append(mappings.get(i), urls[i]);
+      }
+    }
+    return mappings;
+  }
+
+  @Override
+  public Optional<UrlMapping> findByShortCode(String shortCode) {
+    long id = codec.decode(shortCode);
+    long address = addressOf(id);
+    if (address < 0) {
+      return Optional.empty();
+    }
+    ByteBuffer segment = segments.getAcquire((int) (address >>> segmentBits));
+    int pos = (int) (address & segmentMask);
+    long expiresMillis = segment.getLong(pos + 24);
+    if (ExpiryTimes.isExpired(expiresMillis, System.currentTimeMillis())) {
+      return Optional.empty(); // Hidden until the reaper's delete logs a tombstone
+    }
+    long createdMillis = segment.getLong(pos + 16);
+    LocalDateTime created = LocalDateTime.ofEpochSecond(Math.floorDiv(createdMillis, 1000),
+        Math.floorMod(createdMillis, 1000) * 1_000_000, ZoneOffset.UTC);
+    return Optional.of(new UrlMapping(id, readUrl(segment, pos), shortCode, created,
+        ExpiryTimes.toDateTime(expiresMillis)));
+  }
+
+  @Override
+  public String findLongUrl(String shortCode) {
+    long address = addressOf(codec.decode(shortCode));
+    if (address < 0) {
+      return null;
+    }
+    ByteBuffer segment = segments.getAcquire((int) (address >>> segmentBits));
+    int pos = (int) (address & segmentMask);
+    if (ExpiryTimes.isExpired(segment.getLong(pos + 24), System.currentTimeMillis())) {
+      return null;
+    }
+    return readUrl(segment, pos);
+  }
+
+  @Override
+  public boolean delete(String shortCode) {
+    long id = codec.decode(shortCode);
+    long slot = id - FIRST_ID;
+    if (slot < 0 || slot >= index.capacity()) {
+      return false;
+    }
+    synchronized (appendLock) {
+      if (index.get(slot) == 0) {
+        return false;
+      }
+      long address = reserve(RECORD_HEADER);
+      MappedByteBuffer segment = segmentFor(address);
+      int pos = (int) (address & segmentMask);
+      segment.putLong(pos + 8, id);
+      segment.putLong(pos + 16, TOMBSTONE);
+      segment.putLong(pos + 24, ExpiryTimes.NEVER);
+      segment.putInt(pos + 4, crc(segment, pos, RECORD_HEADER));
+      segment.putInt(pos, RECORD_HEADER);
+      index.set(slot, 0);
+      size--;
+      writePosition = address + RECORD_HEADER;
+    }
+    return true;
+  }
+
+  @Override
+  public Long getNextId() {
+    return ids.nextId();
+  }
+
+  @Override
+  public long[] reserveIds(int count) {
+    return ids.nextIds(count);
+  }
+
+  @Override
+  public void forEach(Consumer<UrlMapping> action) {
+    long last;
+    synchronized (appendLock) {
+      last = highestSlot;
+    }
+    for (long slot = 0; slot <= last; slot++) {
+      if (index.get(slot) != 0) {
+        findByShortCode(codec.encode(FIRST_ID + slot)).ifPresent(action);
+      }
+    }
+  }
+
+  @Override
+  public Map<String, Object> stats() {
+    Map<String, Object> stats = new LinkedHashMap<>();
+    synchronized (appendLock) {
+      stats.put("store.size", size);
+      stats.put("log.bytes", writePosition);
+    }
+    stats.put("log.checkpointPosition", checkpointPosition);
+    stats.put("log.recoveredRecords", recoveredRecords);
+    stats.put("log.recoveryMillis", recoveryMillis);
+    if (idSource != null) {
+      stats.put("ids.highWaterMark", idSource.highWaterMark());
+    }
+    stats.put("ids.leasedBlocks", ids.leasedBlocks());
+    return stats;
+  }
+
+  // Flushes, checkpoints and releases files; a clean shutdown restarts with no replay
+  @Override
+  public void close() {
+    maintenance.shutdown();
+    try {
+      maintenance.awaitTermination(1, TimeUnit.MINUTES);
+      checkpoint();
+      ids.close();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  // Highest id ever stored here, deleted ones included (FIRST_ID - 1 when empty). Ids up to it
+  // must never be handed out again, or a save would overwrite its slot.
+  public long highestId() {
+    synchronized (appendLock) {
+      return FIRST_ID + highestSlot;
+    }
+  }
+
+  // Forces log pages written since the last sync to disk
+  synchronized void sync() {
+    long end;
+    synchronized (appendLock) {
+      end = writePosition;
+    }
+    for (long from = syncedPosition; from < end; ) {
+      int s = (int) (from >>> segmentBits);
+      int offset = (int) (from & segmentMask);
+      long segmentEnd = (long) (s + 1) << segmentBits;
+      int length = (int) (Math.min(end, segmentEnd) - from);
+      MappedByteBuffer segment = segments.getAcquire(s);
+      if (segment != null) {
+        segment.force(offset, length);
+      }
+      from = Math.min(end, segmentEnd);
+    }
+    syncedPosition = end;
+  }
+
+  // Writes the index to a temp file and atomically swaps it in. Writers keep appending
+  // meanwhile: entries pointing at or past logEnd are dropped from the image, because replay
+  // from logEnd restores them (and a torn record past logEnd must not be referenced).
+  synchronized void checkpoint() {
+    long logEnd;
+    long entries;
+    synchronized (appendLock) {
+      logEnd = writePosition;
+      entries = highestSlot + 1;
+    }
+    if (logEnd == checkpointPosition) {
+      return;
+    }
+    sync(); // The image may only reference records already on disk
+    Path tmp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+    try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      channel.position(CHECKPOINT_HEADER);
+      long stored = index.writeTo(channel, entries, logEnd);
+      ByteBuffer header = ByteBuffer.allocate(CHECKPOINT_HEADER)
+          .putLong(CHECKPOINT_MAGIC).putLong(logEnd).putLong(entries).putLong(stored).flip();
+      while (header.hasRemaining()) {
+        channel.write(header, header.position());
+      }
+      channel.force(true);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Index checkpoint failed", e);
+    }
+    try {
+      Files.move(tmp, directory.resolve(CHECKPOINT_FILE), StandardCopyOption.ATOMIC_MOVE,
+          StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Index checkpoint failed", e);
+    }
+    checkpointPosition = logEnd;
+  }
+
+  // A periodic task that throws is never run again, so a failed sync or checkpoint is logged
+  // and simply retried at the next interval
+  private static void runLogged(String task, Runnable action) {
+    try {
+      action.run();
+    } catch (RuntimeException e) {
+      log.error("{} failed, retrying at the next interval", task, e);
+    }
+  }
+
+  // Assigns a missing id, checks the mapping fits this store and returns the URL's UTF-8 bytes
+  private byte[] validate(UrlMapping mapping) {
+    if (mapping.getId() == null) {
+      mapping.setId(getNextId());
+    }
+    long id = mapping.getId();
+    if (codec.decode(mapping.getShortCode()) != id) {
+      throw new IllegalArgumentException(
+          "Short code " + mapping.getShortCode() + " is not derived from id " + id);
+    }
+    long slot = id - FIRST_ID;
+    if (slot < 0 || slot >= index.capacity()) {
+      throw new IllegalArgumentException("Id out of range: " + id);
+    }
+    byte[] url = mapping.getLongUrl().getBytes(StandardCharsets.UTF_8);
+    if (RECORD_HEADER + url.length > segmentSize) {
+      throw new IllegalArgumentException("URL too long: " + url.length + " bytes");
+    }
+    return url;
+  }
+
+  // Caller holds appendLock
+  private void append(UrlMapping mapping, byte[] url) {
+    long id = mapping.getId();
+    long slot = id - FIRST_ID;
+    LocalDateTime created = mapping.getCreatedDate() != null ? mapping.getCreatedDate() : LocalDateTime.now();
+    int length = RECORD_HEADER + url.length;
+    long address = reserve(length);
+    MappedByteBuffer segment = segmentFor(address);
+    int pos = (int) (address & segmentMask);
+    segment.putLong(pos + 8, id);
+    segment.putLong(pos + 16, created.toInstant(ZoneOffset.UTC).toEpochMilli());
+    segment.putLong(pos + 24, ExpiryTimes.toMillis(mapping.getExpiresAt()));
+    segment.put(pos + RECORD_HEADER, url);
+    segment.putInt(pos + 4, crc(segment, pos, length));
+    segment.putInt(pos, length);
+
+    if (index.get(slot) == 0) {
+      size++;
+    }
+    index.set(slot, address + 1); // Release-publish the record to lock-free readers
+    highestSlot = Math.max(highestSlot, slot);
+    writePosition = address + length;
+  }
+
+  // Where the next record of this length goes; caller holds appendLock
+  private long reserve(int length) {
+    long address = writePosition;
+    if ((address & segmentMask) + length > segmentSize) {
+      address = ((address >>> segmentBits) + 1) << segmentBits; // Tail stays zero: "next segment"
+    }
+    return address;
+  }
+
+  private long addressOf(long id) {
+    return id < FIRST_ID ? -1 : index.get(id - FIRST_ID) - 1;
+  }
+
+  private static String readUrl(ByteBuffer segment, int pos) {
+    byte[] url = new byte[segment.getInt(pos) - RECORD_HEADER];
+    segment.get(pos + RECORD_HEADER, url);
+    return new String(url, StandardCharsets.UTF_8);
+  }
+
+  private static int crc(ByteBuffer segment, int pos, int length) {
+    CRC32C crc = new CRC32C();
+    crc.update(segment.slice(pos + 8, length - 8));
+    return (int) crc.getValue();
+  }
+
+  // Returns the log position to replay from: the checkpoint's logEnd, or 0 without a usable one
+  private long loadCheckpoint() throws IOException {
+    Path file = directory.resolve(CHECKPOINT_FILE);
+    if (!Files.exists(file)) {
+      return 0;
+    }
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      ByteBuffer header = ByteBuffer.allocate(CHECKPOINT_HEADER);
+      while (header.hasRemaining() && channel.read(header) > 0) {
+        // Read the full header
+      }
+      header.flip();
+      if (header.remaining() < CHECKPOINT_HEADER || header.getLong() != CHECKPOINT_MAGIC) {
+        return 0;
+      }
+      long logEnd = header.getLong();
+      long entries = header.getLong();
+      long stored = header.getLong();
+      if (entries > index.capacity() || channel.size() != CHECKPOINT_HEADER + entries * 8) {
+        return 0; // Written with another capacity or incomplete: rebuild from the log
+      }
+      index.readFrom(channel, entries);
+      synchronized (appendLock) {
+        highestSlot = entries - 1;
+        size = stored;
+      }
+      return logEnd;
+    }
+  }
+
+  // Re-indexes every intact record from 'from' on and positions the writer after the last one
+  private long replay(long from) throws IOException {
+    long position = from;
+    long records = 0;
+    boolean torn = false;
+    synchronized (appendLock) {
+      // Segments before the replay point hold checkpointed records: map them for readers
+      for (int s = 0; s < (int) (from >>> segmentBits); s++) {
+        segmentFor((long) s << segmentBits);
+      }
+      while (true) {
+        int s = (int) (position >>> segmentBits);
+        if (segments.getAcquire(s) == null && !Files.exists(segmentPath(s))) {
+          break;
+        }
+        MappedByteBuffer segment = segmentFor(position);
+        int pos = (int) (position & segmentMask);
+        int length = pos + RECORD_HEADER <= segmentSize ? segment.getInt(pos) : 0;
+        if (length == 0) {
+          if (!zeroFrom(segment, pos)) {
+            torn = true; // A record never got its length, but later ones were written
+            break;
+          }
+          // Unused tail: the log continues in the next segment if that one was started
+          long next = (long) (s + 1) << segmentBits;
+          if (!Files.exists(segmentPath(s + 1))) {
+            break;
+          }
+          position = next;
+          continue;
+        }
+        if (length < RECORD_HEADER || pos + length > segmentSize
+            || segment.getInt(pos + 4) != crc(segment, pos, length)) {
+          torn = true;
+          break;
+        }
+        long slot = segment.getLong(pos + 8) - FIRST_ID;
+        if (slot >= 0 && slot < index.capacity()) {
+          if (segment.getLong(pos + 16) == TOMBSTONE) {
+            if (index.get(slot) != 0) {
+              size--;
+              index.set(slot, 0);
+            }
+          } else {
+            if (index.get(slot) == 0) {
+              size++;
+            }
+            index.set(slot, position + 1);
+          }
+          highestSlot = Math.max(highestSlot, slot);
+        }
+        position += length;
+        records++;
+      }
+      writePosition = position;
+    }
+    if (torn) {
+      discardAfter(position);
+    }
+    return records;
+  }
+
+  // Whether nothing was written from pos to the end of the segment
+  private boolean zeroFrom(MappedByteBuffer segment, int pos) {
+    for (; pos < segmentSize; pos++) {
+      if (segment.get(pos) != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // Zeroes the rest of the torn segment and deletes later ones, so stale bytes can't be
+  // mistaken for records by a future replay
+  private void discardAfter(long position) throws IOException {
+    int s = (int) (position >>> segmentBits);
+    MappedByteBuffer segment = segments.getAcquire(s);
+    for (int pos = (int) (position & segmentMask); pos < segmentSize; pos++) {
+      segment.put(pos, (byte) 0);
+    }
+    segment.force();
+    for (int next = s + 1; Files.deleteIfExists(segmentPath(next)); next++) {
+      // Remove every following segment
+    }
+  }
+
+  private Path segmentPath(int segment) {
+    return directory.resolve(String.format("log-%05d.seg", segment));
+  }
+
+  private MappedByteBuffer segmentFor(long address) {
+    int s = (int) (address >>> segmentBits);
+    if (s >= MAX_SEGMENTS) {
+      throw new IllegalStateException("URL log is full");
+    }
+    MappedByteBuffer segment = segments.getAcquire(s);
+    if (segment == null) {
+      // Only the appender (or startup replay) maps new segments, always under appendLock
+      try (FileChannel channel = FileChannel.open(segmentPath(s), StandardOpenOption.CREATE,
+          StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+      } catch (IOException e) {
+        throw new UncheckedIOException("Could not map log segment " + s, e);
+      }
+      segments.setRelease(s, segment);
+    }
+    return segment;
+  }
+}
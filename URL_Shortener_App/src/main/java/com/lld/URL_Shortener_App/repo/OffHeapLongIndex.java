@@ -0,0 +1,146 @@
+package com.lld.URL_Shortener_App.repo;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Dense long[] living outside the heap, split into lazily allocated direct-buffer chunks.
+// Reads are acquire and writes are release, so a value published here also publishes
+// whatever the writer stored before it (e.g. the record it points at).
+// 0 means "unset".
+class OffHeapLongIndex {
+
+  private static final VarHandle LONGS =
+      MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+  private static final int CHUNK_BITS = 24; // 16M longs = 128 MiB per chunk
+  private static final int CHUNK_MASK = (1 << CHUNK_BITS) - 1;
+  private static final int IO_BUFFER_BYTES = 1 << 16;
+
+  private final long capacity;
+  private final AtomicReferenceArray<ByteBuffer> chunks;
+
+  OffHeapLongIndex(long capacity) {
+    this.capacity = capacity;
+    this.chunks = new AtomicReferenceArray<>((int) ((capacity + CHUNK_MASK) >>> CHUNK_BITS));
+  }
+
+  long capacity() {
+    return capacity;
+  }
+
+  long get(long index) {
+    if (index < 0 || index >= capacity) {
+      return 0;
+    }
+    ByteBuffer chunk = chunks.getAcquire((int) (index >>> CHUNK_BITS));
+    return chunk == null ? 0 : (long) LONGS.getAcquire(chunk, (int) (index & CHUNK_MASK) << 3);
+  }
+
+  void set(long index, long value) {
+    if (index < 0 || index >= capacity) {
+      throw new IndexOutOfBoundsException("Index " + index + " exceeds capacity " + capacity);
+    }
+    LONGS.setRelease(chunkFor(index), (int) (index & CHUNK_MASK) << 3, value);
+  }
+
+  // Release-publishes value and returns the previous one
+  long getAndSet(long index, long value) {
+    if (index < 0 || index >= capacity) {
+      throw new IndexOutOfBoundsException("Index " + index + " exceeds capacity " + capacity);
+    }
+    return (long) LONGS.getAndSet(chunkFor(index), (int) (index & CHUNK_MASK) << 3, value);
+  }
+
+  boolean compareAndSet(long index, long expected, long value) {
+    if (index < 0 || index >= capacity) {
+      return false;
+    }
+    ByteBuffer chunk = chunks.getAcquire((int) (index >>> CHUNK_BITS));
+    return chunk != null
+        && LONGS.compareAndSet(chunk, (int) (index & CHUNK_MASK) << 3, expected, value);
+  }
+
+  long allocatedBytes() {
+    long bytes = 0;
+    for (int i = 0; i < chunks.length(); i++) {
+      ByteBuffer chunk = chunks.getAcquire(i);
+      if (chunk != null) {
+        bytes += chunk.capacity();
+      }
+    }
+    return bytes;
+  }
+
+  // Writes entries [0, count) to the channel's current position, big-endian.
+  // Values above maxValue are written as 0. Returns the number of non-zero entries written.
+  long writeTo(FileChannel channel, long count, long maxValue) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_BYTES);
+    long nonZero = 0;
+    for (long i = 0; i < count; i++) {
+      long value = get(i);
+      if (value > maxValue) {
+        value = 0;
+      }
+      if (value != 0) {
+        nonZero++;
+      }
+      buffer.putLong(value);
+      if (!buffer.hasRemaining()) {
+        drain(buffer.flip(), channel);
+        buffer.clear();
+      }
+    }
+    drain(buffer.flip(), channel);
+    return nonZero;
+  }
+
+  // Loads entries [0, count) written by writeTo; chunks stay unallocated where all values are 0
+  void readFrom(FileChannel channel, long count) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_BYTES);
+    long i = 0;
+    while (i < count) {
+      buffer.clear().limit((int) Math.min(IO_BUFFER_BYTES, (count - i) << 3));
+      while (buffer.hasRemaining()) {
+        if (channel.read(buffer) < 0) {
+          throw new EOFException("Index ends after " + (i + (buffer.position() >>> 3)) + " entries");
+        }
+      }
+      buffer.flip();
+      while (buffer.hasRemaining()) {
+        long value = buffer.getLong();
+        if (value != 0) {
+          set(i, value);
+        }
+        i++;
+      }
+    }
+  }
+
+  private static void drain(ByteBuffer buffer, FileChannel channel) throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  private ByteBuffer chunkFor(long index) {
+    int c = (int) (index >>> CHUNK_BITS);
+    ByteBuffer chunk = chunks.getAcquire(c);
+    if (chunk == null) {
+      long remaining = capacity - ((long) c << CHUNK_BITS);
+      int longs = (int) Math.min(1 << CHUNK_BITS, remaining);
+      // Direct memory is zeroed on allocation, which is exactly "all unset"
+      ByteBuffer created = ByteBuffer.allocateDirect(longs << 3).order(ByteOrder.nativeOrder());
+      chunk = chunks.compareAndExchange(c, null, created);
+      if (chunk == null) {
+        chunk = created;
+      }
+    }
+    return chunk;
+  }
+}
@@ -0,0 +1,341 @@
+package com.lld.URL_Shortener_App.repo;
+
+import com.lld.URL_Shortener_App.codec.ShortCodeCodec;
+import com.lld.URL_Shortener_App.entity.UrlMapping;
+import com.lld.URL_Shortener_App.id.AtomicIdRangeSource;
+import com.lld.URL_Shortener_App.id.RangeIdGenerator;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+// Id-indexed store that keeps URLs and the index outside the Java heap.
+// Each URL is appended as [createdMillis:8][expiresMillis:8][length:4][UTF-8 bytes] to large
+// direct segments (the length's top bit marks a URL that is its own redirect Location), and an
+// off-heap long index maps (id - FIRST_ID) to the record's address + 1.
+// Heap cost is constant regardless of mapping count, so GC never scans the data; expect
+// ~20 + URL bytes of data plus 8 bytes of index per mapping.
+// Deleted, expired and overwritten records are not compacted; instead each segment counts its
+// live bytes and is released once the writer has moved past it and nothing in it is live.
+// Links written together tend to expire together, so expiring campaigns free whole segments.
+// Needs -XX:MaxDirectMemorySize sized for data + index (e.g. 500M mappings x ~80B -> ~40g).
+public class OffHeapUrlRepository implements UrlRepository {
+
+  private static final int HEADER_BYTES = 20;
+  private static final long MAX_DATA_BYTES = 1L << 40; // 1 TiB of URL bytes
+  private static final int OWN_LOCATION = 1 << 31; // In the length field, see RedirectLocations
+  private static final int INITIAL_SEGMENT_SLOTS = 16;
+
+  private static final long FIRST_ID = ArrayUrlRepository.FIRST_ID;
+
+  private final int segmentBits;
+  private final int segmentSize;
+  private final int segmentMask;
+  private final int maxSegments;
+  // Indexed by address >>> segmentBits. The table starts small and doubles as the writer moves
+  // on (copied under growLock); all per-segment state lives in the Segment objects, which the
+  // copy shares, so readers and writers on an older table never lose an update.
+  private volatile Segment[] segments;
+  private final Object growLock = new Object();
+  private final AtomicLong releasedSegments = new AtomicLong();
+  private final AtomicLong writeAddress = new AtomicLong(); // Next free byte across all segments
+  private final OffHeapLongIndex index;
+  private final RangeIdGenerator ids;
+  private final ShortCodeCodec codec;
+  private final AtomicLong size = new AtomicLong();
+  private final AtomicLong highestSlot = new AtomicLong(-1); // Bounds forEach
+
+  /**
+   * @param maxMappings  index capacity (ids beyond FIRST_ID + maxMappings are rejected)
+   * @param segmentBytes size of each data segment, a power of two up to 1 GiB
+   */
+  public OffHeapUrlRepository(long maxMappings, int segmentBytes) {
+    this(maxMappings, segmentBytes, new RangeIdGenerator(new AtomicIdRangeSource(FIRST_ID - 1),
+        RangeIdGenerator.DEFAULT_BLOCK_SIZE));
+  }
+
+  public OffHeapUrlRepository(long maxMappings, int segmentBytes, RangeIdGenerator ids) {
+    this(maxMappings, segmentBytes, ids, ShortCodeCodec.BASE62);
+  }
+
+  public OffHeapUrlRepository(long maxMappings, int segmentBytes, RangeIdGenerator ids,
+      ShortCodeCodec codec) {
+    if (Integer.bitCount(segmentBytes) != 1 || segmentBytes > (1 << 30)) {
+      throw new IllegalArgumentException("segmentBytes must be a power of two <= 1 GiB");
+    }
+    this.segmentBits = Integer.numberOfTrailingZeros(segmentBytes);
+    this.segmentSize = segmentBytes;
+    this.segmentMask = segmentBytes - 1;
+    this.maxSegments = (int) Math.min(MAX_DATA_BYTES >>> segmentBits, Integer.MAX_VALUE - 8);
+    this.segments = newSegments(new Segment[0], Math.min(INITIAL_SEGMENT_SLOTS, maxSegments));
+    this.index = new OffHeapLongIndex(maxMappings);
+    this.ids = ids;
+    this.codec = codec;
+  }
+
+  private static final class Segment {
+
+    // null until first written to, and again once released
+    final AtomicReference<ByteBuffer> buffer = new AtomicReference<>();
+    // Bytes written minus bytes dead. Written bytes are added when the writer seals the segment
+    // (moves past it), dead bytes subtracted as records die, so the balance reaches 0 exactly
+    // once: when a sealed segment holds nothing live.
+    final AtomicLong liveBytes = new AtomicLong();
+  }
+
+  @Override
+  public UrlMapping save(UrlMapping mapping) {
+    if (mapping.getId() == null) {
+      mapping.setId(getNextId());
+    }
+    long id = mapping.getId();
+    if (codec.decode(mapping.getShortCode()) != id) {
+      throw new IllegalArgumentException(
+          "Short code " + mapping.getShortCode() + " is not derived from id " + id);
+    }
+    long slot = id - FIRST_ID;
+    if (slot < 0 || slot >= index.capacity()) {
+      throw new IllegalArgumentException("Id out of range: " + id);
+    }
+
+    byte[] url = mapping.getLongUrl().getBytes(StandardCharsets.UTF_8);
+    LocalDateTime created = mapping.getCreatedDate() != null ? mapping.getCreatedDate() : LocalDateTime.now();
+    long address = allocate(HEADER_BYTES + url.length);
+    ByteBuffer segment = segmentFor(address);
+    int pos = (int) (address & segmentMask);
+    segment.putLong(pos, ExpiryTimes.epochMillis(created));
+    segment.putLong(pos + 8, ExpiryTimes.toMillis(mapping.getExpiresAt()));
+    segment.putInt(pos + 16, url.length
+        | (RedirectLocations.isOwnLocation(mapping.getLongUrl()) ? OWN_LOCATION : 0));
+    segment.put(pos + HEADER_BYTES, url);
+
+    // Release-publish: readers that see the address also see the bytes above
+    long previous = index.getAndSet(slot, address + 1);
+    if (slot > highestSlot.get()) {
+      highestSlot.accumulateAndGet(slot, Math::max);
+    }
+    if (previous == 0) {
+      size.incrementAndGet();
+    } else {
+      release(previous - 1); // Overwritten record
+    }
+    return mapping;
+  }
+
+  @Override
+  public Optional<UrlMapping> findByShortCode(String shortCode) {
+    long id = codec.decode(shortCode);
+    long address = addressOf(id);
+    if (address < 0) {
+      return Optional.empty();
+    }
+    ByteBuffer segment = liveSegment(id, address);
+    if (segment == null) {
+      return Optional.empty();
+    }
+    int pos = (int) (address & segmentMask);
+    LocalDateTime created = ExpiryTimes.dateTime(segment.getLong(pos));
+    return Optional.of(new UrlMapping(id, readUrl(segment, pos), shortCode, created,
+        ExpiryTimes.toDateTime(segment.getLong(pos + 8))));
+  }
+
+  @Override
+  public String findLongUrl(String shortCode) {
+    long id = codec.decode(shortCode);
+    long address = addressOf(id);
+    if (address < 0) {
+      return null;
+    }
+    ByteBuffer segment = liveSegment(id, address);
+    return segment == null ? null : readUrl(segment, (int) (address & segmentMask));
+  }
+
+  // Redirect fast path: no mapping built, and a URL that was its own Location at save is
+  // returned as read; only one that needs escaping is parsed here
+  @Override
+  public String findLocation(String shortCode) {
+    long id = codec.decode(shortCode);
+    long address = addressOf(id);
+    if (address < 0) {
+      return null;
+    }
+    ByteBuffer segment = liveSegment(id, address);
+    if (segment == null) {
+      return null;
+    }
+    int pos = (int) (address & segmentMask);
+    String longUrl = readUrl(segment, pos);
+    return (segment.getInt(pos + 16) & OWN_LOCATION) != 0 ? longUrl
+        : RedirectLocations.parse(longUrl);
+  }
+
+  @Override
+  public boolean delete(String shortCode) {
+    long id = codec.decode(shortCode);
+    long address = addressOf(id);
+    return address >= 0 && unlink(id, address);
+  }
+
+  @Override
+  public Long getNextId() {
+    return ids.nextId();
+  }
+
+  @Override
+  public long[] reserveIds(int count) {
+    return ids.nextIds(count);
+  }
+
+  @Override
+  public void forEach(Consumer<UrlMapping> action) {
+    long last = highestSlot.get();
+    for (long slot = 0; slot <= last; slot++) {
+      if (index.get(slot) != 0) {
+        findByShortCode(codec.encode(FIRST_ID + slot)).ifPresent(action);
+      }
+    }
+  }
+
+  @Override
+  public Map<String, Object> stats() {
+    Map<String, Object> stats = new LinkedHashMap<>();
+    stats.put("store.size", size.get());
+    stats.put("offheap.dataBytes", writeAddress.get());
+    stats.put("offheap.indexBytes", index.allocatedBytes());
+    stats.put("offheap.releasedSegments", releasedSegments.get());
+    return stats;
+  }
+
+  // Releases the id generator's file when ids come from url.id.source=file
+  @Override
+  public void close() {
+    ids.close();
+  }
+
+  private long addressOf(long id) {
+    return id < FIRST_ID ? -1 : index.get(id - FIRST_ID) - 1;
+  }
+
+  // Segment holding a live record, or null if the record expired (it's unlinked on the spot).
+  // A released segment stays valid for readers still holding it: the buffer is only freed once
+  // unreachable.
+  private ByteBuffer liveSegment(long id, long address) {
+    ByteBuffer segment = segments[(int) (address >>> segmentBits)].buffer.get();
+    if (segment == null) {
+      return null; // Unlinked and released since we read the index
+    }
+    if (ExpiryTimes.isExpired(segment.getLong((int) (address & segmentMask) + 8),
+        System.currentTimeMillis())) {
+      unlink(id, address);
+      return null;
+    }
+    return segment;
+  }
+
+  // Clears the index entry if it still points at the record; the CAS makes sure only one of
+  // several racing deleters accounts the record as dead
+  private boolean unlink(long id, long address) {
+    if (!index.compareAndSet(id - FIRST_ID, address + 1, 0)) {
+      return false;
+    }
+    size.decrementAndGet();
+    release(address);
+    return true;
+  }
+
+  private void release(long address) {
+    Segment segment = segments[(int) (address >>> segmentBits)];
+    // Unindexed but not yet released, so the buffer is still there
+    int length = HEADER_BYTES + (segment.buffer.get().getInt((int) (address & segmentMask) + 16)
+        & ~OWN_LOCATION);
+    if (segment.liveBytes.addAndGet(-length) == 0) {
+      releaseSegment(segment);
+    }
+  }
+
+  private void seal(int s, long writtenBytes) {
+    Segment segment = segments[s];
+    if (segment.liveBytes.addAndGet(writtenBytes) == 0) {
+      releaseSegment(segment); // Everything in it died before the writer moved on
+    }
+  }
+
+  private void releaseSegment(Segment segment) {
+    segment.buffer.set(null); // Direct memory goes back once the buffer is collected
+    releasedSegments.incrementAndGet();
+  }
+
+  private static String readUrl(ByteBuffer segment, int pos) {
+    byte[] url = new byte[segment.getInt(pos + 16) & ~OWN_LOCATION];
+    segment.get(pos + HEADER_BYTES, url);
+    return new String(url, StandardCharsets.UTF_8);
+  }
+
+  // Bump allocation; a record never straddles two segments
+  private long allocate(int length) {
+    if (length > segmentSize) {
+      throw new IllegalArgumentException("URL too long: " + length + " bytes");
+    }
+    while (true) {
+      long current = writeAddress.get();
+      long start = current;
+      if ((current & segmentMask) + length > segmentSize) {
+        start = ((current >>> segmentBits) + 1) << segmentBits; // Skip the segment's tail
+      }
+      if ((start >>> segmentBits) >= maxSegments) {
+        throw new IllegalStateException("Off-heap URL store is full");
+      }
+      if (writeAddress.compareAndSet(current, start + length)) {
+        ensureSlot((int) (start >>> segmentBits));
+        // Exactly one allocation moves into each new segment; it seals the previous one
+        if (start != current) {
+          seal((int) (current >>> segmentBits), current & segmentMask);
+        } else if (current != 0 && (current & segmentMask) == 0) {
+          seal((int) (current >>> segmentBits) - 1, segmentSize);
+        }
+        return start;
+      }
+    }
+  }
+
+  private ByteBuffer segmentFor(long address) {
+    AtomicReference<ByteBuffer> buffer = segments[(int) (address >>> segmentBits)].buffer;
+    ByteBuffer segment = buffer.get();
+    if (segment == null) {
+      ByteBuffer created = ByteBuffer.allocateDirect(segmentSize);
+      segment = buffer.compareAndExchange(null, created);
+      if (segment == null) {
+        segment = created;
+      }
+    }
+    return segment;
+  }
+
+  // Makes sure segment s has a slot, doubling the table when the writer reaches its end
+  private void ensureSlot(int s) {
+    if (s < segments.length) {
+      return;
+    }
+    synchronized (growLock) {
+      Segment[] current = segments;
+      if (s >= current.length) {
+        segments = newSegments(current, (int) Math.min(maxSegments,
+            Math.max(s + 1L, 2L * current.length)));
+      }
+    }
+  }
+
+  private static Segment[] newSegments(Segment[] current, int length) {
+    Segment[] grown = Arrays.copyOf(current, length);
+    for (int i = current.length; i < length; i++) {
+      grown[i] = new Segment();
+    }
+    return grown;
+  }
+}
@@ -0,0 +1,26 @@
+package com.lld.URL_Shortener_App.repo;
+
+import java.net.URI;
+
+// Redirect targets for stores that keep bare URLs instead of UrlMapping objects. Most long URLs
+// are valid ASCII URIs already, so their Location is the URL itself: such stores check that
+// once at save and return the stored URL on redirects without parsing it again.
+final class RedirectLocations {
+
+  private RedirectLocations() {
+  }
+
+  // True if url is its own Location, i.e. UrlMapping.redirectLocation() would return it as is
+  static boolean isOwnLocation(String url) {
+    try {
+      return URI.create(url).toASCIIString().equals(url);
+    } catch (IllegalArgumentException e) {
+      return false; // Invalid: parse() throws on redirect, like UrlMapping.redirectLocation()
+    }
+  }
+
+  // Location of a URL that isn't its own; throws IllegalArgumentException for an invalid URL
+  static String parse(String url) {
+    return URI.create(url).toASCIIString();
+  }
+}
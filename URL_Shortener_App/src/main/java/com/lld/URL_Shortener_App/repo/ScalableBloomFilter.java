@@ -0,0 +1,204 @@
+package com.lld.URL_Shortener_App.repo;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Scalable Bloom filter (Almeida et al.): a chain of plain Bloom filters. When the newest one
+// reaches its capacity, one twice as large with half the false-positive rate is appended, so
+// the combined rate stays under the configured one however many keys arrive.
+// Adds are an atomic OR per bit and reads are lock-free; only growing takes a lock.
+// There is no removal: a deleted key stays "maybe present".
+class ScalableBloomFilter {
+
+  private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+  private static final long MAGIC = 0x55524C424C4F4F4DL; // "URLBLOOM"
+  private static final double TIGHTENING = 0.5; // Filter i gets fpp * (1 - r) * r^i
+
+  private final double fpp;
+  private volatile Filter[] filters;
+
+  ScalableBloomFilter(long initialCapacity, double fpp) {
+    if (fpp <= 0 || fpp >= 1) {
+      throw new IllegalArgumentException("False-positive rate must be in (0, 1): " + fpp);
+    }
+    this.fpp = fpp;
+    this.filters = new Filter[] {new Filter(Math.max(64, initialCapacity), fpp * (1 - TIGHTENING))};
+  }
+
+  private ScalableBloomFilter(double fpp, Filter[] filters) {
+    this.fpp = fpp;
+    this.filters = filters;
+  }
+
+  private static final class Filter {
+
+    final long capacity;
+    final int hashes;
+    final long[] words; // Bit array, power-of-two length
+    final long mask;    // bits - 1
+    final AtomicLong count;
+
+    Filter(long capacity, double fpp) {
+      // m = -n ln p / (ln 2)^2, rounded up to a power of two so an index is a mask;
+      // k = m / n ln 2 for the bits actually allocated
+      double bits = -capacity * Math.log(fpp) / (Math.log(2) * Math.log(2));
+      long words = Long.highestOneBit(Math.max(1, (long) Math.ceil(bits / 64) - 1)) << 1;
+      if (words > Integer.MAX_VALUE - 8) {
+        throw new IllegalStateException("Bloom filter too large: " + words + " words");
+      }
+      this.capacity = capacity;
+      this.words = new long[(int) words];
+      this.mask = words * 64 - 1;
+      this.hashes = (int) Math.max(1, Math.min(16, Math.round((double) words * 64 / capacity * Math.log(2))));
+      this.count = new AtomicLong();
+    }
+
+    Filter(long capacity, int hashes, long[] words, long count) {
+      this.capacity = capacity;
+      this.hashes = hashes;
+      this.words = words;
+      this.mask = (long) words.length * 64 - 1;
+      this.count = new AtomicLong(count);
+    }
+
+    // Double hashing: bit i = h1 + i * h2
+    boolean mightContain(long h1, long h2) {
+      for (int i = 0; i < hashes; i++) {
+        long bit = (h1 + i * h2) & mask;
+        if (((long) WORDS.getVolatile(words, (int) (bit >>> 6)) & (1L << bit)) == 0) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    void add(long h1, long h2) {
+      for (int i = 0; i < hashes; i++) {
+        long bit = (h1 + i * h2) & mask;
+        WORDS.getAndBitwiseOr(words, (int) (bit >>> 6), 1L << bit);
+      }
+    }
+  }
+
+  void add(String key) {
+    long h1 = LongUrlHashIndex.hash(key);
+    long h2 = h2(h1);
+    Filter[] chain = filters;
+    for (Filter filter : chain) {
+      if (filter.mightContain(h1, h2)) {
+        return; // Already (or falsely) present: no need to spend capacity on it
+      }
+    }
+    Filter newest = chain[chain.length - 1];
+    newest.add(h1, h2);
+    if (newest.count.incrementAndGet() >= newest.capacity) {
+      grow(newest);
+    }
+  }
+
+  boolean mightContain(String key) {
+    long h1 = LongUrlHashIndex.hash(key);
+    long h2 = h2(h1);
+    Filter[] chain = filters;
+    for (int i = chain.length - 1; i >= 0; i--) { // Newest first: it holds the recent keys
+      if (chain[i].mightContain(h1, h2)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  int filterCount() {
+    return filters.length;
+  }
+
+  long entries() {
+    long entries = 0;
+    for (Filter filter : filters) {
+      entries += filter.count.get();
+    }
+    return entries;
+  }
+
+  long bytes() {
+    long bytes = 0;
+    for (Filter filter : filters) {
+      bytes += (long) filter.words.length * 8;
+    }
+    return bytes;
+  }
+
+  // Written to a temp file and moved into place, so a reader never sees half a snapshot.
+  // Callers make sure no adds run concurrently.
+  void writeTo(Path file) throws IOException {
+    Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+    Filter[] chain = filters;
+    try (DataOutputStream out = new DataOutputStream(
+        new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+      out.writeLong(MAGIC);
+      out.writeDouble(fpp);
+      out.writeInt(chain.length);
+      for (Filter filter : chain) {
+        out.writeLong(filter.capacity);
+        out.writeInt(filter.hashes);
+        out.writeLong(filter.count.get());
+        out.writeInt(filter.words.length);
+        for (long word : filter.words) {
+          out.writeLong(word);
+        }
+      }
+    }
+    Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  // Null if the file isn't a snapshot written by writeTo
+  static ScalableBloomFilter readFrom(Path file) throws IOException {
+    try (DataInputStream in = new DataInputStream(
+        new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+      if (in.readLong() != MAGIC) {
+        return null;
+      }
+      double fpp = in.readDouble();
+      Filter[] chain = new Filter[in.readInt()];
+      for (int f = 0; f < chain.length; f++) {
+        long capacity = in.readLong();
+        int hashes = in.readInt();
+        long count = in.readLong();
+        long[] words = new long[in.readInt()];
+        for (int i = 0; i < words.length; i++) {
+          words[i] = in.readLong();
+        }
+        chain[f] = new Filter(capacity, hashes, words, count);
+      }
+      return new ScalableBloomFilter(fpp, chain);
+    }
+  }
+
+  private synchronized void grow(Filter full) {
+    Filter[] chain = filters;
+    if (chain[chain.length - 1] != full) {
+      return; // Another thread already grew past it
+    }
+    Filter[] grown = Arrays.copyOf(chain, chain.length + 1);
+    grown[chain.length] = new Filter(full.capacity * 2,
+        fpp * (1 - TIGHTENING) * Math.pow(TIGHTENING, chain.length));
+    filters = grown;
+  }
+
+  // Second hash for double hashing; odd, so the probe sequence never repeats early
+  private static long h2(long h1) {
+    long h = h1 * 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 29;
+    return h | 1;
+  }
+}
@@ -0,0 +1,300 @@
+package com.lld.URL_Shortener_App.repo;
+
+import com.lld.URL_Shortener_App.entity.UrlMapping;
+import com.lld.URL_Shortener_App.id.RangeIdGenerator;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+
+// Partitions mappings across independent stores by a hash of the short code, placed on a
+// consistent-hash ring with virtual nodes. Every shard has its own tables and locks, so
+// operations on different shards never contend. Ids come from one generator, which the
+// shards are built with as well, so codes stay unique across shards.
+//
+// addShard rebalances online: routing switches to the new ring at once, so writes go to the
+// new owners, while a background thread copies each moved mapping to its new shard and deletes
+// it from the old one. Until that finishes, lookups in a moved range try the old owner first
+// and then the new one, so a mapping is visible in one of them at every step. A move that fails
+// leaves both rings in place and is finished by the next addShard (or resumeRebalance); moving
+// is idempotent, since moved mappings are gone from their old shard.
+@Slf4j
+public class ShardedUrlRepository implements UrlRepository {
+
+  // Builds the store for shard 'index' when addShard() is called without one
+  @FunctionalInterface
+  public interface ShardFactory {
+    UrlRepository create(int index) throws IOException;
+  }
+
+  private final List<UrlRepository> shards;
+  private final int virtualNodes;
+  private final RangeIdGenerator ids;
+  private final ShardFactory shardFactory; // null: shards can only be passed in
+  private final AtomicLong migrated = new AtomicLong();
+  private volatile Routing routing;
+  private volatile boolean rebalanceFailed; // The move onto the last shard stopped with an error
+
+  // previous is non-null while a rebalance is moving mappings off it
+  private record Routing(ConsistentHashRing current, ConsistentHashRing previous) {
+  }
+
+  public ShardedUrlRepository(List<? extends UrlRepository> shards, int virtualNodes,
+      RangeIdGenerator ids) {
+    this(shards, virtualNodes, ids, null);
+  }
+
+  public ShardedUrlRepository(List<? extends UrlRepository> shards, int virtualNodes,
+      RangeIdGenerator ids, ShardFactory shardFactory) {
+    this.shards = new CopyOnWriteArrayList<>(shards);
+    this.virtualNodes = virtualNodes;
+    this.ids = ids;
+    this.shardFactory = shardFactory;
+    this.routing = new Routing(new ConsistentHashRing(shards.size(), virtualNodes), null);
+  }
+
+  @Override
+  public UrlMapping save(UrlMapping mapping) {
+    if (mapping.getId() == null) {
+      mapping.setId(getNextId());
+    }
+    return shards.get(routing.current().owner(hash(mapping.getShortCode()))).save(mapping);
+  }
+
+  // One saveAll per shard; results come back in input order
+  @Override
+  public List<UrlMapping> saveAll(List<UrlMapping> mappings) {
+    ConsistentHashRing ring = routing.current();
+    List<List<UrlMapping>> perShard = new ArrayList<>(ring.shards());
+    List<List<Integer>> positions = new ArrayList<>(ring.shards());
+    for (int s = 0; s < ring.shards(); s++) {
+      perShard.add(new ArrayList<>());
+      positions.add(new ArrayList<>());
+    }
+    for (int i = 0; i < mappings.size(); i++) {
+      UrlMapping mapping = mappings.get(i);
+      if (mapping.getId() == null) {
+        mapping.setId(getNextId());
+      }
+      int owner = ring.owner(hash(mapping.getShortCode()));
+      perShard.get(owner).add(mapping);
+      positions.get(owner).add(i);
+    }
+    UrlMapping[] saved = new UrlMapping[mappings.size()];
+    for (int s = 0; s < perShard.size(); s++) {
+      if (perShard.get(s).isEmpty()) {
+        continue;
+      }
+      List<UrlMapping> stored = shards.get(s).saveAll(perShard.get(s));
+      for (int k = 0; k < stored.size(); k++) {
+        saved[positions.get(s).get(k)] = stored.get(k);
+      }
+    }
+    return Arrays.asList(saved);
+  }
+
+  @Override
+  public Optional<UrlMapping> findByShortCode(String shortCode) {
+    return read(shortCode, UrlRepository::findByShortCode);
+  }
+
+  @Override
+  public String findLongUrl(String shortCode) {
+    return read(shortCode, UrlRepository::findLongUrl);
+  }
+
+  @Override
+  public String findLocation(String shortCode) {
+    return read(shortCode, UrlRepository::findLocation);
+  }
+
+  // Old owner first, then new: the same order the mover copies in, so a racing move can't
+  // bring the mapping back
+  @Override
+  public boolean delete(String shortCode) {
+    Routing r = routing;
+    long hash = hash(shortCode);
+    int owner = r.current().owner(hash);
+    boolean deleted = false;
+    if (r.previous() != null) {
+      int previousOwner = r.previous().owner(hash);
+      if (previousOwner != owner) {
+        deleted = shards.get(previousOwner).delete(shortCode);
+      }
+    }
+    return shards.get(owner).delete(shortCode) | deleted;
+  }
+
+  @Override
+  public void forEach(Consumer<UrlMapping> action) {
+    for (UrlRepository shard : shards) {
+      shard.forEach(action);
+    }
+  }
+
+  @Override
+  public Long getNextId() {
+    return ids.nextId();
+  }
+
+  @Override
+  public long[] reserveIds(int count) {
+    return ids.nextIds(count);
+  }
+
+  /**
+   * Adds an empty shard and moves its share of the mappings to it in the background. Reads and
+   * writes keep working throughout. One rebalance runs at a time; if it fails, lookups keep
+   * checking both owners and no mapping is lost, and the next call finishes that move before
+   * adding this shard.
+   *
+   * @return completes when every moved mapping lives on the new shard
+   */
+  public synchronized CompletableFuture<Void> addShard(UrlRepository shard) {
+    if (routing.previous() != null) {
+      return resumeRebalance().thenCompose(done -> addShard(shard));
+    }
+    shards.add(shard);
+    routing = new Routing(new ConsistentHashRing(shards.size(), virtualNodes), routing.current());
+    return rebalance();
+  }
+
+  // Builds the next shard with the shard factory, then rebalances as addShard(UrlRepository)
+  @Override
+  public synchronized CompletableFuture<Void> addShard() {
+    if (shardFactory == null) {
+      throw new UnsupportedOperationException("No shard factory configured");
+    }
+    if (routing.previous() != null) {
+      // The shard is only built once the failed move is done, so a second failure builds none
+      return resumeRebalance().thenCompose(done -> addShard());
+    }
+    try {
+      return addShard(shardFactory.create(shards.size()));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not create shard " + shards.size(), e);
+    }
+  }
+
+  /**
+   * Restarts the move of a rebalance that failed, picking up the mappings still on their old
+   * shards.
+   *
+   * @throws IllegalStateException if a rebalance is running, or none is left to finish
+   */
+  public synchronized CompletableFuture<Void> resumeRebalance() {
+    if (routing.previous() == null) {
+      throw new IllegalStateException("No rebalance to resume");
+    }
+    if (!rebalanceFailed) {
+      throw new IllegalStateException("A rebalance is already running");
+    }
+    return rebalance();
+  }
+
+  @Override
+  public Map<String, Object> stats() {
+    Map<String, Object> stats = new LinkedHashMap<>();
+    long size = 0;
+    for (int s = 0; s < shards.size(); s++) {
+      Object shardSize = shards.get(s).stats().get("store.size");
+      if (shardSize instanceof Number n) {
+        size += n.longValue();
+      }
+      stats.put("shard." + s + ".size", shardSize);
+    }
+    stats.put("store.size", size);
+    stats.put("sharding.shards", shards.size());
+    stats.put("sharding.rebalancing", routing.previous() != null);
+    stats.put("sharding.rebalanceFailed", rebalanceFailed);
+    stats.put("sharding.migrated", migrated.get());
+    return stats;
+  }
+
+  @Override
+  public void close() {
+    for (UrlRepository shard : shards) {
+      shard.close();
+    }
+    ids.close();
+  }
+
+  // Moves the last shard's share of the mappings onto it in the background. Caller holds the
+  // lock and has set up the routing.
+  private CompletableFuture<Void> rebalance() {
+    rebalanceFailed = false;
+    int target = shards.size() - 1;
+    ConsistentHashRing ring = routing.current();
+    return CompletableFuture.runAsync(() -> moveTo(target, ring), task -> {
+      Thread t = new Thread(task, "url-shard-rebalance");
+      t.setDaemon(true);
+      t.start();
+    }).whenComplete((done, e) -> {
+      if (e == null) {
+        rebalanced();
+      } else {
+        failed(target, e);
+      }
+    });
+  }
+
+  private synchronized void rebalanced() {
+    routing = new Routing(routing.current(), null);
+  }
+
+  private synchronized void failed(int target, Throwable e) {
+    rebalanceFailed = true;
+    log.error("Moving mappings to shard {} failed; lookups check both owners until it is resumed",
+        target, e);
+  }
+
+  // Copies every mapping the new ring assigns to 'target' off the shards that held it
+  private void moveTo(int target, ConsistentHashRing ring) {
+    UrlRepository destination = shards.get(target);
+    for (int s = 0; s < target; s++) {
+      UrlRepository source = shards.get(s);
+      source.forEach(mapping -> {
+        if (ring.owner(hash(mapping.getShortCode())) != target) {
+          return;
+        }
+        destination.save(mapping);
+        if (!source.delete(mapping.getShortCode())) {
+          destination.delete(mapping.getShortCode()); // Deleted while we copied it
+        }
+        migrated.incrementAndGet();
+      });
+    }
+  }
+
+  // Runs a lookup on the owning shard; during a rebalance a moved code is tried on its old
+  // owner first. Misses are null or an empty Optional.
+  private <T> T read(String shortCode, BiFunction<UrlRepository, String, T> lookup) {
+    Routing r = routing;
+    long hash = hash(shortCode);
+    int owner = r.current().owner(hash);
+    if (r.previous() != null) {
+      int previousOwner = r.previous().owner(hash);
+      if (previousOwner != owner) {
+        T found = lookup.apply(shards.get(previousOwner), shortCode);
+        if (found != null && !Optional.empty().equals(found)) {
+          return found;
+        }
+      }
+    }
+    return lookup.apply(shards.get(owner), shortCode);
+  }
+
+  private static long hash(String shortCode) {
+    return LongUrlHashIndex.hash(shortCode);
+  }
+}
@@ -1,11 +1,77 @@
 package com.lld.URL_Shortener_App.repo;
 
 import com.lld.URL_Shortener_App.entity.UrlMapping;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 // Interface allows swapping DB later
-public interface UrlRepository {
+public interface UrlRepository extends AutoCloseable {
   UrlMapping save(UrlMapping mapping);
   Optional<UrlMapping> findByShortCode(String shortCode);
   Long getNextId(); // Simulates DB Sequence
-}
\ No newline at end of file
+
+  // Removes a mapping (expiry reaper, admin); true if it existed
+  boolean delete(String shortCode);
+
+  // Bulk write; returns what was stored in input order (dedup may hand back an earlier mapping)
+  default List<UrlMapping> saveAll(List<UrlMapping> mappings) {
+    List<UrlMapping> saved = new ArrayList<>(mappings.size());
+    for (UrlMapping mapping : mappings) {
+      saved.add(save(mapping));
+    }
+    return saved;
+  }
+
+  // count fresh ids for a bulk insert; stores backed by a range allocator take them in one lease
+  default long[] reserveIds(int count) {
+    long[] ids = new long[count];
+    for (int i = 0; i < count; i++) {
+      ids[i] = getNextId();
+    }
+    return ids;
+  }
+
+  // Redirect fast path: the long URL or null, without materializing a mapping/Optional
+  default String findLongUrl(String shortCode) {
+    return findByShortCode(shortCode).map(UrlMapping::getLongUrl).orElse(null);
+  }
+
+  // Redirect target: the mapping's validated Location (UrlMapping.redirectLocation) or null.
+  // Stores that keep their mapping objects, and the cache, override this so the parsed
+  // location is reused across redirects.
+  default String findLocation(String shortCode) {
+    UrlMapping mapping = findByShortCode(shortCode).orElse(null);
+    return mapping == null ? null : mapping.redirectLocation();
+  }
+
+  // Code an equal long URL was already shortened to, or null (only the dedup decorator knows)
+  default String findShortCodeByLongUrl(String longUrl) {
+    return null;
+  }
+
+  // Visits every live mapping (weakly consistent under concurrent writes); used to move
+  // partitions between shards
+  default void forEach(Consumer<UrlMapping> action) {
+    throw new UnsupportedOperationException(getClass().getSimpleName() + " can't be iterated");
+  }
+
+  // Adds a shard and moves its share of the mappings to it in the background (sharded stores
+  // only; decorators pass it through). Completes when the move is done.
+  default CompletableFuture<Void> addShard() {
+    throw new UnsupportedOperationException(getClass().getSimpleName() + " is not sharded");
+  }
+
+  // Operational counters (cache hits, sizes...). Decorators add their own on top of the delegate's.
+  default Map<String, Object> stats() {
+    return Map.of();
+  }
+
+  // Releases files/threads held by durable stores; Spring calls it on shutdown
+  @Override
+  default void close() {
+  }
+}
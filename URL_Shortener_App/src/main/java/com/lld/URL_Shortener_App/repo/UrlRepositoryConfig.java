@@ -0,0 +1,182 @@
+package com.lld.URL_Shortener_App.repo;
+
+import com.lld.URL_Shortener_App.codec.ShortCodeCodec;
+import com.lld.URL_Shortener_App.id.AtomicIdRangeSource;
+import com.lld.URL_Shortener_App.id.FileIdRangeSource;
+import com.lld.URL_Shortener_App.id.IdRangeSource;
+import com.lld.URL_Shortener_App.id.RangeIdGenerator;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.util.unit.DataSize;
+
+// Assembles the UrlRepository the service sees: the store plus optional decorators
+@Configuration
+public class UrlRepositoryConfig {
+
+  // Short code format, shared by the service and the id-indexed stores. Changing it changes
+  // every existing code, so keep it fixed for a durable store's lifetime.
+  @Bean
+  public ShortCodeCodec shortCodeCodec(
+      @Value("${url.codec.fixed-width:0}") int fixedWidth,
+      @Value("${url.codec.scramble-key:#{null}}") Long scrambleKey) {
+    if (fixedWidth == 0) {
+      if (scrambleKey != null) {
+        throw new IllegalArgumentException("url.codec.scramble-key needs url.codec.fixed-width");
+      }
+      return ShortCodeCodec.BASE62;
+    }
+    return ShortCodeCodec.fixedWidth(fixedWidth, scrambleKey);
+  }
+
+  @Bean
+  public UrlRepository urlRepository(
+      @Value("${url.repository.type:memory}") String type,
+      @Value("${url.cache.enabled:true}") boolean cacheEnabled,
+      @Value("${url.cache.maximum-size:100000}") long cacheMaximumSize,
+      @Value("${url.cache.ttl:10m}") Duration cacheTtl,
+      @Value("${url.cache.negative-ttl:30s}") Duration cacheNegativeTtl,
+      @Value("${url.id.block-size:10000}") int idBlockSize,
+      @Value("${url.dedup.enabled:false}") boolean dedupEnabled,
+      @Value("${url.dedup.initial-capacity:1048576}") int dedupInitialCapacity,
+      @Value("${url.expiry.reap-interval:1s}") Duration reapInterval,
+      @Value("${url.bloom.enabled:true}") boolean bloomEnabled,
+      @Value("${url.bloom.initial-capacity:1000000}") long bloomInitialCapacity,
+      @Value("${url.bloom.fpp:0.01}") double bloomFpp,
+      ShortCodeCodec codec,
+      Environment env) throws IOException {
+    UrlRepository repository;
+    boolean sharded = type.equals("sharded");
+    String storeType = sharded ? env.getProperty("url.sharding.store", "memory") : type;
+    if (sharded) {
+      repository = shardedStore(storeType, idBlockSize, codec, env);
+    } else {
+      // The durable store keeps its own id file next to its data
+      repository = store(type, type.equals("mapped") ? null : idGenerator(idBlockSize, env),
+          idBlockSize, codec, env, null);
+    }
+
+    // Right above the store, so reaping deletes straight from it; cached entries never outlive
+    // a link's expiry anyway
+    repository = new ExpiringUrlRepository(repository, reapInterval);
+    if (cacheEnabled) {
+      repository = new CachingUrlRepository(repository, cacheMaximumSize, cacheTtl,
+          cacheNegativeTtl);
+    }
+    if (bloomEnabled) {
+      // Outside the cache, so random probes don't crowd it with negative entries. Durable
+      // stores keep a snapshot of the filter next to their data.
+      repository = new BloomFilteringUrlRepository(repository, bloomInitialCapacity, bloomFpp,
+          storeType.equals("mapped") ? Path.of(env.getProperty("url.persistence.dir", "data/urls"), "bloom.bin")
+              : null);
+    }
+    if (dedupEnabled) {
+      // Outermost, so verifying a dedup hit reads through the cache
+      repository = new DeduplicatingUrlRepository(repository, dedupInitialCapacity, codec);
+    }
+    return repository;
+  }
+
+  // Non-blocking contract used by url.serving.mode=async. Wraps the full decorator chain, so
+  // only calls that reach past the cache and filters actually wait on the store.
+  @Bean
+  public AsyncUrlRepository asyncUrlRepository(UrlRepository urlRepository,
+      @Value("${url.serving.max-concurrent-calls:1024}") int maxConcurrentCalls) {
+    return new VirtualThreadAsyncUrlRepository(urlRepository, maxConcurrentCalls);
+  }
+
+  // Independent stores of one type behind a consistent-hash ring. All shards take their ids
+  // from one generator, so codes stay unique across them.
+  static ShardedUrlRepository shardedStore(String storeType, int idBlockSize,
+      ShortCodeCodec codec, Environment env) throws IOException {
+    int count = env.getProperty("url.sharding.shards", Integer.class, 4);
+    // Mapped shards added at runtime have their own directories and are reopened as well. A
+    // restart may have cut the newest one's move short, so that move is resumed below; if it
+    // had finished, resuming costs one scan of the other shards.
+    int added = 0;
+    if (storeType.equals("mapped")) {
+      Path dir = Path.of(env.getProperty("url.persistence.dir", "data/urls"));
+      while (Files.isDirectory(dir.resolve("shard-" + (count + added)))) {
+        added++;
+      }
+    }
+    IdRangeSource source = idSource(env);
+    RangeIdGenerator ids = new RangeIdGenerator(source, idBlockSize);
+    List<UrlRepository> shards = new ArrayList<>(count + added);
+    long highestId = 0;
+    for (int i = 0; i < count + added; i++) {
+      UrlRepository shard = store(storeType, ids, idBlockSize, codec, env, "shard-" + i);
+      if (shard instanceof MappedFileUrlRepository mapped) {
+        highestId = Math.max(highestId, mapped.highestId());
+      }
+      shards.add(shard);
+    }
+    // Mapped shards outlive the process, a memory id source doesn't: without this it would
+    // restart at 10001 and saves would overwrite the slots of existing ids
+    source.advanceTo(highestId);
+
+    int initial = added == 0 ? count : count + added - 1;
+    ShardedUrlRepository sharded = new ShardedUrlRepository(shards.subList(0, initial),
+        env.getProperty("url.sharding.virtual-nodes", Integer.class, 128), ids,
+        index -> store(storeType, ids, idBlockSize, codec, env, "shard-" + index));
+    if (added > 0) {
+      sharded.addShard(shards.get(initial));
+    }
+    return sharded;
+  }
+
+  // ids: the generator for the store, or null for an unsharded mapped store, which leases
+  // from its own id file. shard: subdirectory for durable stores, null when unsharded.
+  private static UrlRepository store(String type, RangeIdGenerator ids, int idBlockSize,
+      ShortCodeCodec codec, Environment env, String shard) throws IOException {
+    return switch (type) {
+      case "memory" -> new InMemoryUrlRepository(ids);
+      case "array" -> new ArrayUrlRepository(ids, codec);
+      case "offheap" -> new OffHeapUrlRepository(
+          env.getProperty("url.offheap.max-mappings", Long.class, 500_000_000L),
+          (int) env.getProperty("url.offheap.segment-size", DataSize.class,
+              DataSize.ofGigabytes(1)).toBytes(),
+          ids, codec);
+      case "mapped" -> {
+        Path dir = Path.of(env.getProperty("url.persistence.dir", "data/urls"));
+        long maxMappings = env.getProperty("url.persistence.max-mappings", Long.class,
+            500_000_000L);
+        int segmentBytes = (int) env.getProperty("url.persistence.segment-size", DataSize.class,
+            DataSize.ofMegabytes(256)).toBytes();
+        Duration syncInterval = env.getProperty("url.persistence.sync-interval", Duration.class,
+            Duration.ofSeconds(1));
+        Duration checkpointInterval = env.getProperty("url.persistence.checkpoint-interval",
+            Duration.class, Duration.ofMinutes(1));
+        yield ids == null
+            ? new MappedFileUrlRepository(dir, maxMappings, segmentBytes, idBlockSize,
+                syncInterval, checkpointInterval, codec)
+            : new MappedFileUrlRepository(dir.resolve(shard), maxMappings, segmentBytes, ids,
+                syncInterval, checkpointInterval, codec);
+      }
+      default -> throw new IllegalArgumentException("Unknown url.repository.type: " + type);
+    };
+  }
+
+  private static RangeIdGenerator idGenerator(int blockSize, Environment env) throws IOException {
+    return new RangeIdGenerator(idSource(env), blockSize);
+  }
+
+  // Ids are leased in blocks from a per-process counter or a lock-protected file shared by
+  // every instance on the host (ids start above 10k, like the original sequence)
+  private static IdRangeSource idSource(Environment env) throws IOException {
+    String source = env.getProperty("url.id.source", "memory");
+    return switch (source) {
+      case "memory" -> new AtomicIdRangeSource(10000);
+      case "file" -> new FileIdRangeSource(Path.of(env.getProperty("url.id.file", "data/id.seq")),
+          10000);
+      default -> throw new IllegalArgumentException("Unknown url.id.source: " + source);
+    };
+  }
+}
@@ -0,0 +1,64 @@
+package com.lld.URL_Shortener_App.repo;
+
+import com.lld.URL_Shortener_App.entity.UrlMapping;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+// AsyncUrlRepository over a blocking store: each call runs on its own virtual thread, which
+// parks instead of holding a platform thread while the store blocks. maxConcurrentCalls
+// bounds how many calls are in the store at once (the rest wait, parked, for a permit), so
+// a burst of connections can't turn into an unbounded number of backend requests.
+public class VirtualThreadAsyncUrlRepository implements AsyncUrlRepository, AutoCloseable {
+
+  private final UrlRepository delegate;
+  private final Semaphore permits;
+  private final ExecutorService executor;
+
+  public VirtualThreadAsyncUrlRepository(UrlRepository delegate, int maxConcurrentCalls) {
+    this.delegate = delegate;
+    this.permits = new Semaphore(maxConcurrentCalls);
+    this.executor = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("url-repo-", 0).factory());
+  }
+
+  @Override
+  public CompletableFuture<UrlMapping> save(UrlMapping mapping) {
+    return call(() -> delegate.save(mapping));
+  }
+
+  @Override
+  public CompletableFuture<Optional<UrlMapping>> findByShortCode(String shortCode) {
+    return call(() -> delegate.findByShortCode(shortCode));
+  }
+
+  @Override
+  public CompletableFuture<String> findLocation(String shortCode) {
+    return call(() -> delegate.findLocation(shortCode));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> delete(String shortCode) {
+    return call(() -> delegate.delete(shortCode));
+  }
+
+  // Waits for calls already running; the delegate is closed by its own owner
+  @Override
+  public void close() {
+    executor.close();
+  }
+
+  private <T> CompletableFuture<T> call(Supplier<T> operation) {
+    return CompletableFuture.supplyAsync(() -> {
+      permits.acquireUninterruptibly();
+      try {
+        return operation.get();
+      } finally {
+        permits.release();
+      }
+    }, executor);
+  }
+}
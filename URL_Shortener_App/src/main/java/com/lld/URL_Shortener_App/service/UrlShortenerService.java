@@ -1,51 +1,144 @@
 package com.lld.URL_Shortener_App.service;
 
+import com.lld.URL_Shortener_App.analytics.ClickAnalytics;
+import com.lld.URL_Shortener_App.analytics.ClickSnapshot;
+import com.lld.URL_Shortener_App.analytics.CodeClicks;
+import com.lld.URL_Shortener_App.codec.ShortCodeCodec;
 import com.lld.URL_Shortener_App.entity.UrlMapping;
+import com.lld.URL_Shortener_App.repo.AsyncUrlRepository;
 import com.lld.URL_Shortener_App.repo.UrlRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 @RequiredArgsConstructor
 @Service
 public class UrlShortenerService {
 
   private final UrlRepository repository;
-  private static final String ALLOWED_CHARS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
-  private static final char[] CHAR_MAP = ALLOWED_CHARS.toCharArray();
-  private static final int BASE = ALLOWED_CHARS.length(); // 62
+  private final AsyncUrlRepository asyncRepository;
+  private final ClickAnalytics analytics;
+  private final ShortCodeCodec codec;
   private static final String DOMAIN = "http://short.ly/";
 
   public String shortenUrl(String longUrl) {
+    return shortenUrl(longUrl, null);
+  }
+
+  // ttl: how long the link resolves, or null for forever. A TTL that isn't positive is an
+  // IllegalArgumentException, thrown before an id is taken.
+  public String shortenUrl(String longUrl, Duration ttl) {
+    checkTtl(ttl);
+    // 0. Dedup mode: a long URL we've shortened before keeps its code (no new id).
+    // Expiring links always get their own code.
+    if (ttl == null) {
+      String existing = repository.findShortCodeByLongUrl(longUrl);
+      if (existing != null) {
+        return existing;
+      }
+    }
+
     // 1. Get a unique ID (Simulating DB Auto Increment)
     Long id = repository.getNextId();
 
-    // 2. Encode ID to Base62 Short Code
-    String shortCode = encodeBase62(id);
+    // 2. Encode ID to Base62 Short Code (fixed width / scrambled if configured)
+    String shortCode = codec.encode(id);
+
+    // 3. Save to DB (with dedup, a concurrent shorten of the same URL may have won the race)
+    LocalDateTime now = LocalDateTime.now();
+    UrlMapping mapping = new UrlMapping(id, longUrl, shortCode, now, expiresAt(now, ttl));
+    return repository.save(mapping).getShortCode();
+  }
+
+  // Redirect fast path: the Location to send, or null for an unknown or expired code. A miss
+  // is just null (no exception, no message), so scans for random codes stay cheap.
+  public String redirectLocation(String shortCode) {
+    String location = repository.findLocation(shortCode);
+    if (location != null) {
+      analytics.record(shortCode); // Async: the aggregator thread does the counting
+    }
+    return location;
+  }
+
+  // Same as redirectLocation without blocking the caller: the future completes (with null on
+  // a miss) once the store has answered
+  public CompletableFuture<String> redirectLocationAsync(String shortCode) {
+    return asyncRepository.findLocation(shortCode).thenApply(location -> {
+      if (location != null) {
+        analytics.record(shortCode);
+      }
+      return location;
+    });
+  }
+
+  // Bulk shorten: one id-range reservation and one repository write for the whole batch.
+  // ttls holds each URL's lifetime (null entries: forever). Returns the short codes in input order.
+  // One TTL that isn't positive fails the whole batch before any id is reserved.
+  public List<String> shortenBatch(List<String> longUrls, List<Duration> ttls) {
+    ttls.forEach(UrlShortenerService::checkTtl);
+    String[] codes = new String[longUrls.size()];
+    int[] fresh = new int[codes.length]; // Positions that need a new code
+    int freshCount = 0;
+    for (int i = 0; i < codes.length; i++) {
+      codes[i] = ttls.get(i) == null ? repository.findShortCodeByLongUrl(longUrls.get(i)) : null;
+      if (codes[i] == null) {
+        fresh[freshCount++] = i;
+      }
+    }
+
+    long[] ids = repository.reserveIds(freshCount);
+    LocalDateTime now = LocalDateTime.now();
+    List<UrlMapping> mappings = new ArrayList<>(freshCount);
+    for (int k = 0; k < freshCount; k++) {
+      mappings.add(new UrlMapping(ids[k], longUrls.get(fresh[k]), codec.encode(ids[k]), now,
+          expiresAt(now, ttls.get(fresh[k]))));
+    }
+    List<UrlMapping> saved = repository.saveAll(mappings);
+    for (int k = 0; k < freshCount; k++) {
+      codes[fresh[k]] = saved.get(k).getShortCode();
+    }
+    return Arrays.asList(codes);
+  }
+
+  // Bulk resolve: null for unknown codes, in input order
+  public List<String> resolveBatch(List<String> shortCodes) {
+    List<String> longUrls = new ArrayList<>(shortCodes.size());
+    for (String shortCode : shortCodes) {
+      longUrls.add(repository.findLongUrl(shortCode));
+    }
+    return longUrls;
+  }
 
-    // 3. Save to DB
-    UrlMapping mapping = new UrlMapping(id, longUrl, shortCode, LocalDateTime.now());
-    repository.save(mapping);
+  public ClickSnapshot clickStats() {
+    return analytics.snapshot();
+  }
 
-    return shortCode;
+  public CodeClicks clickStats(String shortCode) {
+    return analytics.clicks(shortCode);
   }
 
-  public String getOriginalUrl(String shortCode) {
-    return repository.findByShortCode(shortCode)
-        .map(UrlMapping::getLongUrl)
-        .orElseThrow(() -> new RuntimeException("URL not found for code: " + shortCode));
+  public Map<String, Object> repositoryStats() {
+    return repository.stats();
   }
 
-  // Algorithm: Base 10 (ID) -> Base 62 (String)
-  private String encodeBase62(long id) {
-    StringBuilder sb = new StringBuilder();
-    if (id == 0) return String.valueOf(CHAR_MAP[0]);
+  // Adds a shard to a sharded store; mappings move to it in the background
+  public void addShard() {
+    repository.addShard();
+  }
 
-    while (id > 0) {
-      int remainder = (int) (id % BASE);
-      sb.append(CHAR_MAP[remainder]);
-      id = id / BASE;
+  private static void checkTtl(Duration ttl) {
+    if (ttl != null && (ttl.isNegative() || ttl.isZero())) {
+      throw new IllegalArgumentException("TTL must be positive: " + ttl);
     }
-    return sb.reverse().toString();
+  }
+
+  private static LocalDateTime expiresAt(LocalDateTime now, Duration ttl) {
+    return ttl == null ? null : now.plus(ttl);
   }
 }
\ No newline at end of file
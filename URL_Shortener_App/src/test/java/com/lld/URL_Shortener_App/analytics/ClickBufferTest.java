@@ -0,0 +1,109 @@
+package com.lld.URL_Shortener_App.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+// The click hand-off drops when full instead of blocking, keeps order across wrap-around, never
+// skips a slot a producer claimed but hasn't filled yet, and loses nothing it took in
+class ClickBufferTest {
+
+  @Test
+  void aFullRingDropsUntilItIsDrained() {
+    ClickBuffer.Ring ring = new ClickBuffer.Ring(4);
+    for (int i = 0; i < 4; i++) {
+      assertTrue(ring.offer("c" + i));
+    }
+    assertFalse(ring.offer("dropped"));
+
+    List<String> drained = new ArrayList<>();
+    assertEquals(4, ring.drain(drained::add));
+    assertEquals(List.of("c0", "c1", "c2", "c3"), drained);
+    assertTrue(ring.offer("c4"));
+  }
+
+  @Test
+  void sequencesWrapAroundTheRingInOrder() {
+    ClickBuffer.Ring ring = new ClickBuffer.Ring(4);
+    List<String> drained = new ArrayList<>();
+    List<String> offered = new ArrayList<>();
+    for (int round = 0; round < 100; round++) {
+      for (int i = 0; i < 3; i++) { // Never a multiple of the size, so every slot is reused
+        String code = round + "-" + i;
+        assertTrue(ring.offer(code));
+        offered.add(code);
+      }
+      ring.drain(drained::add);
+    }
+    assertEquals(offered, drained);
+  }
+
+  @Test
+  void drainStopsAtAClaimedSlotUntilItIsPublished() {
+    ClickBuffer.Ring ring = new ClickBuffer.Ring(4);
+    assertTrue(ring.offer("first"));
+    long claimed = ring.claim(); // A producer between its CAS and its write
+    assertTrue(ring.offer("after"));
+
+    List<String> drained = new ArrayList<>();
+    assertEquals(1, ring.drain(drained::add));
+    assertEquals(0, ring.drain(drained::add)); // "after" waits behind the claimed slot
+
+    ring.publish(claimed, "claimed");
+    assertEquals(2, ring.drain(drained::add));
+    assertEquals(List.of("first", "claimed", "after"), drained);
+  }
+
+  @Test
+  void concurrentProducersHandOffEveryClickTheyGetIn() throws Exception {
+    int producers = 8;
+    int perProducer = 10_000;
+    ClickBuffer buffer = new ClickBuffer(4, 64); // Small rings: they fill and wrap constantly
+    Map<String, Integer> drained = new HashMap<>();
+    AtomicBoolean producing = new AtomicBoolean(true);
+    Thread aggregator = new Thread(() -> {
+      while (producing.get()) {
+        if (buffer.drain(code -> drained.merge(code, 1, Integer::sum)) == 0) {
+          Thread.yield();
+        }
+      }
+      buffer.drain(code -> drained.merge(code, 1, Integer::sum));
+    });
+    aggregator.start();
+
+    ExecutorService pool = Executors.newFixedThreadPool(producers);
+    Map<String, Integer> offered = new HashMap<>();
+    try {
+      List<Future<?>> results = new ArrayList<>();
+      for (int p = 0; p < producers; p++) {
+        String code = "p" + p;
+        offered.put(code, perProducer);
+        results.add(pool.submit(() -> {
+          for (int i = 0; i < perProducer; i++) {
+            while (!buffer.offer(code)) {
+              Thread.yield(); // Full: let the aggregator catch up instead of dropping
+            }
+          }
+        }));
+      }
+      for (Future<?> result : results) {
+        result.get();
+      }
+    } finally {
+      pool.shutdownNow();
+      producing.set(false);
+      aggregator.join();
+    }
+    assertEquals(offered, drained);
+  }
+}
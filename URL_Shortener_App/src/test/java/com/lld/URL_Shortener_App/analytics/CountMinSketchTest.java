@@ -0,0 +1,43 @@
+package com.lld.URL_Shortener_App.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+// Estimates never undercount, and almost all of them overcount by no more than e/width of the
+// total clicks
+class CountMinSketchTest {
+
+  @Test
+  void estimatesNeverUndercountAndStayWithinTheBound() {
+    int width = 1024;
+    CountMinSketch sketch = new CountMinSketch(4, width);
+    Map<String, Long> truth = new HashMap<>();
+    SplittableRandom random = new SplittableRandom(42);
+    long total = 0;
+    for (int i = 0; i < 200_000; i++) {
+      String code = "c" + random.nextInt(20_000);
+      long count = 1 + random.nextInt(3);
+      sketch.add(CountMinSketch.hash(code), count);
+      truth.merge(code, count, Long::sum);
+      total += count;
+    }
+
+    double bound = Math.E / width * total;
+    int withinBound = 0;
+    for (Map.Entry<String, Long> entry : truth.entrySet()) {
+      long estimate = sketch.estimate(CountMinSketch.hash(entry.getKey()));
+      assertTrue(estimate >= entry.getValue(), entry.getKey() + " undercounted");
+      if (estimate - entry.getValue() <= bound) {
+        withinBound++;
+      }
+    }
+    // Each estimate is within the bound with probability 1 - e^-4 (~98%)
+    assertTrue(withinBound >= 0.95 * truth.size(), withinBound + " of " + truth.size());
+    assertEquals(0, new CountMinSketch(4, width).estimate(CountMinSketch.hash("c1")));
+  }
+}
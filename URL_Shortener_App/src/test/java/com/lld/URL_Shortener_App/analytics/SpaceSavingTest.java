@@ -0,0 +1,71 @@
+package com.lld.URL_Shortener_App.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+// Heavy hitters in fixed memory: a newcomer evicts the minimum and inherits its count as error,
+// every count is within its error of the truth, and frequent codes are never lost
+class SpaceSavingTest {
+
+  @Test
+  void aNewcomerEvictsTheMinimumAndInheritsItsCount() {
+    SpaceSaving counters = new SpaceSaving(2, 1);
+    counters.offer("a", 5, 0);
+    counters.offer("b", 2, 0);
+    counters.offer("c", 1, 0); // Takes b's counter
+
+    List<SpaceSaving.Counter> top = counters.top(10);
+    assertEquals(List.of("a", "c"), codes(top));
+    assertEquals(3, top.get(1).count);
+    assertEquals(2, top.get(1).error);
+    assertEquals(0, top.get(0).error);
+
+    counters.offer("c", 4, 0); // Overtakes a, so a is the next to go
+    counters.offer("d", 1, 0);
+    assertEquals(List.of("c", "d"), codes(counters.top(10)));
+    assertEquals(List.of("c"), codes(counters.top(1)));
+  }
+
+  @Test
+  void countsStayWithinTheirErrorAndHeavyHittersAreKept() {
+    int capacity = 50;
+    SpaceSaving counters = new SpaceSaving(capacity, 1);
+    Map<String, Long> truth = new HashMap<>();
+    SplittableRandom random = new SplittableRandom(42);
+    long total = 0;
+    for (int i = 0; i < 200_000; i++) {
+      // Skewed: a few codes take most clicks, a long tail takes the rest
+      String code = "c" + (int) (1000 * Math.pow(random.nextDouble(), 4));
+      long count = 1 + random.nextInt(3);
+      counters.offer(code, count, 0);
+      truth.merge(code, count, Long::sum);
+      total += count;
+    }
+
+    Map<String, SpaceSaving.Counter> tracked = counters.top(capacity).stream()
+        .collect(Collectors.toMap(c -> c.shortCode, c -> c));
+    assertEquals(capacity, tracked.size());
+    for (SpaceSaving.Counter counter : tracked.values()) {
+      long actual = truth.get(counter.shortCode);
+      assertTrue(counter.count >= actual && counter.count - counter.error <= actual,
+          counter.shortCode + ": " + counter.count + " - " + counter.error + " vs " + actual);
+      assertTrue(counter.error <= total / capacity);
+    }
+    for (Map.Entry<String, Long> entry : truth.entrySet()) {
+      if (entry.getValue() > total / capacity) {
+        assertTrue(tracked.containsKey(entry.getKey()), entry.getKey() + " was evicted");
+      }
+    }
+  }
+
+  private static List<String> codes(List<SpaceSaving.Counter> counters) {
+    return counters.stream().map(c -> c.shortCode).toList();
+  }
+}
@@ -0,0 +1,89 @@
+package com.lld.URL_Shortener_App.bench;
+
+import com.lld.URL_Shortener_App.entity.UrlMapping;
+import com.lld.URL_Shortener_App.repo.CachingUrlRepository;
+import com.lld.URL_Shortener_App.repo.InMemoryUrlRepository;
+import com.lld.URL_Shortener_App.repo.UrlRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Zipfian redirect lookups against a 20us "remote" store, with and without the hot-code cache.
+// The cache holds 1% of the keys; with theta=0.99 that covers most of the traffic.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class CachedLookupBenchmark {
+
+  private static final long REMOTE_LOOKUP_NANOS = TimeUnit.MICROSECONDS.toNanos(20);
+
+  @Param({"remote", "cached-remote"})
+  public String repository;
+
+  @Param({"1000000"})
+  public int keys;
+
+  UrlRepository repo;
+  String[] codes;
+
+  @Setup
+  public void setUp() {
+    InMemoryUrlRepository store = new InMemoryUrlRepository();
+    codes = new String[keys];
+    for (int i = 0; i < keys; i++) {
+      long id = 10_000 + i;
+      codes[i] = Long.toString(id, 36);
+      store.save(new UrlMapping(id, "https://example.com/page/" + i, codes[i], LocalDateTime.now()));
+    }
+
+    UrlRepository remote = new SimulatedLatencyUrlRepository(store, REMOTE_LOOKUP_NANOS);
+    repo = repository.equals("cached-remote")
+        ? new CachingUrlRepository(remote, keys / 100, Duration.ofMinutes(10), Duration.ofSeconds(30))
+        : remote;
+  }
+
+  @TearDown
+  public void report() {
+    System.out.println("\n" + repo.stats());
+  }
+
+  @State(Scope.Thread)
+  public static class Workload {
+
+    int[] ranks;
+    int next;
+
+    @Setup
+    public void setUp(CachedLookupBenchmark bench) {
+      ranks = new ZipfianGenerator(bench.keys, ZipfianGenerator.DEFAULT_THETA,
+          Thread.currentThread().getId()).sample(1 << 20);
+    }
+
+    int nextRank() {
+      return ranks[next++ & (ranks.length - 1)];
+    }
+  }
+
+  @Benchmark
+  public Optional<UrlMapping> zipfianLookup(Workload workload) {
+    return repo.findByShortCode(codes[workload.nextRank()]);
+  }
+}
@@ -0,0 +1,62 @@
+package com.lld.URL_Shortener_App.bench;
+
+import com.lld.URL_Shortener_App.analytics.ClickAnalytics;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Cost ClickAnalytics.record adds to a redirect, with the aggregator draining concurrently.
+// JMH calls record far faster than real redirects arrive, so part of the calls take the
+// "ring full" path; that path is the cheaper one, so the numbers are an upper bound on overhead.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class ClickRecordBenchmark {
+
+  @Param({"true", "false"})
+  public boolean enabled;
+
+  private final String[] codes = new String[1024];
+  private ClickAnalytics analytics;
+
+  @State(Scope.Thread)
+  public static class Cursor {
+    int next;
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    analytics = new ClickAnalytics(enabled, 8192, 10, 60, Duration.ofMillis(10),
+        Duration.ofSeconds(5));
+    for (int i = 0; i < codes.length; i++) {
+      codes[i] = "code" + i;
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    analytics.close();
+  }
+
+  @Benchmark
+  public void record(Cursor cursor) {
+    analytics.record(codes[cursor.next++ & (codes.length - 1)]);
+  }
+}
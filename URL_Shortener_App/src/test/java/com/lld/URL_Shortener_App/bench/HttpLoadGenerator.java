@@ -0,0 +1,261 @@
+package com.lld.URL_Shortener_App.bench;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import tools.jackson.databind.json.JsonMapper;
+
+// HTTP load generator for a running shortener: a mix of GET /api/{code} redirects (Zipfian
+// over preloaded links, hottest first) and POST /api/shorten writes, reporting throughput and
+// latency percentiles per operation.
+//   closed loop (rate=0): each connection sends its next request when the last one returns
+//   open loop (rate=R):   R requests/s spread over the connections on a fixed schedule, with
+//                         latency measured from the scheduled start, so a stalled server
+//                         shows up in the percentiles instead of just slowing the client
+// Results go to stdout and to --out: .json writes one document; .csv appends one row per
+// operation (header on first use), so repeated runs accumulate a history to compare.
+//   mvn -Pbench test-compile exec:exec -Dbench.main=com.lld.URL_Shortener_App.bench.HttpLoadGenerator \
+//       -Dbench.args="--url=http://localhost:8080 --connections=256 --read-ratio=0.9 --out=target/load.csv"
+public class HttpLoadGenerator {
+
+  private static final Pattern SHORT_CODE = Pattern.compile("\"shortCode\"\\s*:\\s*\"([^\"]+)\"");
+  private static final int PRELOAD_BATCH = 10_000;
+  private static final int RANK_SAMPLES = 1 << 22;
+
+  public record OperationResult(String operation, long requests, long errors,
+      double requestsPerSecond, long p50Micros, long p90Micros, long p99Micros,
+      long p999Micros, long maxMicros) {
+  }
+
+  public record RunResult(String label, String startedAt, String url, int connections,
+      double readRatio, int keys, double theta, double rate, long durationSeconds,
+      List<OperationResult> operations) {
+  }
+
+  private final Map<String, String> options;
+  private final String url;
+  private final int connections;
+  private final Duration duration;
+  private final Duration warmup;
+  private final double readRatio;
+  private final int keys;
+  private final double theta;
+  private final double rate;
+  private final HttpClient client;
+
+  HttpLoadGenerator(Map<String, String> options) {
+    this.options = options;
+    this.url = option("url", "http://localhost:8080");
+    this.connections = Integer.parseInt(option("connections", "256"));
+    this.duration = Duration.ofSeconds(Long.parseLong(option("duration", "60")));
+    this.warmup = Duration.ofSeconds(Long.parseLong(option("warmup", "10")));
+    this.readRatio = Double.parseDouble(option("read-ratio", "0.9"));
+    this.keys = Integer.parseInt(option("keys", "100000"));
+    this.theta = Double.parseDouble(option("theta", String.valueOf(ZipfianGenerator.DEFAULT_THETA)));
+    this.rate = Double.parseDouble(option("rate", "0"));
+    this.client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(10))
+        .build();
+  }
+
+  // Options are --name=value: url, connections, duration and warmup (seconds), read-ratio,
+  // keys (links preloaded for reads), theta, rate (requests/s, 0 = closed loop), out, label
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      int eq = arg.indexOf('=');
+      if (!arg.startsWith("--") || eq < 0) {
+        throw new IllegalArgumentException("Expected --name=value, got " + arg);
+      }
+      options.put(arg.substring(2, eq), arg.substring(eq + 1));
+    }
+    HttpLoadGenerator generator = new HttpLoadGenerator(options);
+    RunResult result = generator.run();
+    print(result);
+    String out = options.get("out");
+    if (out != null) {
+      export(result, Path.of(out));
+    }
+  }
+
+  RunResult run() throws IOException, InterruptedException {
+    String startedAt = Instant.now().toString();
+    URI[] reads = preload();
+    int[] ranks = new ZipfianGenerator(keys, theta, 42).sample(RANK_SAMPLES);
+
+    LatencyHistogram readLatencies = new LatencyHistogram();
+    LatencyHistogram writeLatencies = new LatencyHistogram();
+    LongAdder readErrors = new LongAdder();
+    LongAdder writeErrors = new LongAdder();
+    long start = System.nanoTime();
+    long measureFrom = start + warmup.toNanos();
+    long end = measureFrom + duration.toNanos();
+    long interval = rate > 0 ? (long) (connections * 1e9 / rate) : 0; // Per connection
+
+    try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int c = 0; c < connections; c++) {
+        int connection = c;
+        workers.execute(() -> {
+          SplittableRandom random = new SplittableRandom(connection);
+          int next = random.nextInt(RANK_SAMPLES); // Each connection walks its own stretch
+          long written = 0;
+          long scheduled = interval > 0 ? start + random.nextLong(interval) : System.nanoTime();
+          while (scheduled < end) {
+            if (interval > 0) {
+              parkUntil(scheduled);
+            }
+            boolean read = random.nextDouble() < readRatio;
+            HttpRequest request = read
+                ? HttpRequest.newBuilder(reads[ranks[next++ & (RANK_SAMPLES - 1)]]).GET().build()
+                : HttpRequest.newBuilder(URI.create(url + "/api/shorten"))
+                    .header("Content-Type", "text/plain")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                        "https://example.com/load/" + connection + "/" + written++))
+                    .build();
+            boolean ok;
+            try {
+              int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+              ok = status == (read ? 302 : 200);
+            } catch (IOException e) {
+              ok = false;
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+              return;
+            }
+            long finished = System.nanoTime();
+            if (scheduled >= measureFrom) {
+              if (ok) {
+                (read ? readLatencies : writeLatencies).recordNanos(finished - scheduled);
+              } else {
+                (read ? readErrors : writeErrors).increment();
+              }
+            }
+            scheduled = interval > 0 ? scheduled + interval : finished;
+          }
+        });
+      }
+    } // close() waits for every connection to reach the end of the run
+
+    LatencyHistogram all = new LatencyHistogram();
+    all.add(readLatencies);
+    all.add(writeLatencies);
+    return new RunResult(option("label", ""), startedAt, url, connections, readRatio, keys,
+        theta, rate, duration.toSeconds(), List.of(
+            summarize("redirect", readLatencies, readErrors.sum()),
+            summarize("shorten", writeLatencies, writeErrors.sum()),
+            summarize("all", all, readErrors.sum() + writeErrors.sum())));
+  }
+
+  // Shortens keys links through the bulk endpoint and returns their redirect URIs, shuffled
+  // so Zipfian rank 0 isn't simply the oldest link
+  private URI[] preload() throws IOException, InterruptedException {
+    List<URI> uris = new ArrayList<>(keys);
+    for (int from = 0; from < keys; from += PRELOAD_BATCH) {
+      StringBuilder lines = new StringBuilder();
+      for (int i = from; i < Math.min(keys, from + PRELOAD_BATCH); i++) {
+        lines.append("{\"longUrl\":\"https://example.com/preload/").append(i).append("\"}\n");
+      }
+      HttpResponse<String> response = client.send(
+          HttpRequest.newBuilder(URI.create(url + "/api/shorten/batch"))
+              .header("Content-Type", "application/x-ndjson")
+              .POST(HttpRequest.BodyPublishers.ofString(lines.toString()))
+              .build(),
+          HttpResponse.BodyHandlers.ofString());
+      if (response.statusCode() != 200) {
+        throw new IOException("Preload failed with HTTP " + response.statusCode());
+      }
+      Matcher code = SHORT_CODE.matcher(response.body());
+      while (code.find()) {
+        uris.add(URI.create(url + "/api/" + code.group(1)));
+      }
+    }
+    if (uris.size() != keys) {
+      throw new IOException("Preload returned " + uris.size() + " codes for " + keys + " links");
+    }
+    Collections.shuffle(uris, new Random(42));
+    return uris.toArray(URI[]::new);
+  }
+
+  private OperationResult summarize(String operation, LatencyHistogram latencies, long errors) {
+    return new OperationResult(operation, latencies.count(), errors,
+        latencies.count() / (double) duration.toSeconds(),
+        latencies.percentileMicros(50), latencies.percentileMicros(90),
+        latencies.percentileMicros(99), latencies.percentileMicros(99.9), latencies.maxMicros());
+  }
+
+  private static void print(RunResult result) {
+    System.out.printf("%s: %d connections, %.0f%% reads, %d keys (theta %.2f), %s, %d s%n",
+        result.url(), result.connections(), result.readRatio() * 100, result.keys(),
+        result.theta(), result.rate() > 0 ? String.format("%.0f req/s", result.rate())
+            : "closed loop", result.durationSeconds());
+    System.out.printf("%-9s %10s %8s %10s %9s %9s %9s %9s %9s%n", "operation", "requests",
+        "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+    for (OperationResult op : result.operations()) {
+      System.out.printf("%-9s %10d %8d %10.0f %9.2f %9.2f %9.2f %9.2f %9.2f%n", op.operation(),
+          op.requests(), op.errors(), op.requestsPerSecond(), op.p50Micros() / 1e3,
+          op.p90Micros() / 1e3, op.p99Micros() / 1e3, op.p999Micros() / 1e3,
+          op.maxMicros() / 1e3);
+    }
+  }
+
+  private static void export(RunResult result, Path out) throws IOException {
+    if (out.getParent() != null) {
+      Files.createDirectories(out.getParent());
+    }
+    if (out.toString().endsWith(".csv")) {
+      StringBuilder csv = new StringBuilder();
+      if (!Files.exists(out)) {
+        csv.append("label,started_at,url,connections,read_ratio,keys,theta,rate,duration_s,"
+            + "operation,requests,errors,requests_per_s,p50_us,p90_us,p99_us,p999_us,max_us\n");
+      }
+      for (OperationResult op : result.operations()) {
+        csv.append(String.join(",", result.label(), result.startedAt(), result.url(),
+            String.valueOf(result.connections()), String.valueOf(result.readRatio()),
+            String.valueOf(result.keys()), String.valueOf(result.theta()),
+            String.valueOf(result.rate()), String.valueOf(result.durationSeconds()),
+            op.operation(), String.valueOf(op.requests()), String.valueOf(op.errors()),
+            String.format(Locale.ROOT, "%.1f", op.requestsPerSecond()), String.valueOf(op.p50Micros()),
+            String.valueOf(op.p90Micros()), String.valueOf(op.p99Micros()),
+            String.valueOf(op.p999Micros()), String.valueOf(op.maxMicros()))).append('\n');
+      }
+      Files.writeString(out, csv, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    } else {
+      Files.writeString(out, JsonMapper.builder().build().writerWithDefaultPrettyPrinter()
+          .writeValueAsString(result));
+    }
+    System.out.println("Results written to " + out);
+  }
+
+  private static void parkUntil(long deadline) {
+    long wait;
+    while ((wait = deadline - System.nanoTime()) > 0) {
+      LockSupport.parkNanos(wait);
+    }
+  }
+
+  private String option(String name, String defaultValue) {
+    return options.getOrDefault(name, defaultValue);
+  }
+}
@@ -0,0 +1,42 @@
+package com.lld.URL_Shortener_App.bench;
+
+import com.lld.URL_Shortener_App.id.AtomicIdRangeSource;
+import com.lld.URL_Shortener_App.id.RangeIdGenerator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Id allocation under contention: one shared AtomicLong vs striped leases of 10k-id blocks.
+// Run with -t 1 / -t 8 / -t max to see the shared counter stop scaling while leases do.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(Threads.MAX)
+public class IdGeneratorBenchmark {
+
+  private final AtomicLong sequence = new AtomicLong(10000);
+  private final RangeIdGenerator leased = new RangeIdGenerator(new AtomicIdRangeSource(10000),
+      RangeIdGenerator.DEFAULT_BLOCK_SIZE);
+
+  @Benchmark
+  public long sharedAtomicLong() {
+    return sequence.incrementAndGet();
+  }
+
+  @Benchmark
+  public long rangeLeases() {
+    return leased.nextId();
+  }
+}
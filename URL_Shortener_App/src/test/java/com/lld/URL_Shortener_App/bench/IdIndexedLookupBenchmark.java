@@ -0,0 +1,89 @@
+package com.lld.URL_Shortener_App.bench;
+
+import com.lld.URL_Shortener_App.codec.Base62;
+import com.lld.URL_Shortener_App.entity.UrlMapping;
+import com.lld.URL_Shortener_App.repo.ArrayUrlRepository;
+import com.lld.URL_Shortener_App.repo.InMemoryUrlRepository;
+import com.lld.URL_Shortener_App.repo.OffHeapUrlRepository;
+import com.lld.URL_Shortener_App.repo.UrlRepository;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Redirect lookups by short code: ConcurrentHashMap<String, UrlMapping> vs decode + array read.
+// Codes are pre-built, so only the repository's own work is measured.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class IdIndexedLookupBenchmark {
+
+  @Param({"memory", "array", "offheap"})
+  public String repository;
+
+  @Param({"1000000", "10000000"})
+  public int keys;
+
+  UrlRepository repo;
+  String[] codes;
+
+  @Setup
+  public void setUp() {
+    repo = switch (repository) {
+      case "array" -> new ArrayUrlRepository();
+      case "offheap" -> new OffHeapUrlRepository(keys, 1 << 28);
+      default -> new InMemoryUrlRepository();
+    };
+    codes = new String[keys];
+    LocalDateTime now = LocalDateTime.now();
+    for (int i = 0; i < keys; i++) {
+      long id = repo.getNextId();
+      codes[i] = Base62.encode(id);
+      repo.save(new UrlMapping(id, "https://example.com/page/" + id, codes[i], now));
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Keys {
+
+    int[] order;
+    int next;
+
+    @Setup
+    public void setUp(IdIndexedLookupBenchmark bench) {
+      SplittableRandom random = new SplittableRandom(42);
+      order = new int[1 << 20];
+      for (int i = 0; i < order.length; i++) {
+        order[i] = random.nextInt(bench.keys);
+      }
+    }
+
+    int nextKey() {
+      return order[next++ & (order.length - 1)];
+    }
+  }
+
+  @Benchmark
+  public String findLongUrl(Keys keys) {
+    return repo.findLongUrl(codes[keys.nextKey()]);
+  }
+
+  @Benchmark
+  public Optional<UrlMapping> findByShortCode(Keys keys) {
+    return repo.findByShortCode(codes[keys.nextKey()]);
+  }
+}
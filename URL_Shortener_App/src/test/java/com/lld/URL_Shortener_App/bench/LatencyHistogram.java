@@ -0,0 +1,71 @@
+package com.lld.URL_Shortener_App.bench;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Concurrent latency histogram in microseconds. Buckets are log-linear: 32 per power of two,
+// so every value is kept to within ~3% up to days. Recording is a single atomic increment,
+// cheap enough to share between thousands of client threads.
+public class LatencyHistogram {
+
+  private static final int SUB_BITS = 5;
+  private static final int SUB = 1 << SUB_BITS;
+  private static final int BUCKETS = (64 - SUB_BITS) * SUB;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+  public void recordNanos(long nanos) {
+    counts.incrementAndGet(index(Math.max(0, nanos / 1000)));
+  }
+
+  public long count() {
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      total += counts.get(i);
+    }
+    return total;
+  }
+
+  // Value at percentile p (0..100] in microseconds, 0 when nothing was recorded
+  public long percentileMicros(double p) {
+    long total = count();
+    if (total == 0) {
+      return 0;
+    }
+    long target = Math.max(1, (long) Math.ceil(p / 100 * total));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += counts.get(i);
+      if (seen >= target) {
+        return highestIn(i);
+      }
+    }
+    return highestIn(BUCKETS - 1);
+  }
+
+  public long maxMicros() {
+    for (int i = BUCKETS - 1; i >= 0; i--) {
+      if (counts.get(i) != 0) {
+        return highestIn(i);
+      }
+    }
+    return 0;
+  }
+
+  public void add(LatencyHistogram other) {
+    for (int i = 0; i < BUCKETS; i++) {
+      counts.addAndGet(i, other.counts.get(i));
+    }
+  }
+
+  // Values below 2 * SUB get a bucket each; above that, the top SUB_BITS + 1 bits pick one
+  static int index(long micros) {
+    int shift = Math.max(0, 63 - Long.numberOfLeadingZeros(micros) - SUB_BITS);
+    return shift * SUB + (int) (micros >>> shift);
+  }
+
+  static long highestIn(int index) {
+    int shift = Math.max(0, index / SUB - 1);
+    long top = index - (long) shift * SUB;
+    return ((top + 1) << shift) - 1;
+  }
+}
@@ -0,0 +1,143 @@
+package com.lld.URL_Shortener_App.bench;
+
+import com.lld.URL_Shortener_App.UrlShortenerAppApplication;
+import com.lld.URL_Shortener_App.repo.UrlRepository;
+import com.lld.URL_Shortener_App.service.UrlShortenerService;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// Redirect throughput and latency at 10k concurrent connections for each serving mode:
+//   platform  Tomcat's 200 platform workers, blocking handler (the old behaviour)
+//   virtual   a virtual thread per request, blocking handler
+//   async     platform workers, CompletableFuture handler over AsyncUrlRepository
+// Every lookup sleeps lookupMillis, like a remote database round trip, so the modes differ in
+// how many lookups can wait at once rather than in CPU. Platform mode tops out near
+// 200 / lookup time; the other two are bounded by CPU (async gets one store call per
+// connection, so it isn't capped by max-concurrent-calls either).
+// Client and server share the JVM and need ~2 file descriptors per connection (ulimit -n).
+//   mvn -Pbench test-compile exec:exec -Dbench.main=com.lld.URL_Shortener_App.bench.ServingModeLoadTest \
+//       -Dbench.args="10000 20 30"   (connections, lookup ms, seconds per mode)
+public class ServingModeLoadTest {
+
+  private static final int CODES = 10_000;
+  private static final Duration WARMUP = Duration.ofSeconds(5);
+
+  public static void main(String[] args) throws Exception {
+    int connections = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+    long lookupMillis = args.length > 1 ? Long.parseLong(args[1]) : 20;
+    int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+
+    System.out.printf("%d connections, %d ms per lookup, %d s per mode%n", connections,
+        lookupMillis, seconds);
+    System.out.printf("%-9s %12s %9s %9s %9s %9s %8s%n", "mode", "redirects/s", "p50 ms",
+        "p99 ms", "p99.9 ms", "max ms", "errors");
+    for (String mode : List.of("platform", "virtual", "async")) {
+      run(mode, connections, lookupMillis, Duration.ofSeconds(seconds));
+    }
+  }
+
+  private static void run(String mode, int connections, long lookupMillis, Duration duration)
+      throws Exception {
+    long lookupNanos = Duration.ofMillis(lookupMillis).toNanos();
+    ConfigurableApplicationContext app = new SpringApplicationBuilder(
+        UrlShortenerAppApplication.class)
+        .properties(
+            "server.port=0",
+            "spring.threads.virtual.enabled=" + !mode.equals("platform"),
+            "url.serving.mode=" + (mode.equals("async") ? "async" : "blocking"),
+            "server.tomcat.max-connections=" + (connections + 1000),
+            "server.tomcat.accept-count=" + connections,
+            "url.serving.max-concurrent-calls=" + connections,
+            "spring.mvc.async.request-timeout=60s",
+            "url.cache.enabled=false", // Every redirect reaches the slow store
+            "logging.level.root=WARN")
+        // Wraps the assembled repository, so the service and the async adapter both see it
+        .initializers(context -> context.getBeanFactory().addBeanPostProcessor(
+            new BeanPostProcessor() {
+              @Override
+              public Object postProcessAfterInitialization(Object bean, String name) {
+                return bean instanceof UrlRepository repository
+                    ? new SimulatedLatencyUrlRepository(repository, lookupNanos, true) : bean;
+              }
+            }))
+        .run();
+    try {
+      UrlShortenerService service = app.getBean(UrlShortenerService.class);
+      String base = "http://localhost:" + app.getEnvironment().getProperty("local.server.port")
+          + "/api/";
+      List<URI> uris = new ArrayList<>(CODES);
+      for (int i = 0; i < CODES; i++) {
+        uris.add(URI.create(base + service.shortenUrl("https://example.com/page/" + i)));
+      }
+      report(mode, load(uris, connections, duration));
+    } finally {
+      app.close();
+    }
+  }
+
+  private static Result load(List<URI> uris, int connections, Duration duration) {
+    HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(30))
+        .build();
+    LatencyHistogram latencies = new LatencyHistogram();
+    LongAdder errors = new LongAdder();
+    long measureFrom = System.nanoTime() + WARMUP.toNanos();
+    long end = measureFrom + duration.toNanos();
+
+    // One virtual thread per connection, each sending its next request as soon as the last
+    // one is answered (closed loop), so 'connections' requests are always in flight
+    try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int c = 0; c < connections; c++) {
+        long seed = c;
+        clients.execute(() -> {
+          SplittableRandom random = new SplittableRandom(seed);
+          long now;
+          while ((now = System.nanoTime()) < end) {
+            HttpRequest request = HttpRequest.newBuilder(uris.get(random.nextInt(uris.size())))
+                .timeout(Duration.ofSeconds(60))
+                .build();
+            boolean ok;
+            try {
+              ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode()
+                  == 302;
+            } catch (Exception e) {
+              ok = false;
+            }
+            if (now >= measureFrom) {
+              if (ok) {
+                latencies.recordNanos(System.nanoTime() - now);
+              } else {
+                errors.increment();
+              }
+            }
+          }
+        });
+      }
+    } // close() waits for every connection's loop to finish
+    return new Result(latencies, errors.sum(), duration);
+  }
+
+  private static void report(String mode, Result result) {
+    LatencyHistogram latencies = result.latencies();
+    System.out.printf("%-9s %12.0f %9.1f %9.1f %9.1f %9.1f %8d%n", mode,
+        latencies.count() / (result.duration().toNanos() / 1e9),
+        latencies.percentileMicros(50) / 1e3, latencies.percentileMicros(99) / 1e3,
+        latencies.percentileMicros(99.9) / 1e3, latencies.maxMicros() / 1e3, result.errors());
+  }
+
+  private record Result(LatencyHistogram latencies, long errors, Duration duration) {
+  }
+}
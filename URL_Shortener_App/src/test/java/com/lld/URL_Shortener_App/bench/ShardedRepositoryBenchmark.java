@@ -0,0 +1,108 @@
+package com.lld.URL_Shortener_App.bench;
+
+import com.lld.URL_Shortener_App.codec.Base62;
+import com.lld.URL_Shortener_App.entity.UrlMapping;
+import com.lld.URL_Shortener_App.id.AtomicIdRangeSource;
+import com.lld.URL_Shortener_App.id.RangeIdGenerator;
+import com.lld.URL_Shortener_App.repo.ArrayUrlRepository;
+import com.lld.URL_Shortener_App.repo.InMemoryUrlRepository;
+import com.lld.URL_Shortener_App.repo.MappedFileUrlRepository;
+import com.lld.URL_Shortener_App.repo.ShardedUrlRepository;
+import com.lld.URL_Shortener_App.repo.UrlRepository;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Throughput of 1 vs N shards on all cores. Stores that serialize writes (the mapped log's
+// append lock) show the biggest gain: each shard brings its own lock.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Threads(Threads.MAX)
+public class ShardedRepositoryBenchmark {
+
+  private static final int KEYS = 1_000_000;
+
+  @Param({"memory", "array", "mapped"})
+  public String store;
+
+  @Param({"1", "2", "4", "8"})
+  public int shards;
+
+  UrlRepository repo;
+  String[] codes;
+  LocalDateTime now;
+  Path dir;
+
+  @Setup
+  public void setUp() throws IOException {
+    dir = Files.createTempDirectory("sharded-bench");
+    List<UrlRepository> stores = new ArrayList<>(shards);
+    for (int i = 0; i < shards; i++) {
+      stores.add(switch (store) {
+        case "array" -> new ArrayUrlRepository();
+        case "mapped" -> new MappedFileUrlRepository(dir.resolve("shard-" + i), 100_000_000L,
+            1 << 28, RangeIdGenerator.DEFAULT_BLOCK_SIZE, Duration.ofSeconds(1),
+            Duration.ofHours(1));
+        default -> new InMemoryUrlRepository();
+      });
+    }
+    repo = new ShardedUrlRepository(stores, 128, new RangeIdGenerator(
+        new AtomicIdRangeSource(10000), RangeIdGenerator.DEFAULT_BLOCK_SIZE));
+    now = LocalDateTime.now();
+    codes = new String[KEYS];
+    for (int i = 0; i < KEYS; i++) {
+      codes[i] = shorten();
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    repo.close();
+  }
+
+  @State(Scope.Thread)
+  public static class Keys {
+
+    final SplittableRandom random = new SplittableRandom();
+  }
+
+  @Benchmark
+  public String lookup(Keys keys) {
+    return repo.findLongUrl(codes[keys.random.nextInt(KEYS)]);
+  }
+
+  @Benchmark
+  public String shortenNew() {
+    return shorten();
+  }
+
+  private String shorten() {
+    long id = repo.getNextId();
+    String code = Base62.encode(id);
+    repo.save(new UrlMapping(id, "https://example.com/page/" + id, code, now));
+    return code;
+  }
+}
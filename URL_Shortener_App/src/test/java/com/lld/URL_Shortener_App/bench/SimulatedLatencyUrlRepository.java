@@ -0,0 +1,69 @@
+package com.lld.URL_Shortener_App.bench;
+
+import com.lld.URL_Shortener_App.entity.UrlMapping;
+import com.lld.URL_Shortener_App.repo.UrlRepository;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+// Stand-in for a remote/persistent store: every lookup waits for a fixed time. By default it
+// busy-waits (precise at microsecond scale); with sleep it blocks the calling thread like a
+// network round trip, which is what thread-per-request serving has to ride out.
+public class SimulatedLatencyUrlRepository implements UrlRepository {
+
+  private final UrlRepository delegate;
+  private final long lookupNanos;
+  private final boolean sleep;
+
+  public SimulatedLatencyUrlRepository(UrlRepository delegate, long lookupNanos) {
+    this(delegate, lookupNanos, false);
+  }
+
+  public SimulatedLatencyUrlRepository(UrlRepository delegate, long lookupNanos, boolean sleep) {
+    this.delegate = delegate;
+    this.lookupNanos = lookupNanos;
+    this.sleep = sleep;
+  }
+
+  @Override
+  public UrlMapping save(UrlMapping mapping) {
+    return delegate.save(mapping);
+  }
+
+  @Override
+  public Optional<UrlMapping> findByShortCode(String shortCode) {
+    if (sleep) {
+      try {
+        Thread.sleep(Duration.ofNanos(lookupNanos));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    } else {
+      long until = System.nanoTime() + lookupNanos;
+      while (System.nanoTime() < until) {
+        Thread.onSpinWait();
+      }
+    }
+    return delegate.findByShortCode(shortCode);
+  }
+
+  @Override
+  public boolean delete(String shortCode) {
+    return delegate.delete(shortCode);
+  }
+
+  @Override
+  public Long getNextId() {
+    return delegate.getNextId();
+  }
+
+  @Override
+  public Map<String, Object> stats() {
+    return delegate.stats();
+  }
+
+  @Override
+  public void close() {
+    delegate.close();
+  }
+}
@@ -0,0 +1,151 @@
+package com.lld.URL_Shortener_App.bench;
+
+import com.lld.URL_Shortener_App.analytics.ClickAnalytics;
+import com.lld.URL_Shortener_App.codec.ShortCodeCodec;
+import com.lld.URL_Shortener_App.id.AtomicIdRangeSource;
+import com.lld.URL_Shortener_App.id.RangeIdGenerator;
+import com.lld.URL_Shortener_App.repo.ArrayUrlRepository;
+import com.lld.URL_Shortener_App.repo.BloomFilteringUrlRepository;
+import com.lld.URL_Shortener_App.repo.CachingUrlRepository;
+import com.lld.URL_Shortener_App.repo.ExpiringUrlRepository;
+import com.lld.URL_Shortener_App.repo.InMemoryUrlRepository;
+import com.lld.URL_Shortener_App.repo.MappedFileUrlRepository;
+import com.lld.URL_Shortener_App.repo.OffHeapUrlRepository;
+import com.lld.URL_Shortener_App.repo.UrlRepository;
+import com.lld.URL_Shortener_App.repo.VirtualThreadAsyncUrlRepository;
+import com.lld.URL_Shortener_App.service.UrlShortenerService;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+// UrlShortenerService end to end (codec, decorator chain, store, click recording) on all cores,
+// for each store, with plain and scrambled codes, with and without the cache. The chain is
+// the one UrlRepositoryConfig builds: expiry, then the cache, then the Bloom filter.
+// Redirect keys are Zipfian (theta 0.99) over 1M saved links; misses are codes never issued.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Threads(Threads.MAX)
+public class UrlShortenerServiceBenchmark {
+
+  private static final int KEYS = 1_000_000;
+  private static final long UNISSUED_IDS = 1_000_000_000_000L; // Far above anything shortened
+
+  @Param({"memory", "array", "offheap", "mapped"})
+  public String repository;
+
+  @Param({"base62", "scrambled"})
+  public String codec;
+
+  @Param({"false", "true"})
+  public boolean cache;
+
+  UrlShortenerService service;
+  UrlRepository repo;
+  VirtualThreadAsyncUrlRepository asyncRepo;
+  ClickAnalytics analytics;
+  String[] codes;
+  String[] missingCodes;
+  final AtomicLong newUrls = new AtomicLong();
+  Path dir;
+
+  @Setup
+  public void setUp() throws IOException {
+    ShortCodeCodec shortCodes = codec.equals("scrambled")
+        ? ShortCodeCodec.fixedWidth(7, 0x5eed5eedL) : ShortCodeCodec.BASE62;
+    RangeIdGenerator ids = new RangeIdGenerator(new AtomicIdRangeSource(10000),
+        RangeIdGenerator.DEFAULT_BLOCK_SIZE);
+    dir = Files.createTempDirectory("service-bench");
+    UrlRepository store = switch (repository) {
+      case "array" -> new ArrayUrlRepository(ids, shortCodes);
+      case "offheap" -> new OffHeapUrlRepository(100_000_000L, 1 << 28, ids, shortCodes);
+      case "mapped" -> new MappedFileUrlRepository(dir, 100_000_000L, 1 << 28,
+          RangeIdGenerator.DEFAULT_BLOCK_SIZE, Duration.ofSeconds(1), Duration.ofHours(1),
+          shortCodes);
+      default -> new InMemoryUrlRepository(ids);
+    };
+    repo = new ExpiringUrlRepository(store, Duration.ofSeconds(1));
+    if (cache) {
+      repo = new CachingUrlRepository(repo, KEYS / 10, Duration.ofMinutes(10),
+          Duration.ofSeconds(30));
+    }
+    repo = new BloomFilteringUrlRepository(repo, KEYS, 0.01, null);
+    asyncRepo = new VirtualThreadAsyncUrlRepository(repo, 1024);
+    analytics = new ClickAnalytics(true, 8192, 10, 60, Duration.ofMillis(50),
+        Duration.ofSeconds(5));
+    service = new UrlShortenerService(repo, asyncRepo, analytics, shortCodes);
+
+    codes = new String[KEYS];
+    missingCodes = new String[KEYS];
+    for (int i = 0; i < KEYS; i++) {
+      codes[i] = service.shortenUrl("https://example.com/page/" + i);
+      missingCodes[i] = shortCodes.encode(UNISSUED_IDS + i);
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    System.out.println("\n" + repo.stats());
+    asyncRepo.close();
+    analytics.close();
+    repo.close();
+  }
+
+  @State(Scope.Thread)
+  public static class Keys {
+
+    int[] ranks;
+    int next;
+
+    @Setup
+    public void setUp() {
+      ranks = new ZipfianGenerator(KEYS, ZipfianGenerator.DEFAULT_THETA,
+          Thread.currentThread().getId()).sample(1 << 20);
+    }
+
+    int nextRank() {
+      return ranks[next++ & (ranks.length - 1)];
+    }
+  }
+
+  @Benchmark
+  public String shortenUrl() {
+    return service.shortenUrl("https://example.com/new/" + newUrls.incrementAndGet());
+  }
+
+  @Benchmark
+  public String redirectLocation(Keys keys) {
+    return service.redirectLocation(codes[keys.nextRank()]);
+  }
+
+  // Same lookup through the non-blocking contract: adds the hop to a virtual thread and back
+  @Benchmark
+  public String redirectLocationAsync(Keys keys) {
+    return service.redirectLocationAsync(codes[keys.nextRank()]).join();
+  }
+
+  // Probes for codes that were never issued; the Bloom filter answers most of them
+  @Benchmark
+  public String redirectMiss(Keys keys) {
+    return service.redirectLocation(missingCodes[keys.nextRank()]);
+  }
+}
@@ -0,0 +1,56 @@
+package com.lld.URL_Shortener_App.bench;
+
+import java.util.SplittableRandom;
+
+// Zipf-distributed ranks in [0, items) (Gray et al., "Quickly Generating Billion-Record
+// Synthetic Databases"; the same generator YCSB uses). Rank 0 is the hottest key.
+public class ZipfianGenerator {
+
+  public static final double DEFAULT_THETA = 0.99;
+
+  private final long items;
+  private final double theta;
+  private final double zetaN;
+  private final double alpha;
+  private final double eta;
+  private final SplittableRandom random;
+
+  public ZipfianGenerator(long items, double theta, long seed) {
+    this.items = items;
+    this.theta = theta;
+    this.zetaN = zeta(items, theta);
+    double zeta2 = zeta(2, theta);
+    this.alpha = 1.0 / (1.0 - theta);
+    this.eta = (1 - Math.pow(2.0 / items, 1 - theta)) / (1 - zeta2 / zetaN);
+    this.random = new SplittableRandom(seed);
+  }
+
+  public long nextRank() {
+    double u = random.nextDouble();
+    double uz = u * zetaN;
+    if (uz < 1.0) {
+      return 0;
+    }
+    if (uz < 1.0 + Math.pow(0.5, theta)) {
+      return 1;
+    }
+    return Math.min(items - 1, (long) (items * Math.pow(eta * u - eta + 1, alpha)));
+  }
+
+  // Pre-draws n ranks so the benchmark loop doesn't pay for pow()
+  public int[] sample(int n) {
+    int[] ranks = new int[n];
+    for (int i = 0; i < n; i++) {
+      ranks[i] = (int) nextRank();
+    }
+    return ranks;
+  }
+
+  private static double zeta(long n, double theta) {
+    double sum = 0;
+    for (long i = 1; i <= n; i++) {
+      sum += 1 / Math.pow(i, theta);
+    }
+    return sum;
+  }
+}
@@ -0,0 +1,93 @@
+package com.lld.URL_Shortener_App.codec;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+// Every code decodes back to the id it was made from, for plain, fixed-width and scrambled
+// codes, and decode answers -1 for anything the codec could not have produced
+class ShortCodeCodecTest {
+
+  @Test
+  void base62RoundTripsAtEveryLengthBoundary() {
+    List<Long> ids = new ArrayList<>(List.of(0L, 1L, 10001L, Long.MAX_VALUE));
+    for (long power = 62; power > 0 && power <= Long.MAX_VALUE / 62; power *= 62) {
+      ids.add(power - 1);
+      ids.add(power);
+    }
+    new SplittableRandom(42).longs(10_000, 0, Long.MAX_VALUE).forEach(ids::add);
+
+    char[] chars = new char[Base62.MAX_LENGTH];
+    byte[] bytes = new byte[Base62.MAX_LENGTH];
+    for (long id : ids) {
+      String code = Base62.encode(id);
+      assertEquals(id, Base62.decode(code), code);
+      assertEquals(Base62.length(id), code.length());
+      assertEquals(code, new String(chars, 0, Base62.encode(id, chars, 0)));
+      assertEquals(code,
+          new String(bytes, 0, Base62.encode(id, bytes, 0), StandardCharsets.US_ASCII));
+    }
+    assertEquals(Base62.MAX_LENGTH, Base62.encode(Long.MAX_VALUE).length());
+  }
+
+  @Test
+  void base62DecodeRejectsWhatEncodeNeverWrites() {
+    assertEquals(-1, Base62.decode(""));
+    assertEquals(-1, Base62.decode("ab")); // Leading zero digit
+    assertEquals(-1, Base62.decode("b-c"));
+    assertEquals(-1, Base62.decode("b\u00e9"));
+    assertEquals(-1, Base62.decode(Base62.encode(Long.MAX_VALUE) + "b")); // Overflow
+    assertEquals(0, Base62.decode("a"));
+    assertThrows(IllegalArgumentException.class, () -> Base62.encode(-1));
+  }
+
+  @Test
+  void theScramblerIsABijectionOnItsDomain() {
+    for (long domain : new long[] {2, 1000, Base62.capacity(2)}) {
+      FeistelScrambler scrambler = new FeistelScrambler(domain, 7);
+      boolean[] hit = new boolean[(int) domain];
+      for (long value = 0; value < domain; value++) {
+        long scrambled = scrambler.scramble(value);
+        assertTrue(scrambled >= 0 && scrambled < domain);
+        assertFalse(hit[(int) scrambled], "Two values scramble to " + scrambled);
+        hit[(int) scrambled] = true;
+        assertEquals(value, scrambler.unscramble(scrambled));
+      }
+    }
+    assertThrows(IllegalArgumentException.class,
+        () -> new FeistelScrambler(1000, 7).scramble(1000));
+  }
+
+  @Test
+  void fixedWidthCodesRoundTripWithAndWithoutAKey() {
+    int width = 7;
+    long capacity = Base62.capacity(width);
+    ShortCodeCodec plain = ShortCodeCodec.fixedWidth(width, null);
+    ShortCodeCodec scrambled = ShortCodeCodec.fixedWidth(width, 12345L);
+    List<Long> ids = new ArrayList<>(List.of(0L, 1L, 10001L, capacity - 1));
+    new SplittableRandom(42).longs(10_000, 0, capacity).forEach(ids::add);
+
+    char[] chars = new char[width];
+    for (long id : ids) {
+      for (ShortCodeCodec codec : List.of(plain, scrambled)) {
+        String code = codec.encode(id);
+        assertEquals(width, code.length());
+        assertEquals(id, codec.decode(code), code);
+        codec.encode(id, chars, 0);
+        assertEquals(code, new String(chars));
+      }
+    }
+    assertEquals("aaaaaab", plain.encode(1));
+    assertNotEquals(scrambled.encode(10002), plain.encode(10002));
+    assertEquals(-1, scrambled.decode("abc")); // Wrong length
+    assertThrows(IllegalArgumentException.class, () -> scrambled.encode(capacity));
+  }
+}
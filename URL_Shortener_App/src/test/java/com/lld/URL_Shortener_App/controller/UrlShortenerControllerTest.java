@@ -0,0 +1,74 @@
+package com.lld.URL_Shortener_App.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.lld.URL_Shortener_App.codec.ShortCodeCodec;
+import com.lld.URL_Shortener_App.repo.InMemoryUrlRepository;
+import com.lld.URL_Shortener_App.repo.UrlRepository;
+import com.lld.URL_Shortener_App.service.UrlShortenerService;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletResponse;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+// How a bulk shorten ends when a line can't be handled: the results sent so far stand, an
+// {"error": ...} line follows, and it's a 400 only while nothing has been sent
+class UrlShortenerControllerTest {
+
+  private final JsonMapper jsonMapper = JsonMapper.builder().build();
+  private final UrlRepository repository = new InMemoryUrlRepository();
+  private final UrlShortenerController controller = new UrlShortenerController(
+      new UrlShortenerService(repository, null, null, ShortCodeCodec.BASE62), jsonMapper);
+
+  @Test
+  void aMalformedLineEndsTheStreamAfterTheLinesBeforeIt() throws IOException {
+    StringBuilder body = new StringBuilder();
+    for (int i = 0; i < 1500; i++) {
+      body.append("{\"longUrl\": \"https://example.com/").append(i).append("\"}\n");
+    }
+    body.append("{\"longUrl\": \n");
+    body.append("{\"longUrl\": \"https://example.com/after\"}\n");
+
+    MockHttpServletResponse response = shortenBatch(body.toString());
+    List<String> lines = response.getContentAsString().lines().toList();
+    assertEquals(HttpStatus.OK.value(), response.getStatus()); // The first batch went out
+    assertEquals(1501, lines.size());
+    JsonNode first = jsonMapper.readTree(lines.get(0));
+    assertEquals("cLt", first.get("shortCode").asString());
+    assertEquals("http://short.ly/cLt", first.get("shortUrl").asString());
+    assertTrue(lines.get(1500).startsWith("{\"error\":\"Line 1501 is not valid"), lines.get(1500));
+    assertEquals(1500, repository.stats().get("store.size"));
+  }
+
+  @Test
+  void aRejectedFirstBatchIsABadRequestAndSavesNothing() throws IOException {
+    MockHttpServletResponse response = shortenBatch("""
+        {"longUrl": "https://example.com/a", "ttlSeconds": 60}
+        {"longUrl": "https://example.com/b", "ttlSeconds": 0}
+        """);
+    assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatus());
+    assertEquals("{\"error\":\"TTL must be positive: PT0S\"}", response.getContentAsString());
+    assertEquals(0, repository.stats().get("store.size"));
+    assertEquals(10001L, repository.getNextId()); // No id was spent
+  }
+
+  @Test
+  void aTtlThatIsNotPositiveIsABadRequest() {
+    assertEquals(HttpStatus.BAD_REQUEST,
+        controller.shorten("https://example.com/a", -5L).getStatusCode());
+    assertEquals(HttpStatus.OK, controller.shorten("https://example.com/a", 5L).getStatusCode());
+  }
+
+  private MockHttpServletResponse shortenBatch(String body) throws IOException {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    controller.shortenBatch(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)),
+        response);
+    return response;
+  }
+}
@@ -0,0 +1,102 @@
+package com.lld.URL_Shortener_App.id;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// Leased ids are unique across threads, across instances sharing one sequence file, and across
+// a restart of the file-backed source
+class RangeIdGeneratorTest {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void idsAreUniqueAcrossThreads() throws InterruptedException {
+    RangeIdGenerator ids = new RangeIdGenerator(new AtomicIdRangeSource(10000), 64);
+    Set<Long> seen = Collections.synchronizedSet(new HashSet<>());
+    runOnThreads(8, () -> {
+      for (int i = 0; i < 10_000; i++) {
+        seen.add(ids.nextId());
+      }
+    });
+    assertEquals(80_000, seen.size());
+    assertTrue(Collections.min(seen) > 10000);
+  }
+
+  @Test
+  void aRestartedFileSourceNeverReissuesIds() throws IOException, InterruptedException {
+    Path file = dir.resolve("id.seq");
+    RangeIdGenerator ids = new RangeIdGenerator(new FileIdRangeSource(file, 10000), 100);
+    Set<Long> before = Collections.synchronizedSet(new HashSet<>());
+    runOnThreads(4, () -> {
+      for (int i = 0; i < 250; i++) {
+        before.add(ids.nextId()); // Most stripes stop mid-block: those ids are skipped
+      }
+    });
+    for (long id : ids.nextIds(10)) {
+      before.add(id);
+    }
+    ids.close();
+
+    RangeIdGenerator restarted = new RangeIdGenerator(new FileIdRangeSource(file, 10000), 100);
+    long highest = Collections.max(before);
+    for (int i = 0; i < 1_000; i++) {
+      assertTrue(restarted.nextId() > highest);
+    }
+    restarted.close();
+  }
+
+  @Test
+  void instancesSharingAFileGetDisjointBlocks() throws IOException, InterruptedException {
+    Path file = dir.resolve("id.seq");
+    List<RangeIdGenerator> instances = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      instances.add(new RangeIdGenerator(new FileIdRangeSource(file, 10000), 50));
+    }
+    Set<Long> seen = Collections.synchronizedSet(new HashSet<>());
+    runOnThreads(6, () -> {
+      RangeIdGenerator ids = instances.get((int) (Thread.currentThread().getId() % 3));
+      for (int i = 0; i < 500; i++) {
+        assertTrue(seen.add(ids.nextId()));
+      }
+    });
+    assertEquals(3_000, seen.size());
+    instances.forEach(RangeIdGenerator::close);
+  }
+
+  @Test
+  void advanceToSkipsIdsAlreadyInUse() throws IOException {
+    AtomicIdRangeSource memory = new AtomicIdRangeSource(10000);
+    memory.advanceTo(20000);
+    memory.advanceTo(15000); // Never moves back
+    assertEquals(20001, memory.reserve(1));
+
+    FileIdRangeSource file = new FileIdRangeSource(dir.resolve("id.seq"), 10000);
+    file.advanceTo(30000);
+    assertEquals(30001, file.reserve(10));
+    assertEquals(30010, file.highWaterMark());
+    file.close();
+  }
+
+  private static void runOnThreads(int count, Runnable task) throws InterruptedException {
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      Thread t = new Thread(task);
+      threads.add(t);
+      t.start();
+    }
+    for (Thread t : threads) {
+      t.join();
+    }
+  }
+}
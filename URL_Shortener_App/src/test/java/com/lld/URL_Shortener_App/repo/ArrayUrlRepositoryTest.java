@@ -0,0 +1,93 @@
+package com.lld.URL_Shortener_App.repo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.lld.URL_Shortener_App.codec.ShortCodeCodec;
+import com.lld.URL_Shortener_App.entity.UrlMapping;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+// The id-indexed store: slots are found by decoding the code, chunks are filled lazily, and
+// redirects read the slot without building a mapping
+class ArrayUrlRepositoryTest {
+
+  private final ArrayUrlRepository repository = new ArrayUrlRepository();
+
+  @Test
+  void savedMappingsComeBackWithTheirTimes() {
+    LocalDateTime created = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    LocalDateTime expires = created.plusDays(1);
+    repository.save(new UrlMapping(10001L, url(10001), code(10001), created, expires));
+
+    UrlMapping found = repository.findByShortCode(code(10001)).orElseThrow();
+    assertEquals(url(10001), found.getLongUrl());
+    assertEquals(created, found.getCreatedDate());
+    assertEquals(expires, found.getExpiresAt());
+    assertEquals(url(10001), repository.findLongUrl(code(10001)));
+    assertNull(repository.findLongUrl(code(10002)));
+    assertNull(repository.findLongUrl("-")); // Not a code at all
+  }
+
+  @Test
+  void deletesAndExpiredLinksFreeTheirSlot() {
+    repository.save(mapping(10001, null));
+    repository.save(mapping(10002, LocalDateTime.now().minusSeconds(1)));
+    assertEquals(2L, repository.stats().get("store.size"));
+
+    assertNull(repository.findLocation(code(10002))); // Expired: cleared on the spot
+    assertTrue(repository.delete(code(10001)));
+    assertFalse(repository.delete(code(10001)));
+    assertNull(repository.findLocation(code(10001)));
+    assertEquals(0L, repository.stats().get("store.size"));
+  }
+
+  @Test
+  void redirectsMatchTheMappingsLocation() {
+    List<String> urls = List.of("https://example.com/a?b=c", "https://example.com/café");
+    for (int i = 0; i < urls.size(); i++) {
+      long id = 10001 + i;
+      repository.save(new UrlMapping(id, urls.get(i), code(id), LocalDateTime.now()));
+      assertEquals(new UrlMapping(id, urls.get(i), code(id), null).redirectLocation(),
+          repository.findLocation(code(id)));
+    }
+    assertEquals("https://example.com/caf%C3%A9", repository.findLocation(code(10002)));
+
+    repository.save(new UrlMapping(10003L, "https://exa mple.com", code(10003),
+        LocalDateTime.now()));
+    assertThrows(IllegalArgumentException.class, () -> repository.findLocation(code(10003)));
+  }
+
+  @Test
+  void idsAcrossChunksAreVisitedInOrder() {
+    long[] ids = {10001, 10001 + 65_535, 10001 + 65_536, 10001 + 3 * 65_536};
+    for (long id : ids) {
+      repository.save(mapping(id, null));
+    }
+    List<Long> visited = new ArrayList<>();
+    repository.forEach(mapping -> visited.add(mapping.getId()));
+    assertEquals(List.of(10001L, 10001L + 65_535, 10001L + 65_536, 10001L + 3 * 65_536), visited);
+
+    assertThrows(IllegalArgumentException.class, () -> repository.save(mapping(10000, null)));
+    assertThrows(IllegalArgumentException.class, () -> repository.save(
+        new UrlMapping(10005L, url(10005), code(10006), LocalDateTime.now())));
+  }
+
+  private static UrlMapping mapping(long id, LocalDateTime expiresAt) {
+    return new UrlMapping(id, url(id), code(id), LocalDateTime.now(), expiresAt);
+  }
+
+  private static String url(long id) {
+    return "https://example.com/" + id;
+  }
+
+  private static String code(long id) {
+    return ShortCodeCodec.BASE62.encode(id);
+  }
+}
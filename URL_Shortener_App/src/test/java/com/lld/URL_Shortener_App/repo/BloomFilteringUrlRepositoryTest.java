@@ -0,0 +1,92 @@
+package com.lld.URL_Shortener_App.repo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.lld.URL_Shortener_App.codec.ShortCodeCodec;
+import com.lld.URL_Shortener_App.entity.UrlMapping;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// The filter never turns away a stored code: not while it grows, not after a snapshot load and
+// not after a rebuild from the store following a crash
+class BloomFilteringUrlRepositoryTest {
+
+  private static final int LINKS = 5_000;
+  private static final double FPP = 0.01;
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void aGrowingFilterKeepsEveryKeyAndItsRate() {
+    ScalableBloomFilter filter = new ScalableBloomFilter(64, FPP);
+    for (int i = 0; i < 100_000; i++) {
+      filter.add("key-" + i);
+    }
+    assertTrue(filter.filterCount() > 5);
+    int falsePositives = 0;
+    for (int i = 0; i < 100_000; i++) {
+      assertTrue(filter.mightContain("key-" + i), "key-" + i);
+      if (filter.mightContain("absent-" + i)) {
+        falsePositives++;
+      }
+    }
+    assertTrue(falsePositives < 100_000 * FPP, falsePositives + " false positives");
+  }
+
+  @Test
+  void aLoadedSnapshotKnowsEveryCode() throws IOException {
+    BloomFilteringUrlRepository repository = open();
+    saveLinks(repository);
+    repository.close();
+    assertTrue(Files.exists(dir.resolve("bloom.snapshot")));
+
+    repository = open();
+    assertEquals(true, repository.stats().get("bloom.loadedFromSnapshot"));
+    assertFalse(Files.exists(dir.resolve("bloom.snapshot"))); // A crash from here rebuilds
+    assertEveryLinkResolves(repository);
+    repository.close();
+  }
+
+  @Test
+  void aFilterRebuiltAfterACrashKnowsEveryCode() throws IOException {
+    BloomFilteringUrlRepository repository = open();
+    saveLinks(repository);
+    // Crash: no close, so no snapshot
+
+    repository = open();
+    assertEquals(false, repository.stats().get("bloom.loadedFromSnapshot"));
+    assertEveryLinkResolves(repository);
+    repository.close();
+  }
+
+  private BloomFilteringUrlRepository open() throws IOException {
+    MappedFileUrlRepository store = new MappedFileUrlRepository(dir, 10_000, 1 << 16, 100,
+        Duration.ofHours(1), Duration.ofHours(1));
+    return new BloomFilteringUrlRepository(store, 64, FPP, dir.resolve("bloom.snapshot"));
+  }
+
+  private static void saveLinks(UrlRepository repository) {
+    for (int i = 0; i < LINKS; i++) {
+      long id = repository.getNextId();
+      repository.save(new UrlMapping(id, "https://example.com/" + id,
+          ShortCodeCodec.BASE62.encode(id), LocalDateTime.now()));
+    }
+  }
+
+  private static void assertEveryLinkResolves(UrlRepository repository) {
+    for (long id = 10001; id < 10001 + LINKS; id++) {
+      assertEquals("https://example.com/" + id,
+          repository.findLongUrl(ShortCodeCodec.BASE62.encode(id)));
+    }
+    assertEquals(0L, repository.stats().get("bloom.rejected"));
+    assertEquals(0L, repository.stats().get("bloom.falsePositives"));
+  }
+}
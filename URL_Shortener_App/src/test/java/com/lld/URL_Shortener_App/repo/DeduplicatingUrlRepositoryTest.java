@@ -0,0 +1,89 @@
+package com.lld.URL_Shortener_App.repo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.lld.URL_Shortener_App.codec.ShortCodeCodec;
+import com.lld.URL_Shortener_App.entity.UrlMapping;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// A long URL keeps its first code: on a repeat shorten, after its code is gone, for links
+// with an expiry, and across a restart of a durable store
+class DeduplicatingUrlRepositoryTest {
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void aRepeatedUrlKeepsItsFirstCode() {
+    DeduplicatingUrlRepository repository =
+        new DeduplicatingUrlRepository(new InMemoryUrlRepository(), 64);
+    UrlMapping first = repository.save(mapping(repository.getNextId(), "https://example.com/a"));
+
+    assertSame(first, repository.save(mapping(repository.getNextId(), "https://example.com/a")));
+    assertEquals(first.getShortCode(), repository.findShortCodeByLongUrl("https://example.com/a"));
+    assertNull(repository.findShortCodeByLongUrl("https://example.com/b"));
+    UrlMapping other = repository.save(mapping(repository.getNextId(), "https://example.com/b"));
+    assertNotEquals(first.getShortCode(), other.getShortCode());
+    assertEquals(2L, repository.stats().get("dedup.hits"));
+    assertEquals(2, repository.stats().get("store.size"));
+  }
+
+  @Test
+  void aDeletedOrExpiringLinkIsNotReused() {
+    DeduplicatingUrlRepository repository =
+        new DeduplicatingUrlRepository(new InMemoryUrlRepository(), 64);
+    UrlMapping first = repository.save(mapping(repository.getNextId(), "https://example.com/a"));
+    repository.delete(first.getShortCode());
+    assertNull(repository.findShortCodeByLongUrl("https://example.com/a"));
+    assertEquals(1L, repository.stats().get("dedup.mismatches"));
+
+    UrlMapping second = repository.save(mapping(repository.getNextId(), "https://example.com/a"));
+    assertNotEquals(first.getShortCode(), second.getShortCode());
+
+    // Each campaign gets its own code, and never becomes the shared one
+    UrlMapping campaign = repository.save(expiring(repository.getNextId(), "https://example.com/a"));
+    assertNotEquals(second.getShortCode(), campaign.getShortCode());
+    assertEquals(second.getShortCode(), repository.findShortCodeByLongUrl("https://example.com/a"));
+  }
+
+  @Test
+  void aRestartedStoreStillDeduplicates() throws IOException {
+    MappedFileUrlRepository store = openStore();
+    DeduplicatingUrlRepository repository = new DeduplicatingUrlRepository(store, 64);
+    UrlMapping first = repository.save(mapping(repository.getNextId(), "https://example.com/a"));
+    // Saved behind the decorator's back: the restart must still pick the first code
+    store.save(mapping(store.getNextId(), "https://example.com/a"));
+    store.save(expiring(store.getNextId(), "https://example.com/b"));
+    repository.close();
+
+    repository = new DeduplicatingUrlRepository(openStore(), 64);
+    assertEquals(1L, repository.stats().get("dedup.entries"));
+    assertEquals(first.getShortCode(), repository.findShortCodeByLongUrl("https://example.com/a"));
+    assertNull(repository.findShortCodeByLongUrl("https://example.com/b"));
+    assertEquals(first.getShortCode(),
+        repository.save(mapping(repository.getNextId(), "https://example.com/a")).getShortCode());
+    repository.close();
+  }
+
+  private MappedFileUrlRepository openStore() throws IOException {
+    return new MappedFileUrlRepository(dir, 10_000, 1 << 16, 100, Duration.ofHours(1),
+        Duration.ofHours(1));
+  }
+
+  private static UrlMapping mapping(long id, String longUrl) {
+    return new UrlMapping(id, longUrl, ShortCodeCodec.BASE62.encode(id), LocalDateTime.now());
+  }
+
+  private static UrlMapping expiring(long id, String longUrl) {
+    return new UrlMapping(id, longUrl, ShortCodeCodec.BASE62.encode(id), LocalDateTime.now(),
+        LocalDateTime.now().plusDays(1));
+  }
+}
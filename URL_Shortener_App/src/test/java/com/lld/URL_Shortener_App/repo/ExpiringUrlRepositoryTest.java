@@ -0,0 +1,108 @@
+package com.lld.URL_Shortener_App.repo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import com.lld.URL_Shortener_App.codec.ShortCodeCodec;
+import com.lld.URL_Shortener_App.entity.UrlMapping;
+import com.lld.URL_Shortener_App.service.UrlShortenerService;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// Expired links are deleted from the store by the reaper, including links saved before a
+// restart of the durable store, and a bad TTL is refused before it costs an id
+class ExpiringUrlRepositoryTest {
+
+  private static final Duration REAP_INTERVAL = Duration.ofMillis(10);
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void expiredLinksAreReapedFromTheStore() {
+    ExpiringUrlRepository repository = new ExpiringUrlRepository(new InMemoryUrlRepository(),
+        REAP_INTERVAL);
+    LocalDateTime now = LocalDateTime.now();
+    repository.save(mapping(10001, now.plusMinutes(1)));
+    repository.save(mapping(10002, now.plus(Duration.ofMillis(50))));
+    repository.save(mapping(10003, null));
+    assertEquals(2L, repository.stats().get("expiry.pending"));
+
+    awaitReaped(repository, 1);
+    assertEquals(2, repository.stats().get("store.size"));
+    assertEquals(1L, repository.stats().get("expiry.pending"));
+    assertNull(repository.findLongUrl(code(10002)));
+    assertEquals(url(10001), repository.findLongUrl(code(10001)));
+    repository.close();
+  }
+
+  @Test
+  void theIndexIsRebuiltWhenADurableStoreReopens() throws IOException {
+    UrlRepository repository = open();
+    repository.save(mapping(10001, LocalDateTime.now().plus(Duration.ofMillis(300))));
+    repository.save(mapping(10002, null));
+    repository.close();
+
+    ExpiringUrlRepository reopened = open();
+    assertEquals(1L, reopened.stats().get("expiry.pending"));
+    awaitReaped(reopened, 1);
+    assertEquals(1L, reopened.stats().get("store.size"));
+    reopened.close();
+  }
+
+  @Test
+  void aReapIntervalUnderOneMillisecondIsRejected() {
+    for (Duration interval : List.of(Duration.ZERO, Duration.ofSeconds(-1), Duration.ofNanos(1))) {
+      assertThrows(IllegalArgumentException.class,
+          () -> new ExpiringUrlRepository(new InMemoryUrlRepository(), interval));
+    }
+  }
+
+  @Test
+  void aTtlThatIsNotPositiveTakesNoId() {
+    UrlRepository repository = new InMemoryUrlRepository();
+    UrlShortenerService service = new UrlShortenerService(repository, null, null,
+        ShortCodeCodec.BASE62);
+    assertThrows(IllegalArgumentException.class,
+        () -> service.shortenUrl("https://example.com/a", Duration.ZERO));
+    assertThrows(IllegalArgumentException.class, () -> service.shortenBatch(
+        List.of("https://example.com/b", "https://example.com/c"),
+        Arrays.asList(Duration.ofMinutes(1), Duration.ofSeconds(-1))));
+    assertEquals(10001L, repository.getNextId());
+  }
+
+  private ExpiringUrlRepository open() throws IOException {
+    return new ExpiringUrlRepository(new MappedFileUrlRepository(dir, 1_000, 1 << 16, 100,
+        Duration.ofHours(1), Duration.ofHours(1)), REAP_INTERVAL);
+  }
+
+  private static void awaitReaped(UrlRepository repository, long count) {
+    long deadline = System.nanoTime() + 10_000_000_000L;
+    while ((long) repository.stats().get("expiry.reaped") < count) {
+      if (System.nanoTime() > deadline) {
+        fail("The expired link was not reaped");
+      }
+      Thread.onSpinWait();
+    }
+  }
+
+  private static UrlMapping mapping(long id, LocalDateTime expiresAt) {
+    return new UrlMapping(id, url(id), code(id), LocalDateTime.now(), expiresAt);
+  }
+
+  private static String url(long id) {
+    return "https://example.com/" + id;
+  }
+
+  private static String code(long id) {
+    return ShortCodeCodec.BASE62.encode(id);
+  }
+}
@@ -0,0 +1,145 @@
+package com.lld.URL_Shortener_App.repo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import com.lld.URL_Shortener_App.codec.ShortCodeCodec;
+import com.lld.URL_Shortener_App.entity.UrlMapping;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// What the durable store brings back after a crash: a torn record at the end of the log, or one
+// that never got its length, is cut off, and only the log after the last checkpoint is replayed
+class MappedFileUrlRepositoryTest {
+
+  private static final int SEGMENT_BYTES = 1 << 16;
+  private static final Duration NEVER = Duration.ofHours(1);
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void aTornTailIsCutOffAndOverwritten() throws IOException {
+    MappedFileUrlRepository repository = open(NEVER);
+    for (long id = 10001; id <= 10010; id++) {
+      repository.save(mapping(id));
+    }
+    long logEnd = (long) repository.stats().get("log.bytes");
+    // Crash: no close, and a record whose CRC doesn't match its bytes at the end of the log
+    try (FileChannel log = FileChannel.open(dir.resolve("log-00000.seg"),
+        StandardOpenOption.WRITE)) {
+      log.write(ByteBuffer.allocate(48).putInt(48).putInt(0xBAD).putLong(10011).flip(), logEnd);
+    }
+
+    repository = open(NEVER);
+    assertEquals(10L, repository.stats().get("log.recoveredRecords"));
+    assertEquals(logEnd, repository.stats().get("log.bytes"));
+    assertNull(repository.findLongUrl(code(10011)));
+    assertEquals(url(10010), repository.findLongUrl(code(10010)));
+
+    // The next save takes the torn record's place and survives a clean restart
+    repository.save(mapping(10011));
+    repository.close();
+    repository = open(NEVER);
+    assertEquals(url(10011), repository.findLongUrl(code(10011)));
+    assertEquals(11L, repository.stats().get("store.size"));
+    repository.close();
+  }
+
+  @Test
+  void aRecordWithoutItsLengthCutsTheLogThere() throws IOException {
+    MappedFileUrlRepository repository = open(NEVER);
+    int recordBytes = 32 + url(10001).length();
+    int records = SEGMENT_BYTES / recordBytes + 100; // Into the second segment
+    for (int i = 0; i < records; i++) {
+      repository.save(mapping(10001 + i % 100));
+    }
+    assertTrue(Files.exists(dir.resolve("log-00001.seg")));
+    // Crash: no close, and the fifth record's length never reached the page cache
+    try (FileChannel log = FileChannel.open(dir.resolve("log-00000.seg"),
+        StandardOpenOption.WRITE)) {
+      log.write(ByteBuffer.allocate(4), 4L * recordBytes);
+    }
+
+    repository = open(NEVER);
+    assertEquals(4L, repository.stats().get("log.recoveredRecords"));
+    assertEquals(4L * recordBytes, repository.stats().get("log.bytes"));
+    assertEquals(4L, repository.stats().get("store.size"));
+    assertNull(repository.findLongUrl(code(10005)));
+    assertFalse(Files.exists(dir.resolve("log-00001.seg")));
+    repository.close();
+  }
+
+  @Test
+  void onlyTheLogAfterTheCheckpointIsReplayed() throws IOException {
+    MappedFileUrlRepository repository = open(NEVER);
+    for (long id = 10001; id <= 10005; id++) {
+      repository.save(mapping(id));
+    }
+    repository.checkpoint();
+    repository.save(mapping(10006));
+    repository.delete(code(10002));
+    // Crash: no close
+
+    repository = open(NEVER);
+    assertEquals(2L, repository.stats().get("log.recoveredRecords")); // The save and the delete
+    assertEquals(5L, repository.stats().get("store.size"));
+    assertEquals(url(10006), repository.findLongUrl(code(10006)));
+    assertNull(repository.findLongUrl(code(10002)));
+    repository.close();
+
+    repository = open(NEVER);
+    assertEquals(0L, repository.stats().get("log.recoveredRecords")); // Clean shutdown
+    assertEquals(5L, repository.stats().get("store.size"));
+    repository.close();
+  }
+
+  @Test
+  void aFailedScheduledCheckpointIsRetried() throws IOException, InterruptedException {
+    // A directory where the checkpoint's temp file goes makes every checkpoint fail
+    Path blocker = Files.createDirectories(dir.resolve("index.ckpt.tmp"));
+    MappedFileUrlRepository repository = open(Duration.ofMillis(10));
+    repository.save(mapping(10001));
+    Thread.sleep(100);
+    assertEquals(0L, repository.stats().get("log.checkpointPosition"));
+
+    Files.delete(blocker);
+    long logEnd = (long) repository.stats().get("log.bytes");
+    long deadline = System.nanoTime() + 10_000_000_000L;
+    while ((long) repository.stats().get("log.checkpointPosition") != logEnd) {
+      if (System.nanoTime() > deadline) {
+        fail("The checkpoint task stopped after its first failure");
+      }
+      Thread.sleep(10);
+    }
+    assertTrue(Files.exists(dir.resolve("index.ckpt")));
+    repository.close();
+  }
+
+  private MappedFileUrlRepository open(Duration interval) throws IOException {
+    return new MappedFileUrlRepository(dir, 1_000, SEGMENT_BYTES, 100, interval, interval);
+  }
+
+  private static UrlMapping mapping(long id) {
+    return new UrlMapping(id, url(id), code(id), LocalDateTime.now());
+  }
+
+  private static String url(long id) {
+    return "https://example.com/" + id;
+  }
+
+  private static String code(long id) {
+    return ShortCodeCodec.BASE62.encode(id);
+  }
+}
@@ -0,0 +1,135 @@
+package com.lld.URL_Shortener_App.repo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.lld.URL_Shortener_App.codec.ShortCodeCodec;
+import com.lld.URL_Shortener_App.entity.UrlMapping;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+// The off-heap store on small segments: records round-trip, segments go back once nothing in
+// them is live, and concurrent writers crossing segment boundaries never lose a record
+class OffHeapUrlRepositoryTest {
+
+  private static final int SEGMENT_BYTES = 4096;
+  // "https://example.com/" + a 5-digit id is 25 bytes, so a record is 45 bytes
+  private static final int RECORDS_PER_SEGMENT = SEGMENT_BYTES / 45;
+
+  private final OffHeapUrlRepository repository = new OffHeapUrlRepository(200_000, SEGMENT_BYTES);
+
+  @Test
+  void savedMappingsComeBackUntilDeleted() {
+    LocalDateTime created = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+    LocalDateTime expires = created.plusDays(1);
+    repository.save(new UrlMapping(10001L, url(10001), code(10001), created, expires));
+    repository.save(new UrlMapping(10002L, "https://example.com/café", code(10002), created));
+
+    UrlMapping found = repository.findByShortCode(code(10001)).orElseThrow();
+    assertEquals(url(10001), found.getLongUrl());
+    assertEquals(created, found.getCreatedDate());
+    assertEquals(expires, found.getExpiresAt());
+    assertEquals(url(10001), repository.findLocation(code(10001)));
+    assertEquals("https://example.com/caf%C3%A9", repository.findLocation(code(10002)));
+    assertEquals("https://example.com/café", repository.findLongUrl(code(10002)));
+    assertNull(repository.findLongUrl(code(10003)));
+
+    assertTrue(repository.delete(code(10001)));
+    assertFalse(repository.delete(code(10001)));
+    assertNull(repository.findLocation(code(10001)));
+    assertEquals(1L, repository.stats().get("store.size"));
+    assertThrows(IllegalArgumentException.class, () -> repository.save(mapping(10000)));
+  }
+
+  @Test
+  void aSegmentIsReleasedOnceNothingInItIsLive() {
+    int count = 40 * RECORDS_PER_SEGMENT; // More segments than the table starts with
+    for (long id = 10001; id < 10001 + count; id++) {
+      repository.save(mapping(id));
+    }
+    for (long id = 10001; id < 10001 + 2 * RECORDS_PER_SEGMENT; id++) {
+      assertTrue(repository.delete(code(id)));
+    }
+    assertEquals(2L, repository.stats().get("offheap.releasedSegments"));
+
+    // One live record keeps a segment
+    for (long id = 10001 + 2 * RECORDS_PER_SEGMENT; id < 10000 + 3 * RECORDS_PER_SEGMENT; id++) {
+      assertTrue(repository.delete(code(id)));
+    }
+    assertEquals(2L, repository.stats().get("offheap.releasedSegments"));
+    long last = 10000 + 3 * RECORDS_PER_SEGMENT;
+    assertEquals(url(last), repository.findLocation(code(last)));
+
+    // Overwriting the last one in place kills the old record
+    repository.save(mapping(last));
+    assertEquals(3L, repository.stats().get("offheap.releasedSegments"));
+    for (long id = last; id < 10001 + count; id++) {
+      assertEquals(url(id), repository.findLongUrl(code(id)));
+    }
+  }
+
+  @Test
+  void concurrentWritersAcrossSegmentsKeepEveryRecord() throws Exception {
+    int threads = 8;
+    int perThread = 5_000;
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<List<Long>>> saved = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        saved.add(pool.submit(() -> {
+          List<Long> ids = new ArrayList<>();
+          for (int i = 0; i < perThread; i++) {
+            long id = repository.getNextId();
+            repository.save(mapping(id));
+            ids.add(id);
+            if (i % 2 == 1) {
+              assertTrue(repository.delete(code(ids.get(i - 1))));
+            }
+          }
+          return ids;
+        }));
+      }
+      List<Long> ids = new ArrayList<>();
+      for (Future<List<Long>> future : saved) {
+        ids.addAll(future.get());
+      }
+      assertEquals((long) threads * perThread / 2, repository.stats().get("store.size"));
+      for (int i = 0; i < ids.size(); i++) {
+        long id = ids.get(i);
+        assertEquals(i % 2 == 0 ? null : url(id), repository.findLongUrl(code(id)));
+      }
+
+      for (int i = 1; i < ids.size(); i += 2) {
+        assertTrue(repository.delete(code(ids.get(i))));
+      }
+      // Every segment the writers moved past is released; the one being written to stays
+      long dataBytes = (long) repository.stats().get("offheap.dataBytes");
+      assertTrue(dataBytes > 100L * SEGMENT_BYTES, dataBytes + " bytes written");
+      assertEquals((dataBytes - 1) / SEGMENT_BYTES, repository.stats().get("offheap.releasedSegments"));
+      assertEquals(0L, repository.stats().get("store.size"));
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  private static UrlMapping mapping(long id) {
+    return new UrlMapping(id, url(id), code(id), LocalDateTime.now());
+  }
+
+  private static String url(long id) {
+    return "https://example.com/" + id;
+  }
+
+  private static String code(long id) {
+    return ShortCodeCodec.BASE62.encode(id);
+  }
+}
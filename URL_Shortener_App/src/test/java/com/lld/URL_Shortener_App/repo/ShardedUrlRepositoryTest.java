@@ -0,0 +1,149 @@
+package com.lld.URL_Shortener_App.repo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import com.lld.URL_Shortener_App.codec.ShortCodeCodec;
+import com.lld.URL_Shortener_App.entity.UrlMapping;
+import com.lld.URL_Shortener_App.id.AtomicIdRangeSource;
+import com.lld.URL_Shortener_App.id.RangeIdGenerator;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.mock.env.MockEnvironment;
+
+// Mapped shards as UrlRepositoryConfig assembles them: the shared id sequence restarts above
+// every stored id, and shards added at runtime come back after a restart with their move done.
+// A move that fails is finished by the next addShard.
+class ShardedUrlRepositoryTest {
+
+  private static final ShortCodeCodec CODEC = ShortCodeCodec.BASE62;
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void aMemoryIdSourceRestartsAboveTheStoredIds() throws IOException {
+    ShardedUrlRepository repository = open();
+    long highest = 0;
+    for (int i = 0; i < 50; i++) {
+      highest = save(repository, i);
+    }
+    repository.delete(CODEC.encode(highest)); // A deleted code must not come back either
+    repository.close();
+
+    repository = open();
+    long next = repository.getNextId();
+    assertTrue(next > highest, next + " reissues an id at or below " + highest);
+    repository.save(new UrlMapping(next, "https://example.com/new", CODEC.encode(next),
+        LocalDateTime.now()));
+    assertEquals(50L, repository.stats().get("store.size"));
+    assertEquals("https://example.com/0", repository.findLongUrl(CODEC.encode(10001)));
+    repository.close();
+  }
+
+  @Test
+  void anAddedShardIsReopenedAndAnInterruptedMoveResumes() throws IOException {
+    ShardedUrlRepository repository = open();
+    for (int i = 0; i < 200; i++) {
+      save(repository, i);
+    }
+    repository.addShard().join();
+    assertEquals(3, repository.stats().get("sharding.shards"));
+    // Crash right after the next shard's directory was created, before anything moved
+    Files.createDirectories(dir.resolve("shard-3"));
+    repository.close();
+
+    repository = open();
+    assertEquals(4, repository.stats().get("sharding.shards"));
+    awaitRebalanced(repository);
+    for (int i = 0; i < 200; i++) {
+      assertEquals("https://example.com/" + i, repository.findLongUrl(CODEC.encode(10001 + i)));
+    }
+    assertEquals(200L, repository.stats().get("store.size"));
+    assertTrue((long) repository.stats().get("shard.3.size") > 0);
+    repository.close();
+  }
+
+  @Test
+  void aFailedMoveIsFinishedBeforeTheNextShardIsAdded() {
+    RangeIdGenerator ids = new RangeIdGenerator(new AtomicIdRangeSource(10000), 100);
+    ShardedUrlRepository repository = new ShardedUrlRepository(
+        List.of(new InMemoryUrlRepository(ids), new InMemoryUrlRepository(ids)), 16, ids);
+    for (int i = 0; i < 200; i++) {
+      save(repository, i);
+    }
+    boolean[] failing = {true};
+    InMemoryUrlRepository flaky = new InMemoryUrlRepository(ids) {
+      @Override
+      public UrlMapping save(UrlMapping mapping) {
+        if (failing[0]) {
+          throw new IllegalStateException("Shard unavailable");
+        }
+        return super.save(mapping);
+      }
+    };
+
+    CompletableFuture<Void> move = repository.addShard(flaky);
+    assertThrows(CompletionException.class, move::join);
+    assertEquals(true, repository.stats().get("sharding.rebalancing"));
+    assertEquals(true, repository.stats().get("sharding.rebalanceFailed"));
+    assertEveryLinkResolves(repository);
+
+    failing[0] = false;
+    repository.addShard(new InMemoryUrlRepository(ids)).join();
+    assertEquals(4, repository.stats().get("sharding.shards"));
+    assertEquals(false, repository.stats().get("sharding.rebalancing"));
+    assertEquals(false, repository.stats().get("sharding.rebalanceFailed"));
+    assertTrue((int) repository.stats().get("shard.2.size") > 0);
+    assertTrue((int) repository.stats().get("shard.3.size") > 0);
+    assertEveryLinkResolves(repository);
+    assertThrows(IllegalStateException.class, repository::resumeRebalance);
+  }
+
+  private static void assertEveryLinkResolves(UrlRepository repository) {
+    for (int i = 0; i < 200; i++) {
+      assertEquals("https://example.com/" + i, repository.findLongUrl(CODEC.encode(10001 + i)));
+    }
+    assertEquals(200L, repository.stats().get("store.size"));
+  }
+
+  // Two mapped shards with the default per-process id source
+  private ShardedUrlRepository open() throws IOException {
+    MockEnvironment env = new MockEnvironment()
+        .withProperty("url.sharding.shards", "2")
+        .withProperty("url.persistence.dir", dir.toString())
+        .withProperty("url.persistence.max-mappings", "10000")
+        .withProperty("url.persistence.segment-size", "64KB")
+        .withProperty("url.persistence.checkpoint-interval", "1h");
+    env.setConversionService(new ApplicationConversionService()); // "64KB", "1h" as in Boot
+    return UrlRepositoryConfig.shardedStore("mapped", 100, CODEC, env);
+  }
+
+  // Saves the i-th mapping under the next id and returns that id
+  private static long save(UrlRepository repository, int i) {
+    long id = repository.getNextId();
+    repository.save(new UrlMapping(id, "https://example.com/" + i, CODEC.encode(id),
+        LocalDateTime.now()));
+    return id;
+  }
+
+  private static void awaitRebalanced(UrlRepository repository) {
+    long deadline = System.nanoTime() + 10_000_000_000L;
+    while ((boolean) repository.stats().get("sharding.rebalancing")) {
+      if (System.nanoTime() > deadline) {
+        fail("The resumed move did not finish");
+      }
+      Thread.onSpinWait();
+    }
+  }
+}